@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.bench;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import nashorn.internal.codegen.Compiler;
+import nashorn.internal.codegen.Compiler.CompilationPhases;
+import nashorn.internal.ir.FunctionNode;
+import nashorn.internal.objects.Global;
+import nashorn.internal.parser.Parser;
+import nashorn.internal.runtime.Context;
+import nashorn.internal.runtime.ErrorManager;
+import nashorn.internal.runtime.ScriptFunction;
+import nashorn.internal.runtime.ScriptObject;
+import nashorn.internal.runtime.ScriptRuntime;
+import nashorn.internal.runtime.Source;
+import nashorn.internal.runtime.options.Options;
+
+import static nashorn.internal.runtime.ScriptRuntime.UNDEFINED;
+
+/**
+ * Measures each stage a script goes through on its way from source text to steady-state execution, using {@link Context} directly.
+ * <ul>
+ * <li>{@code parse} - {@link Parser#parse()} only</li>
+ * <li>{@code generateBytecode} - all compilation phases up to and including bytecode generation, on a pre-parsed tree</li>
+ * <li>{@code compileAndInstall} - {@link Context#compileScript(Source)}, i.e. parse, generate and define the classes; class installation cost is the difference to the two benchmarks above</li>
+ * <li>{@code firstCall} - run the program and the first {@code run()} call on a fresh global, which links every call site</li>
+ * <li>{@code steadyState} - repeated {@code run()} calls on an already linked global</li>
+ * </ul>
+ * The context is created with eager compilation and without the class cache so every invocation does the full amount of work.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompilePhases {
+
+    @Param
+    Workload workload;
+
+    Context context;
+    ErrorManager errors;
+    Global global;
+    ScriptFunction run;
+    int sequence;
+
+    // per-invocation inputs
+    Source source;
+    FunctionNode parsed;
+    Context.MultiGlobalCompiledScript compiled;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        var err = new PrintWriter(new StringWriter());
+        var options = new Options("nashorn", err);
+        options.process(new String[] { "--lazy-compilation=false", "--class-cache-size=0" });
+        errors = new ErrorManager(err);
+        context = new Context(options, errors, Thread.currentThread().getContextClassLoader());
+        global = context.createGlobal();
+        Context.setGlobal(global);
+        run = evalWorkload(context.compileScript(newSource()), global);
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        // every invocation gets a distinct source so no code cache can short-circuit compilation
+        source = newSource();
+        parsed = parse(source);
+        compiled = context.compileScript(newSource());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() {
+        Context.setGlobal((Global)null);
+    }
+
+    @Benchmark
+    public FunctionNode parse() {
+        return parse(source);
+    }
+
+    @Benchmark
+    public FunctionNode generateBytecode() {
+        return Compiler.forNoInstallerCompilation(context, parsed.getSource()).compile(parsed, CompilationPhases.COMPILE_ALL_NO_INSTALL);
+    }
+
+    @Benchmark
+    public Context.MultiGlobalCompiledScript compileAndInstall() {
+        return context.compileScript(source);
+    }
+
+    @Benchmark
+    public Object firstCall() {
+        var newGlobal = context.createGlobal();
+        Context.setGlobal(newGlobal);
+        try {
+            return ScriptRuntime.apply(evalWorkload(compiled, newGlobal), UNDEFINED);
+        } finally {
+            Context.setGlobal(global);
+        }
+    }
+
+    @Benchmark
+    public Object steadyState() {
+        return ScriptRuntime.apply(run, UNDEFINED);
+    }
+
+    private Source newSource() {
+        return Source.sourceFor(workload.fileName() + '#' + (sequence++), workload.text());
+    }
+
+    private FunctionNode parse(Source src) {
+        var fn = new Parser(context.getEnv(), src, errors).parse();
+        if (errors.hasErrors()) {
+            throw new IllegalStateException("failed to parse " + src.getName());
+        }
+        return fn;
+    }
+
+    private static ScriptFunction evalWorkload(Context.MultiGlobalCompiledScript script, Global newGlobal) {
+        ScriptRuntime.apply(script.getFunction(newGlobal), newGlobal);
+        return (ScriptFunction)((ScriptObject)newGlobal).get(Workload.RUN);
+    }
+
+}
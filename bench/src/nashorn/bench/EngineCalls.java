@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.Invocable;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import nashorn.api.scripting.NashornScriptEngineFactory;
+
+/**
+ * Runs the workloads through the {@code javax.script} API as an embedding application would.
+ * <ul>
+ * <li>{@code compile} - {@link Compilable#compile(String)} of the workload source</li>
+ * <li>{@code firstCall} - evaluate a compiled workload in a fresh engine and invoke {@code run()} once</li>
+ * <li>{@code steadyState} - {@link Invocable#invokeFunction} of {@code run()} on a warmed up engine</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EngineCalls {
+
+    static final String[] ENGINE_ARGS = { "--class-cache-size=0" };
+
+    @Param
+    Workload workload;
+
+    NashornScriptEngineFactory factory;
+    ScriptEngine engine;
+    int sequence;
+
+    // per-invocation input
+    CompiledScript compiled;
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws ScriptException {
+        factory = new NashornScriptEngineFactory();
+        engine = factory.getScriptEngine(ENGINE_ARGS);
+        engine.eval(workload.text());
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() throws ScriptException {
+        compiled = ((Compilable)factory.getScriptEngine(ENGINE_ARGS)).compile(uniqueText());
+    }
+
+    @Benchmark
+    public CompiledScript compile() throws ScriptException {
+        return ((Compilable)engine).compile(uniqueText());
+    }
+
+    @Benchmark
+    public Object firstCall() throws ScriptException, NoSuchMethodException {
+        compiled.eval();
+        return ((Invocable)compiled.getEngine()).invokeFunction(Workload.RUN);
+    }
+
+    @Benchmark
+    public Object steadyState() throws ScriptException, NoSuchMethodException {
+        return ((Invocable)engine).invokeFunction(Workload.RUN);
+    }
+
+    // a trailing comment makes the source distinct without changing what it does
+    private String uniqueText() {
+        return workload.text() + "\n// " + (sequence++) + '\n';
+    }
+
+}
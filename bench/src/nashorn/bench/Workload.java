@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.bench;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fixed JavaScript workloads shared by the benchmarks.
+ * <p>
+ * Each workload is a script resource that declares its data at the top level and a {@code run()} function that exercises one area of the runtime.
+ * Evaluating the script only defines things; all measurable work is done by calling {@code run()}.
+ */
+public enum Workload {
+
+    /** property-heavy object code */
+    OBJECTS("objects.js"),
+
+    /** int and double array loops */
+    ARRAYS("arrays.js"),
+
+    /** string concatenation, join and character access */
+    STRINGS("strings.js"),
+
+    /** JSON.stringify and JSON.parse round-trips */
+    JSON("json.js"),
+
+    /** RegExp split, replace, match and exec */
+    REGEXP("regexp.js");
+
+    /** Name of the function each workload script defines. */
+    public static final String RUN = "run";
+
+    private final String fileName;
+    private String text;
+
+    Workload(String fileName) {
+        this.fileName = fileName;
+    }
+
+    /**
+     * The name of the script resource.
+     */
+    public String fileName() {
+        return fileName;
+    }
+
+    /**
+     * The script source text, loaded once from the class path.
+     */
+    public synchronized String text() {
+        if (text == null) {
+            try (var in = Workload.class.getResourceAsStream("resources/" + fileName)) {
+                if (in == null) {
+                    throw new IllegalStateException("missing workload " + fileName);
+                }
+                try (var reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                    var sb = new StringBuilder();
+                    var buf = new char[4096];
+                    for (int n; (n = reader.read(buf)) != -1; ) {
+                        sb.append(buf, 0, n);
+                    }
+                    text = sb.toString();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return text;
+    }
+
+}
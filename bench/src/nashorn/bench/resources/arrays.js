@@ -0,0 +1,18 @@
+// array loops: dense int/double fill, indexed reads, push and higher-order functions
+function run() {
+    var ints = [];
+    for (var i = 0; i < 10000; i++) {
+        ints.push(i);
+    }
+    var doubles = new Array(10000);
+    for (var j = 0; j < doubles.length; j++) {
+        doubles[j] = ints[j] * 0.5;
+    }
+    var sum = 0;
+    for (var k = 0; k < doubles.length; k++) {
+        sum += doubles[k];
+    }
+    var evens = ints.filter(function(v) { return (v & 1) === 0; });
+    var squares = evens.map(function(v) { return v * v; });
+    return sum + squares.reduce(function(a, b) { return a + b; }, 0);
+}
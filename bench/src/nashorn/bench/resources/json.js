@@ -0,0 +1,15 @@
+// JSON round-trips: stringify a list of uniform records and parse it back
+var records = [];
+for (var i = 0; i < 1000; i++) {
+    records.push({ id: i, name: "name" + i, active: (i % 2) === 0, score: i * 1.5, tags: ["a", "b", "c"] });
+}
+
+function run() {
+    var text = JSON.stringify(records);
+    var parsed = JSON.parse(text);
+    var total = 0;
+    for (var i = 0; i < parsed.length; i++) {
+        total += parsed[i].score;
+    }
+    return total + text.length;
+}
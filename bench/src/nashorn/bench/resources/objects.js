@@ -0,0 +1,26 @@
+// property-heavy object code: construction, field updates, prototype methods
+function Point(x, y) {
+    this.x = x;
+    this.y = y;
+}
+
+Point.prototype.add = function(p) {
+    return new Point(this.x + p.x, this.y + p.y);
+};
+
+Point.prototype.length = function() {
+    return Math.sqrt(this.x * this.x + this.y * this.y);
+};
+
+function run() {
+    var acc = new Point(0, 0);
+    var total = 0;
+    for (var i = 0; i < 10000; i++) {
+        var p = new Point(i, i * 2);
+        acc = acc.add(p);
+        var rec = { id: i, name: "item", weight: i % 7, point: p };
+        rec.weight += rec.id & 3;
+        total += rec.weight + rec.point.length();
+    }
+    return total + acc.x + acc.y;
+}
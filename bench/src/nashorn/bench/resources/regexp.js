@@ -0,0 +1,21 @@
+// regular expressions: split, replace, match and exec over log-like lines
+var lines = [];
+for (var i = 0; i < 500; i++) {
+    lines.push("2020-01-" + (10 + i % 20) + " INFO  [worker-" + (i % 8) + "] request id=" + i + " took " + (i * 3) + "ms");
+}
+var text = lines.join("\n");
+
+function run() {
+    var count = 0;
+    var rows = text.split(/\n/);
+    var re = /id=(\d+) took (\d+)ms/;
+    for (var i = 0; i < rows.length; i++) {
+        var m = re.exec(rows[i]);
+        if (m !== null) {
+            count += m[2].length;
+        }
+    }
+    count += text.replace(/\s+/g, " ").length;
+    count += (text.match(/worker-[0-3]/g) || []).length;
+    return count;
+}
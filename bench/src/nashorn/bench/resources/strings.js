@@ -0,0 +1,17 @@
+// string building: concatenation loops, join, slicing and character access
+function run() {
+    var s = "";
+    for (var i = 0; i < 2000; i++) {
+        s += "<td>" + i + "</td>";
+    }
+    var parts = [];
+    for (var j = 0; j < 2000; j++) {
+        parts.push("row" + j);
+    }
+    var joined = parts.join(",");
+    var n = 0;
+    for (var k = 0; k < joined.length; k += 17) {
+        n += joined.charCodeAt(k);
+    }
+    return s.length + joined.slice(100, 200).length + n + s.indexOf("</td><td>1999");
+}
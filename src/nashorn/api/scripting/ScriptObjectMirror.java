@@ -50,6 +50,7 @@ import nashorn.internal.runtime.ConsString;
 import nashorn.internal.runtime.Context;
 import nashorn.internal.runtime.ECMAException;
 import nashorn.internal.runtime.JSONListAdapter;
+import nashorn.internal.runtime.JSONObjectCopier;
 import nashorn.internal.runtime.ScriptFunction;
 import nashorn.internal.runtime.ScriptObject;
 import nashorn.internal.runtime.ScriptRuntime;
@@ -498,6 +499,16 @@ public final class ScriptObjectMirror extends AbstractJSObject implements Bindin
         return inGlobal(() -> type.cast(ScriptUtils.convert(sobj, type)));
     }
 
+    /**
+     * Copy this script object and everything reachable from it into plain Java values.
+     * Objects become {@code LinkedHashMap}s, arrays become {@code ArrayList}s, and strings, numbers and booleans become their Java counterparts.
+     * Unlike {@link #wrapAsJSONCompatible(Object, Object)}, the whole graph is converted at once under a single switch to the home global, so reading the result needs no further wrapping.
+     * Members that are undefined or functions are left out, as with {@code JSON.stringify}; a cyclic graph is a TypeError.
+     */
+    public Object copyAsJSONCompatible() {
+        return inGlobal(() -> JSONObjectCopier.copy(sobj));
+    }
+
     /**
      * Make a script object mirror on given object if needed.
      */
@@ -30,6 +30,7 @@ import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.MethodVisitor;
 import static org.objectweb.asm.Opcodes.ACC_FINAL;
@@ -99,6 +100,9 @@ public class ClassEmitter {
     /** The ASM classwriter that we use for all bytecode operations */
     protected final ClassWriter cw;
 
+    /** Are stack map frames left out of {@link #cw} and computed in {@link #toByteArray()}? */
+    private final boolean deferFrames;
+
     /** The script environment */
     protected final Context context;
 
@@ -124,6 +128,7 @@ public class ClassEmitter {
     private ClassEmitter(Context context, ClassWriter cw) {
         this.context = context;
         this.cw = cw;
+        this.deferFrames = !cw.hasFlags(ClassWriter.COMPUTE_FRAMES);
         this.methodsStarted = new HashSet<>();
         this.methodNames = new HashSet<>();
     }
@@ -152,22 +157,8 @@ public class ClassEmitter {
      * @param unitClassName Compile unit class name.
      */
     ClassEmitter(String sourceName, String unitClassName, Context context) {
-        this(context,
-            new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS) {
-                private static final String OBJECT_CLASS  = "java/lang/Object";
-
-                @Override
-                protected String getCommonSuperClass(String type1, String type2) {
-                    try {
-                        return super.getCommonSuperClass(type1, type2);
-                    } catch (RuntimeException e) {
-                        if (isScriptObject(Compiler.SCRIPTS_PACKAGE, type1) && isScriptObject(Compiler.SCRIPTS_PACKAGE, type2)) {
-                            return className(ScriptObject.class);
-                        }
-                        return OBJECT_CLASS;
-                    }
-                }
-            });
+        // with parallel code generation, frames are computed when the class is finished, see toByteArray
+        this(context, new ScriptClassWriter(Compiler.CODEGEN_PARALLELISM > 0 ? 0 : ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS));
 
         this.unitClassName = unitClassName;
         this.constantMethodNeeded = new HashSet<>();
@@ -541,7 +532,37 @@ public class ClassEmitter {
         if (!classEnded) {
             return null;
         }
-        return cw.toByteArray();
+        var bytecode = cw.toByteArray();
+        if (deferFrames) {
+            // this is independent of other compile units, so it can run concurrently with them
+            var writer = new ScriptClassWriter(ClassWriter.COMPUTE_FRAMES);
+            new ClassReader(bytecode).accept(writer, 0);
+            bytecode = writer.toByteArray();
+        }
+        return bytecode;
+    }
+
+    /**
+     * Class writer for compile units, which may refer to script classes that are not loaded yet.
+     */
+    private static final class ScriptClassWriter extends ClassWriter {
+        private static final String OBJECT_CLASS  = "java/lang/Object";
+
+        ScriptClassWriter(int flags) {
+            super(flags);
+        }
+
+        @Override
+        protected String getCommonSuperClass(String type1, String type2) {
+            try {
+                return super.getCommonSuperClass(type1, type2);
+            } catch (RuntimeException e) {
+                if (isScriptObject(Compiler.SCRIPTS_PACKAGE, type1) && isScriptObject(Compiler.SCRIPTS_PACKAGE, type2)) {
+                    return className(ScriptObject.class);
+                }
+                return OBJECT_CLASS;
+            }
+        }
     }
 
     /**
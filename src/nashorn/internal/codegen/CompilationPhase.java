@@ -25,11 +25,13 @@
 
 package nashorn.internal.codegen;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.stream.IntStream;
 
 import nashorn.internal.codegen.Compiler.CompilationPhases;
 import nashorn.internal.ir.Block;
@@ -393,20 +395,30 @@ abstract class CompilationPhase {
                 throw new AssertionError("Failed generating bytecode for " + fn.getSourceName() + ":" + codegen.getLastLineNumber(), e);
             }
 
+            var usedUnits = new ArrayList<CompileUnit>();
             for (var compileUnit : compiler.getCompileUnits()) {
-                var classEmitter = compileUnit.getClassEmitter();
-                classEmitter.end();
+                compileUnit.getClassEmitter().end();
 
                 if (!compileUnit.isUsed()) {
                     compiler.getLogger().fine("Skipping unused compile unit ", compileUnit);
                     continue;
                 }
+                usedUnits.add(compileUnit);
+            }
 
-                var bytecode = classEmitter.toByteArray();
-                assert bytecode != null;
+            var bytecodes = new byte[usedUnits.size()][];
+            if (Compiler.CODEGEN_PARALLELISM > 0 && usedUnits.size() > 1) {
+                // class names are fixed already and classes are added in unit order below, so the result does not depend on scheduling
+                Compiler.getCodegenPool().submit(() -> IntStream.range(0, bytecodes.length).parallel().forEach(i -> bytecodes[i] = usedUnits.get(i).getClassEmitter().toByteArray())).join();
+            } else {
+                for (var i = 0; i < bytecodes.length; i++) {
+                    bytecodes[i] = usedUnits.get(i).getClassEmitter().toByteArray();
+                }
+            }
 
-                var className = compileUnit.getUnitClassName();
-                compiler.addClass(className, bytecode); //classes are only added to the bytecode map if compile unit is used
+            for (var i = 0; i < bytecodes.length; i++) {
+                assert bytecodes[i] != null;
+                compiler.addClass(usedUnits.get(i).getUnitClassName(), bytecodes[i]); //classes are only added to the bytecode map if compile unit is used
 
                 CompileUnit.increaseEmitCount();
             }
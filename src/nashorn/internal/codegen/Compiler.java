@@ -39,6 +39,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -62,6 +63,7 @@ import nashorn.internal.runtime.linker.NameCodec;
 import nashorn.internal.runtime.logging.DebugLogger;
 import nashorn.internal.runtime.logging.Loggable;
 import nashorn.internal.runtime.logging.Logger;
+import nashorn.internal.runtime.options.Options;
 import static nashorn.internal.codegen.CompilerConstants.ARGUMENTS;
 import static nashorn.internal.codegen.CompilerConstants.CALLEE;
 import static nashorn.internal.codegen.CompilerConstants.RETURN;
@@ -152,6 +154,23 @@ public final class Compiler implements Loggable {
      */
     private static final int COMPILE_UNIT_NAME_BUFFER_SIZE = 32;
 
+    /**
+     * Number of threads finishing the classes of separate compile units, set by the {@code nashorn.codegen.parallelism} system property.
+     * With the default of 0 classes are finished on the compiling thread.
+     */
+    static final int CODEGEN_PARALLELISM = Options.getIntProperty("nashorn.codegen.parallelism", 0);
+
+    private static final class CodegenPool {
+        static final ForkJoinPool POOL = new ForkJoinPool(CODEGEN_PARALLELISM);
+    }
+
+    /**
+     * Returns the pool finishing compile unit classes, see {@link #CODEGEN_PARALLELISM}.
+     */
+    static ForkJoinPool getCodegenPool() {
+        return CodegenPool.POOL;
+    }
+
     /**
      * Compilation phases that a compilation goes through
      */
@@ -31,18 +31,28 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 
+import nashorn.internal.ir.AccessNode;
+import nashorn.internal.ir.BinaryNode;
 import nashorn.internal.ir.Block;
+import nashorn.internal.ir.CallNode;
+import nashorn.internal.ir.Expression;
+import nashorn.internal.ir.ForNode;
 import nashorn.internal.ir.FunctionNode;
 import nashorn.internal.ir.IdentNode;
+import nashorn.internal.ir.IndexNode;
 import nashorn.internal.ir.LexicalContext;
 import nashorn.internal.ir.Node;
 import nashorn.internal.ir.Symbol;
+import nashorn.internal.ir.UnaryNode;
+import nashorn.internal.ir.VarNode;
 import nashorn.internal.ir.visitor.SimpleNodeVisitor;
 import nashorn.internal.runtime.Context;
 import nashorn.internal.runtime.RecompilableScriptFunctionData;
 import nashorn.internal.runtime.logging.DebugLogger;
 import nashorn.internal.runtime.logging.Loggable;
 import nashorn.internal.runtime.logging.Logger;
+import static nashorn.internal.parser.TokenType.DELETE;
+import static nashorn.internal.parser.TokenType.NEW;
 import static nashorn.internal.runtime.logging.DebugLogger.quote;
 
 /**
@@ -186,6 +196,11 @@ final class FindScopeDepths extends SimpleNodeVisitor implements Loggable {
             newFunctionNode = newFunctionNode.setInDynamicContext(lc);
         }
 
+        if (isSideEffectFree(newFunctionNode)) {
+            log.fine("Tagging ", quote(name), " as side effect free");
+            newFunctionNode = newFunctionNode.setFlag(lc, FunctionNode.IS_SIDE_EFFECT_FREE);
+        }
+
         // create recompilable scriptfunctiondata
         var fnId = newFunctionNode.getId();
         var nestedFunctions = fnIdToNestedFunctions.remove(fnId);
@@ -206,6 +221,106 @@ final class FindScopeDepths extends SimpleNodeVisitor implements Loggable {
         return newFunctionNode;
     }
 
+    /** Properties of the built-in {@code Math} object that side effect free functions may read and call. */
+    private static final Set<String> MATH_PROPERTIES = Set.of(
+        "E", "LN10", "LN2", "LOG2E", "LOG10E", "PI", "SQRT1_2", "SQRT2",
+        "abs", "acos", "asin", "atan", "atan2", "ceil", "cos", "exp", "floor", "log", "max", "min", "pow", "random", "round", "sin", "sqrt", "tan");
+
+    /**
+     * Returns true if the function only writes its own local variables, see {@link FunctionNode#IS_SIDE_EFFECT_FREE}.
+     * Property reads other than those of {@code Math} are not allowed, as they may run getters.
+     * Functions in a with or eval scope are rejected, as {@code Math} and their other free identifiers may resolve to properties of user objects there.
+     * Free identifiers may still be global properties with accessors, and conversions such as {@code valueOf} that operators may run on objects
+     * from enclosing scopes are not taken into account either.
+     */
+    private boolean isSideEffectFree(FunctionNode fn) {
+        if (fn.isProgram() || fn.hasEval() || fn.usesThis() || fn.inDynamicContext()) {
+            return false;
+        }
+        for (var functions = lc.getFunctions(); functions.hasNext();) {
+            var function = functions.next();
+            if (function.hasEval() || function.hasNestedEval()) {
+                return false;
+            }
+        }
+        var pure = new boolean[] { true };
+        fn.getBody().accept(new SimpleNodeVisitor() {
+            private boolean impure() {
+                pure[0] = false;
+                return false;
+            }
+
+            private boolean isLocal(Expression expr) {
+                if (expr instanceof IdentNode) {
+                    var symbol = ((IdentNode)expr).getSymbol();
+                    return symbol != null && !symbol.isScope();
+                }
+                return false;
+            }
+
+            // Math.xxx, where Math is the global and xxx one of its built-in properties
+            private boolean isMathProperty(Expression expr) {
+                if (expr instanceof AccessNode && MATH_PROPERTIES.contains(((AccessNode)expr).getProperty())) {
+                    var base = ((AccessNode)expr).getBase();
+                    if (base instanceof IdentNode && "Math".equals(((IdentNode)base).getName())) {
+                        var symbol = ((IdentNode)base).getSymbol();
+                        return symbol == null || symbol.isGlobal();
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public boolean enterFunctionNode(FunctionNode functionNode) {
+                return impure();
+            }
+
+            @Override
+            public boolean enterBinaryNode(BinaryNode binaryNode) {
+                return !binaryNode.isAssignment() || isLocal(binaryNode.lhs()) || impure();
+            }
+
+            @Override
+            public boolean enterUnaryNode(UnaryNode unaryNode) {
+                if (unaryNode.isTokenType(DELETE) || unaryNode.isTokenType(NEW)) {
+                    return impure();
+                }
+                return !unaryNode.isAssignment() || isLocal(unaryNode.getExpression()) || impure();
+            }
+
+            @Override
+            public boolean enterVarNode(VarNode varNode) {
+                return isLocal(varNode.getName()) || impure();
+            }
+
+            @Override
+            public boolean enterForNode(ForNode forNode) {
+                return !forNode.isForInOrOf() || isLocal(forNode.getInit()) || impure();
+            }
+
+            @Override
+            public boolean enterAccessNode(AccessNode accessNode) {
+                return isMathProperty(accessNode) ? pure[0] : impure();
+            }
+
+            @Override
+            public boolean enterIndexNode(IndexNode indexNode) {
+                return impure();
+            }
+
+            @Override
+            public boolean enterCallNode(CallNode callNode) {
+                return !callNode.isNew() && isMathProperty(callNode.getFunction()) ? pure[0] : impure();
+            }
+
+            @Override
+            public boolean enterDefault(Node node) {
+                return pure[0];
+            }
+        });
+        return pure[0];
+    }
+
     private boolean inDynamicScope() {
         return dynamicScopeCount > 0;
     }
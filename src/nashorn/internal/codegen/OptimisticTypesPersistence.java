@@ -183,6 +183,19 @@ public final class OptimisticTypesPersistence {
         });
     }
 
+    /**
+     * Returns true if optimistic types were stored for a given function by this or an earlier run.
+     * @param locationDescriptor the opaque persistence location descriptor, retrieved by calling {@link #getLocationDescriptor(Source, int, Type[])}.
+     * @return true if there is persisted type information at the location.
+     */
+    public static boolean exists(Object locationDescriptor) {
+        if (locationDescriptor == null) {
+            return false;
+        }
+        var file = ((LocationDescriptor)locationDescriptor).file;
+        return AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> file.isFile());
+    }
+
     /**
      * Loads the map of optimistic types for a given function.
      * @param locationDescriptor the opaque persistence location descriptor, retrieved by calling {@link #getLocationDescriptor(Source, int, Type[])}.
@@ -230,6 +230,15 @@ public final class FunctionNode extends LexicalContextExpression implements Flag
      */
     public static final int ES6_HAS_DIRECT_SUPER        = 1 << 19;
 
+    /**
+     * Does this function only write its own local variables?
+     * Set when the function has no eval, {@code this}, nested functions, {@code new} or {@code delete}, is not in a with or eval scope,
+     * and accesses and calls no properties but those of the global {@code Math} object.
+     * Reads of free identifiers are global property reads that may still run accessors.
+     * Whether {@code Math} is still the built-in object has to be checked before relying on this.
+     */
+    public static final int IS_SIDE_EFFECT_FREE         = 1 << 20;
+
     /**
      * Is this function a (class or object) method?
      */
@@ -544,6 +553,13 @@ public final class FunctionNode extends LexicalContextExpression implements Flag
         return getFlag(USES_THIS);
     }
 
+    /**
+     * Return {@code true} if this function has no side effects other than writing its own local variables, see {@link #IS_SIDE_EFFECT_FREE}.
+     */
+    public boolean isSideEffectFree() {
+        return getFlag(IS_SIDE_EFFECT_FREE);
+    }
+
     /**
      * Return true if function contains an apply to call transform
      */
@@ -56,6 +56,7 @@ import nashorn.internal.objects.annotations.Getter;
 import nashorn.internal.objects.annotations.Property;
 import nashorn.internal.objects.annotations.ScriptClass;
 import nashorn.internal.objects.annotations.Setter;
+import nashorn.internal.parser.JSONShapeCache;
 import nashorn.internal.runtime.Context;
 import nashorn.internal.runtime.ECMAErrors;
 import nashorn.internal.runtime.FindProperty;
@@ -869,6 +870,10 @@ public final class Global extends Scope {
     private ScriptObject   builtinJSON;
     private ScriptFunction builtinJSAdapter;
     private ScriptObject   builtinMath;
+    // the global Math property and the map and functions of the built-in Math object, see isBuiltinMath
+    private nashorn.internal.runtime.Property builtinMathProperty;
+    private PropertyMap    builtinMathMap;
+    private Object[]       builtinMathFunctions;
     private ScriptFunction builtinNumber;
     private ScriptFunction builtinRegExp;
     private ScriptFunction builtinString;
@@ -1326,6 +1331,16 @@ public final class Global extends Scope {
         }
     }
 
+    private final JSONShapeCache jsonShapes = new JSONShapeCache();
+
+    /**
+     * Get the property maps of the object layouts seen by JSON.parse
+     * @return the JSON shape cache of this global
+     */
+    public JSONShapeCache getJSONShapeCache() {
+        return jsonShapes;
+    }
+
     private final Map<Object, InvokeByName> namedInvokers = new ConcurrentHashMap<>();
 
 
@@ -1799,6 +1814,32 @@ public final class Global extends Scope {
         return isBuiltinFunctionProperty("call");
     }
 
+    /**
+     * Check if the global Math object and its properties have not been replaced or redefined
+     */
+    boolean isBuiltinMath() {
+        if (math != builtinMath || getMap().findProperty("Math") != builtinMathProperty || builtinMath.getMap() != builtinMathMap) {
+            return false;
+        }
+        var functions = getMathFunctions();
+        for (var i = 0; i < functions.length; i++) {
+            if (functions[i] != builtinMathFunctions[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Object[] getMathFunctions() {
+        var properties = builtinMath.getMap().getProperties();
+        var functions = new Object[properties.length];
+        for (var i = 0; i < properties.length; i++) {
+            var value = builtinMath.get(properties[i].getKey());
+            functions[i] = value instanceof ScriptFunction ? value : null;
+        }
+        return functions;
+    }
+
     private synchronized ScriptFunction getBuiltinJSAdapter() {
         if (this.builtinJSAdapter == null) {
             this.builtinJSAdapter = initConstructorAndSwitchPoint("JSAdapter", ScriptFunction.class);
@@ -2277,6 +2318,9 @@ public final class Global extends Scope {
         this.builtinNumber = initConstructorAndSwitchPoint("Number", ScriptFunction.class);
         this.builtinString = initConstructorAndSwitchPoint("String", ScriptFunction.class);
         this.builtinMath = initConstructorAndSwitchPoint("Math", ScriptObject.class);
+        this.builtinMathProperty = getMap().findProperty("Math");
+        this.builtinMathMap = builtinMath.getMap();
+        this.builtinMathFunctions = getMathFunctions();
 
         // initialize String.prototype.length to 0
         // add String.prototype.length
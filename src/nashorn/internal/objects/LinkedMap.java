@@ -25,10 +25,11 @@
 
 package nashorn.internal.objects;
 
-import nashorn.internal.runtime.Undefined;
+import java.util.Arrays;
+import java.util.Objects;
 
-import java.util.HashMap;
-import java.util.Map;
+import nashorn.internal.runtime.JSType;
+import nashorn.internal.runtime.Undefined;
 
 /**
  * A linked hash map used by the ES6 Map and Set objects.
@@ -39,70 +40,125 @@ import java.util.Map;
  * Deletions and additions that occur during iteration are reflected in the elements visited by the iterator (except for deletion of elements that have already been visited).
  * In non-concurrent Java collections such as {@code java.util.LinkedHashMap} this would result in a {@link java.util.ConcurrentModificationException} being thrown.
  * <p>
- * This class is implemented using a {@link java.util.HashMap} as backing storage with doubly-linked list nodes as values.</p>
+ * Entries are kept in insertion order in parallel key and value arrays, with an open-addressing hash index of entry positions.
+ * Deleted entries are marked and skipped until the next rehash compacts them away; a compacted table remembers which positions it dropped so live iterators can carry on in the new table.
+ * Integer and double keys are stored unboxed.</p>
  *
  * @see <a href="http://www.ecma-international.org/ecma-262/6.0/#sec-map.prototype.foreach">Map.prototype.forEach</a>
  * @see <a href="http://www.ecma-international.org/ecma-262/6.0/#sec-set.prototype.foreach">Set.prototype.forEach</a>
  */
 public class LinkedMap {
 
-    // We use a plain hash map as our hash storage.
-    private final Map<Object, Node> data = new HashMap<>();
+    // Markers in the key array for deleted entries and for entries whose key is in the number array.
+    private static final Object DELETED = new Object();
+    private static final Object INT_KEY = new Object();
+    private static final Object DOUBLE_KEY = new Object();
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private Table table = new Table(INITIAL_CAPACITY);
 
-    // The head and tail of our doubly-linked list.
-    // We use the same node to represent both the head and the tail of the list, so the list is circular.
-    // This node is never unlinked and thus always remain alive.
-    private final Node head = new Node();
+    private int size;
 
     /**
-     * A node of a linked list that is used as value in our map.
-     * The linked list uses insertion order and allows fast iteration over its element even while the map is modified.
+     * The entries of the map and their hash index.
+     * A table is replaced by a new one when it is rehashed or cleared.
      */
-    static class Node {
-        private final Object key;
-        private volatile Object value;
+    private static final class Table {
+        Object[] keys;
+        // allocated on demand, so sets and maps without numeric keys don't pay for them
+        Object[] values;
+        long[] numbers;
+        // hash slots holding entry positions plus one, zero for free slots
+        int[] index;
+        // number of entries used, including deleted ones
+        int used;
 
-        private volatile boolean alive = true;
-        private volatile Node prev;
-        private volatile Node next;
+        // the table that replaced this one, and the sorted positions of the entries it dropped; null if it was cleared
+        Table next;
+        int[] removed;
 
-        /**
-         * Constructor for the list head.
-         * This creates an empty circular list.
-         */
-        private Node() {
-            this(null, null);
-            this.next = this;
-            this.prev = this;
+        Table(int capacity) {
+            keys = new Object[capacity];
+            index = new int[capacity * 2];
         }
 
-        /**
-         * Constructor for value nodes.
-         */
-        private Node(Object key, Object value) {
-            this.key = key;
-            this.value = value;
+        Object getKey(int entry) {
+            var key = keys[entry];
+            if (key == INT_KEY) {
+                return (int)numbers[entry];
+            } else if (key == DOUBLE_KEY) {
+                return Double.longBitsToDouble(numbers[entry]);
+            }
+            return key;
         }
 
-        /**
-         * Get the node's key.
-         */
-        public Object getKey() {
-            return key;
+        Object getValue(int entry) {
+            return values == null ? null : values[entry];
         }
 
-        /**
-         * Get the node's value.
-         */
-        public Object getValue() {
-            return value;
+        void setValue(int entry, Object value) {
+            if (values == null) {
+                if (value == null) {
+                    return;
+                }
+                values = new Object[keys.length];
+            }
+            values[entry] = value;
+        }
+
+        void append(Object key, long number, Object value, int hash) {
+            var entry = used++;
+            keys[entry] = key;
+            if (key == INT_KEY || key == DOUBLE_KEY) {
+                if (numbers == null) {
+                    numbers = new long[keys.length];
+                }
+                numbers[entry] = number;
+            }
+            setValue(entry, value);
+
+            var mask = index.length - 1;
+            var slot = hash & mask;
+            while (index[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            index[slot] = entry + 1;
+        }
+
+        int find(Object key, long number, int hash) {
+            var numeric = key == INT_KEY || key == DOUBLE_KEY;
+            var mask = index.length - 1;
+            for (var slot = hash & mask;; slot = (slot + 1) & mask) {
+                var entry = index[slot] - 1;
+                if (entry < 0) {
+                    return -1;
+                }
+                var k = keys[entry];
+                if (numeric ? k == key && numbers[entry] == number : k == key || (key != null && key.equals(k))) {
+                    return entry;
+                }
+            }
+        }
+
+        void supersede(Table newTable, int[] removedEntries) {
+            next = newTable;
+            removed = removedEntries;
+            keys = null;
+            values = null;
+            numbers = null;
+            index = null;
         }
 
         /**
-         * Set the node's value
+         * Maps an iteration position in this superseded table to the corresponding position in the next one.
          */
-        void setValue(Object value) {
-            this.value = value;
+        int transition(int position) {
+            if (removed == null) {
+                return 0;
+            }
+            var i = Arrays.binarySearch(removed, position);
+            return position - (i >= 0 ? i : -i - 1);
         }
     }
 
@@ -111,35 +167,56 @@ public class LinkedMap {
      */
     class LinkedMapIterator {
 
-        private Node cursor;
+        private Table iterated;
+        private int position;
+
+        private Object key;
+        private Object value;
 
         private LinkedMapIterator() {
-            this.cursor = head;
+            this.iterated = table;
         }
 
         /**
-         * Get the next node in this iteration.
+         * Advance to the next entry in this iteration.
          * Changes in the underlying map are reflected in the iteration as required by the ES6 specification.
-         * Note that this method could return a deleted node if deletion occurred concurrently on another thread.
+         * Returns {@code false} once all entries have been visited, and from then on.
          */
-        public Node next() {
-
-            if (cursor != null) {
-                // If last node is not alive anymore (i.e. has been deleted) go back to the last live node
-                // and continue from there. This may be the list head, which always remains alive.
-                while (!cursor.alive) {
-                    assert cursor != head;
-                    cursor = cursor.prev;
-                }
-
-                cursor = cursor.next;
-
-                if (cursor == head) {
-                    cursor = null; // We've come full circle to the end
+        public boolean next() {
+            var t = iterated;
+            if (t == null) {
+                return false;
+            }
+            while (t.next != null) {
+                position = t.transition(position);
+                t = t.next;
+            }
+            while (position < t.used) {
+                var entry = position++;
+                if (t.keys[entry] != DELETED) {
+                    iterated = t;
+                    key = t.getKey(entry);
+                    value = t.getValue(entry);
+                    return true;
                 }
             }
+            iterated = null;
+            key = value = null;
+            return false;
+        }
 
-            return cursor;
+        /**
+         * Get the key of the current entry.
+         */
+        public Object getKey() {
+            return key;
+        }
+
+        /**
+         * Get the value of the current entry.
+         */
+        public Object getValue() {
+            return value;
         }
     }
 
@@ -147,13 +224,44 @@ public class LinkedMap {
      * Add a key-value pair to the map.
      */
     public void set(Object key, Object value) {
-        var node = data.get(key);
-        if (node != null) {
-            node.setValue(value);
+        if (key instanceof Integer) {
+            set((int)key, value);
+        } else if (key instanceof Double) {
+            set((double)key, value);
         } else {
-            node = new Node(key, value);
-            data.put(key, node);
-            link(node);
+            set(key, 0, value, hash(Objects.hashCode(key)));
+        }
+    }
+
+    /**
+     * Add a key-value pair with an integer key to the map.
+     */
+    public void set(int key, Object value) {
+        set(INT_KEY, key, value, hash(key));
+    }
+
+    /**
+     * Add a key-value pair with a number key to the map.
+     */
+    public void set(double key, Object value) {
+        if (JSType.isRepresentableAsInt(key)) {
+            set((int)key, value);
+        } else {
+            var bits = Double.doubleToLongBits(key);
+            set(DOUBLE_KEY, bits, value, hash(Long.hashCode(bits)));
+        }
+    }
+
+    private void set(Object key, long number, Object value, int hash) {
+        var entry = table.find(key, number, hash);
+        if (entry >= 0) {
+            table.setValue(entry, value);
+        } else {
+            if (table.used == table.keys.length) {
+                rehash(size + 1);
+            }
+            table.append(key, number, value, hash);
+            size++;
         }
     }
 
@@ -161,46 +269,98 @@ public class LinkedMap {
      * Get the value associated with {@code key}.
      */
     public Object get(Object key) {
-        var node = data.get(key);
-        return node == null ? Undefined.getUndefined() : node.getValue();
+        return valueAt(find(key));
+    }
+
+    /**
+     * Get the value associated with the integer {@code key}.
+     */
+    public Object get(int key) {
+        return valueAt(table.find(INT_KEY, key, hash(key)));
+    }
+
+    /**
+     * Get the value associated with the number {@code key}.
+     */
+    public Object get(double key) {
+        return valueAt(find(key));
+    }
+
+    private Object valueAt(int entry) {
+        return entry < 0 ? Undefined.getUndefined() : table.getValue(entry);
     }
 
     /**
      * Returns {@code true} if {@code key} is contained in the map.
      */
     public boolean has(Object key) {
-        return data.containsKey(key);
+        return find(key) >= 0;
+    }
+
+    /**
+     * Returns {@code true} if the integer {@code key} is contained in the map.
+     */
+    public boolean has(int key) {
+        return table.find(INT_KEY, key, hash(key)) >= 0;
     }
 
     /**
-     * Delete the node associated with {@code key} from the map.
+     * Returns {@code true} if the number {@code key} is contained in the map.
      */
-    public boolean delete (Object key) {
-        var node = data.remove(key);
-        if (node != null) {
-            unlink(node);
-            return true;
+    public boolean has(double key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Delete the entry associated with {@code key} from the map.
+     */
+    public boolean delete(Object key) {
+        return deleteAt(find(key));
+    }
+
+    /**
+     * Delete the entry associated with the integer {@code key} from the map.
+     */
+    public boolean delete(int key) {
+        return deleteAt(table.find(INT_KEY, key, hash(key)));
+    }
+
+    /**
+     * Delete the entry associated with the number {@code key} from the map.
+     */
+    public boolean delete(double key) {
+        return deleteAt(find(key));
+    }
+
+    private boolean deleteAt(int entry) {
+        if (entry < 0) {
+            return false;
         }
-        return false;
+        // The entry stays in the hash index, where it acts as a tombstone until the next rehash.
+        table.keys[entry] = DELETED;
+        table.setValue(entry, null);
+        size--;
+        if (size < table.keys.length / 8 && table.keys.length > INITIAL_CAPACITY) {
+            rehash(size);
+        }
+        return true;
     }
 
     /**
      * Remove all key-value pairs from the map.
      */
     public void clear() {
-        data.clear();
-        for (var node = head.next; node != head; node = node.next) {
-            node.alive = false;
-        }
-        head.next = head;
-        head.prev = head;
+        var cleared = new Table(INITIAL_CAPACITY);
+        table.supersede(cleared, null);
+        table = cleared;
+        size = 0;
     }
 
     /**
      * Return the current number of key-value pairs in the map.
      */
     public int size() {
-        return data.size();
+        return size;
     }
 
     /**
@@ -210,21 +370,54 @@ public class LinkedMap {
         return new LinkedMapIterator();
     }
 
-    private void link(Node newNode) {
-        // We always insert at the end (head == tail)
-        newNode.next = head;
-        newNode.prev = head.prev;
-        newNode.prev.next = newNode;
-        head.prev = newNode;
+    private int find(Object key) {
+        if (key instanceof Integer) {
+            var i = (int)key;
+            return table.find(INT_KEY, i, hash(i));
+        } else if (key instanceof Double) {
+            return find((double)key);
+        }
+        return table.find(key, 0, hash(Objects.hashCode(key)));
+    }
+
+    private int find(double key) {
+        if (JSType.isRepresentableAsInt(key)) {
+            var i = (int)key;
+            return table.find(INT_KEY, i, hash(i));
+        }
+        var bits = Double.doubleToLongBits(key);
+        return table.find(DOUBLE_KEY, bits, hash(Long.hashCode(bits)));
+    }
+
+    /**
+     * Copies the live entries into a new table with room for at least {@code minSize} entries at half load.
+     */
+    private void rehash(int minSize) {
+        var old = table;
+        var capacity = INITIAL_CAPACITY;
+        while (capacity < minSize * 2) {
+            capacity *= 2;
+        }
+        var t = new Table(capacity);
+        var removed = new int[old.used - size];
+        var r = 0;
+        for (var entry = 0; entry < old.used; entry++) {
+            var key = old.keys[entry];
+            if (key == DELETED) {
+                removed[r++] = entry;
+            } else {
+                var number = old.numbers == null ? 0 : old.numbers[entry];
+                var hash = key == INT_KEY ? hash((int)number) : key == DOUBLE_KEY ? hash(Long.hashCode(number)) : hash(Objects.hashCode(key));
+                t.append(key, number, old.getValue(entry), hash);
+            }
+        }
+        old.supersede(t, removed);
+        table = t;
     }
 
-    private void unlink(Node oldNode) {
-        // Note that we unlink references to the node being deleted, but keep the references from the deleted node.
-        // This is necessary to allow iterators to go back to the last live node in case the current node has been deleted.
-        // Also, the forward link of a deleted node may still be followed by an iterator and must not be null.
-        oldNode.prev.next = oldNode.next;
-        oldNode.next.prev = oldNode.prev;
-        oldNode.alive = false;
+    private static int hash(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
     }
 
 }
@@ -81,19 +81,17 @@ public class MapIterator extends AbstractIterator {
             return makeResult(Undefined.getUndefined(), Boolean.TRUE, global);
         }
 
-        var node = iterator.next();
-
-        if (node == null) {
+        if (!iterator.next()) {
             iterator = null;
             return makeResult(Undefined.getUndefined(), Boolean.TRUE, global);
         }
 
         if (iterationKind == IterationKind.KEY_VALUE) {
-            var array = new NativeArray(new Object[] {node.getKey(), node.getValue()});
+            var array = new NativeArray(new Object[] {iterator.getKey(), iterator.getValue()});
             return makeResult(array, Boolean.FALSE, global);
         }
 
-        return makeResult(iterationKind == IterationKind.KEY ? node.getKey() : node.getValue(), Boolean.FALSE, global);
+        return makeResult(iterationKind == IterationKind.KEY ? iterator.getKey() : iterator.getValue(), Boolean.FALSE, global);
     }
 
 }
@@ -34,6 +34,9 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import jdk.dynalink.CallSiteDescriptor;
 import jdk.dynalink.linker.GuardedInvocation;
@@ -55,6 +58,7 @@ import nashorn.internal.runtime.JSType;
 import nashorn.internal.runtime.OptimisticBuiltins;
 import nashorn.internal.runtime.PropertyDescriptor;
 import nashorn.internal.runtime.PropertyMap;
+import nashorn.internal.runtime.ScriptFunction;
 import nashorn.internal.runtime.ScriptObject;
 import nashorn.internal.runtime.ScriptRuntime;
 import nashorn.internal.runtime.Undefined;
@@ -67,6 +71,7 @@ import nashorn.internal.runtime.arrays.IteratorAction;
 import nashorn.internal.runtime.arrays.NumericElements;
 import nashorn.internal.runtime.linker.Bootstrap;
 import nashorn.internal.runtime.linker.InvokeByName;
+import nashorn.internal.runtime.options.Options;
 import static nashorn.internal.runtime.ECMAErrors.rangeError;
 import static nashorn.internal.runtime.ECMAErrors.typeError;
 import static nashorn.internal.runtime.PropertyDescriptor.VALUE;
@@ -95,8 +100,19 @@ public final class NativeArray extends ScriptObject implements OptimisticBuiltin
     private static final Object FILTER_CALLBACK_INVOKER  = new Object();
     private static final Object REDUCE_CALLBACK_INVOKER  = new Object();
     private static final Object CALL_CMP                 = new Object();
+    private static final Object CALL_CMP_NUMBER          = new Object();
     private static final Object TO_LOCALE_STRING         = new Object();
 
+    /** Minimum length of the arrays that map, filter and parallelReduce may process on several threads, or zero to never do so. */
+    private static final int PARALLEL_THRESHOLD = Options.getIntProperty("nashorn.array.parallel.threshold", 0);
+
+    /** Minimum number of elements per parallel task. */
+    private static final int PARALLEL_MIN_CHUNK = 1024;
+
+    private static final class ParallelPool {
+        static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
     /*
      * Constructors.
      */
@@ -245,6 +261,16 @@ public final class NativeArray extends ScriptObject implements OptimisticBuiltin
             });
     }
 
+    private static MethodHandle getCALL_CMP_NUMBER() {
+        return Global.instance().getDynamicInvoker(CALL_CMP_NUMBER,
+            new Callable<MethodHandle>() {
+                @Override
+                public MethodHandle call() {
+                    return Bootstrap.createDynamicCallInvoker(double.class, Object.class, Object.class, double.class, double.class);
+                }
+            });
+    }
+
     private static InvokeByName getTO_LOCALE_STRING() {
         return Global.instance().getInvokeByName(TO_LOCALE_STRING,
             new Callable<InvokeByName>() {
@@ -765,7 +791,9 @@ public final class NativeArray extends ScriptObject implements OptimisticBuiltin
         while (iter.hasNext()) {
             var obj = iter.next();
 
-            if (obj != null && obj != ScriptRuntime.UNDEFINED) {
+            if (obj instanceof Double) {
+                JSType.toString(sb, (Double)obj);
+            } else if (obj != null && obj != ScriptRuntime.UNDEFINED) {
                 sb.append(JSType.toString(obj));
             }
 
@@ -842,7 +870,7 @@ public final class NativeArray extends ScriptObject implements OptimisticBuiltin
      */
     @SpecializedFunction(linkLogic=PushLinkLogic.class, convertsNumericArgs = false)
     public static double push(Object self, int arg) {
-        return getContinuousArrayDataCCE(self, Integer.class).fastPush(arg);
+        return getPushTargetCCE(self, Integer.class).fastPush(arg);
     }
 
     /**
@@ -850,7 +878,7 @@ public final class NativeArray extends ScriptObject implements OptimisticBuiltin
      */
     @SpecializedFunction(linkLogic=PushLinkLogic.class, convertsNumericArgs = false)
     public static double push(Object self, double arg) {
-        return getContinuousArrayDataCCE(self, Double.class).fastPush(arg);
+        return getPushTargetCCE(self, Double.class).fastPush(arg);
     }
 
     /**
@@ -1087,6 +1115,14 @@ public final class NativeArray extends ScriptObject implements OptimisticBuiltin
             var len = JSType.toUint32(sobj.getLength());
             var array = sobj.getArray();
 
+            if (len > 1 && array instanceof ContinuousArrayData && array.length() == len) {
+                // int and number arrays without holes are sorted without boxing their elements
+                if (NumericArraySort.sort((ContinuousArrayData)array, (int)len, compareFunction(comparefn), ScriptRuntime.UNDEFINED, getCALL_CMP_NUMBER())) {
+                    sobj.setArray(array);
+                    return sobj;
+                }
+            }
+
             if (len > 1) {
                 // Get only non-missing elements.
                 // Missing elements go at the end of the sorted array. So, just don't copy these to sort input.
@@ -1243,7 +1279,7 @@ public final class NativeArray extends ScriptObject implements OptimisticBuiltin
         }
 
         if (bulkable(sobj)) {
-            sobj.getArray().shiftRight(items.length);
+            sobj.setArray(sobj.getArray().shiftRight(items.length));
 
             for (var j = 0; j < items.length; j++) {
                 sobj.setArray(sobj.getArray().set(j, items[j])); // true
@@ -1389,6 +1425,19 @@ public final class NativeArray extends ScriptObject implements OptimisticBuiltin
      */
     @Function(attributes = Attribute.NOT_ENUMERABLE, arity = 1)
     public static NativeArray map(Object self, Object callbackfn, Object thisArg) {
+        var elements = parallelElements(self, callbackfn);
+        if (elements != null) {
+            var length = (int)elements.length();
+            var mapInvoker = getMAP_CALLBACK_INVOKER();
+            var results = new Object[length];
+            runParallel(length, parallelChunks(length), (chunk, from, to) -> {
+                for (var i = from; i < to; i++) {
+                    results[i] = mapInvoker.invokeExact(callbackfn, thisArg, elements.getObject(i), (double)i, self);
+                }
+            });
+            return new NativeArray(results);
+        }
+
         return new IteratorAction<NativeArray>(Global.toObject(self), callbackfn, thisArg, null) {
             private final MethodHandle mapInvoker = getMAP_CALLBACK_INVOKER();
 
@@ -1412,6 +1461,25 @@ public final class NativeArray extends ScriptObject implements OptimisticBuiltin
      */
     @Function(attributes = Attribute.NOT_ENUMERABLE, arity = 1)
     public static NativeArray filter(Object self, Object callbackfn, Object thisArg) {
+        var elements = parallelElements(self, callbackfn);
+        if (elements != null) {
+            var length = (int)elements.length();
+            var filterInvoker = getFILTER_CALLBACK_INVOKER();
+            var selected = new boolean[length];
+            runParallel(length, parallelChunks(length), (chunk, from, to) -> {
+                for (var i = from; i < to; i++) {
+                    selected[i] = (boolean)filterInvoker.invokeExact(callbackfn, thisArg, elements.getObject(i), (double)i, self);
+                }
+            });
+            var results = new ArrayList<Object>();
+            for (var i = 0; i < length; i++) {
+                if (selected[i]) {
+                    results.add(elements.getObject(i));
+                }
+            }
+            return new NativeArray(results.toArray());
+        }
+
         return new IteratorAction<NativeArray>(Global.toObject(self), callbackfn, thisArg, new NativeArray()) {
             private long to = 0;
             private final MethodHandle filterInvoker = getFILTER_CALLBACK_INVOKER();
@@ -1473,6 +1541,124 @@ public final class NativeArray extends ScriptObject implements OptimisticBuiltin
         return reduceInner(reverseArrayLikeIterator(self), self, args);
     }
 
+    /**
+     * Nashorn extension: Array.prototype.parallelReduce ( callbackfn, identity )
+     *
+     * Same as {@code reduce(callbackfn, identity)}, except that the elements of large arrays may be reduced on several threads if the callback is side effect free.
+     * Each range of elements is then reduced starting from {@code identity}, and the results of the ranges are combined with the callback, so it has to be associative with {@code identity} as its identity element.
+     */
+    @Function(attributes = Attribute.NOT_ENUMERABLE, arity = 2)
+    public static Object parallelReduce(Object self, Object callbackfn, Object identity) {
+        var elements = parallelElements(self, callbackfn);
+        if (elements == null) {
+            return reduceInner(arrayLikeIterator(self), self, callbackfn, identity);
+        }
+
+        var length = (int)elements.length();
+        var chunks = parallelChunks(length);
+        var reduceInvoker = getREDUCE_CALLBACK_INVOKER();
+        var partialResults = new Object[chunks];
+        runParallel(length, chunks, (chunk, from, to) -> {
+            var result = identity;
+            for (var i = from; i < to; i++) {
+                result = reduceInvoker.invokeExact(callbackfn, ScriptRuntime.UNDEFINED, result, elements.getObject(i), (double)i, self);
+            }
+            partialResults[chunk] = result;
+        });
+
+        var result = partialResults[0];
+        try {
+            for (var chunk = 1; chunk < chunks; chunk++) {
+                result = reduceInvoker.invokeExact(callbackfn, ScriptRuntime.UNDEFINED, result, partialResults[chunk], (double)chunkStart(length, chunks, chunk), self);
+            }
+        } catch (Throwable t) {
+            Util.uncheck(t);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the elements of {@code self} if {@code callbackfn} may be applied to them on several threads, otherwise null.
+     * That is the case for large int and number arrays, whose elements run no code when they are read or converted,
+     * and callbacks that the compiler found to be side effect free, provided the Math functions they may call are still the built-in ones.
+     * Such callbacks can neither change the array nor tell in which order they were called.
+     */
+    private static ContinuousArrayData parallelElements(Object self, Object callbackfn) {
+        if (PARALLEL_THRESHOLD > 0 && self instanceof NativeArray && callbackfn instanceof ScriptFunction && ((ScriptFunction)callbackfn).isSideEffectFree()) {
+            var array = ((NativeArray)self).getArray();
+            if (array instanceof ContinuousArrayData && array.length() >= PARALLEL_THRESHOLD) {
+                var elementType = ((ContinuousArrayData)array).getElementType();
+                if ((elementType == int.class || elementType == double.class) && Global.instance().isBuiltinMath()) {
+                    return (ContinuousArrayData)array;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Action on the elements from {@code from} (inclusive) to {@code to} (exclusive) of an array, which is range number {@code chunk}.
+     */
+    private interface RangeAction {
+        void apply(int chunk, int from, int to) throws Throwable;
+    }
+
+    private static int parallelChunks(int length) {
+        return Math.max(1, Math.min(ParallelPool.POOL.getParallelism() * 4, length / PARALLEL_MIN_CHUNK));
+    }
+
+    private static int chunkStart(int length, int chunks, int chunk) {
+        return (int)((long)length * chunk / chunks);
+    }
+
+    /**
+     * Splits {@code length} elements into {@code chunks} ranges and applies {@code action} to them on the parallel pool and the calling thread.
+     * If it fails on several ranges, the exception from the first one is thrown, which is the one a sequential loop would have thrown.
+     */
+    private static void runParallel(int length, int chunks, RangeAction action) {
+        var global = Global.instance();
+        var failures = new Throwable[chunks];
+        var nextChunk = new AtomicInteger();
+        Runnable worker = () -> {
+            for (var chunk = nextChunk.getAndIncrement(); chunk < chunks; chunk = nextChunk.getAndIncrement()) {
+                try {
+                    action.apply(chunk, chunkStart(length, chunks, chunk), chunkStart(length, chunks, chunk + 1));
+                } catch (Throwable t) {
+                    failures[chunk] = t;
+                }
+            }
+        };
+
+        // each pool task sets the global once for all the ranges it takes, and restores the previous one so that pool threads keep no engine alive
+        var tasks = new ArrayList<ForkJoinTask<?>>();
+        for (var i = Math.min(chunks, ParallelPool.POOL.getParallelism()) - 1; i > 0; i--) {
+            tasks.add(ParallelPool.POOL.submit(() -> {
+                var oldGlobal = Context.getGlobal();
+                var globalChanged = (oldGlobal != global);
+                try {
+                    if (globalChanged) {
+                        Context.setGlobal(global);
+                    }
+                    worker.run();
+                } finally {
+                    if (globalChanged) {
+                        Context.setGlobal(oldGlobal);
+                    }
+                }
+            }));
+        }
+        worker.run();
+        for (var task : tasks) {
+            task.join();
+        }
+
+        for (var failure : failures) {
+            if (failure != null) {
+                Util.uncheck(failure);
+            }
+        }
+    }
+
     /**
      * ECMA6 22.1.3.4 Array.prototype.entries ( )
      */
@@ -1678,4 +1864,13 @@ public final class NativeArray extends ScriptObject implements OptimisticBuiltin
         }
     }
 
+    private static ContinuousArrayData getPushTargetCCE(Object self, Class<?> elementType) {
+        var data = getContinuousArrayDataCCE(self, elementType);
+        var target = data.pushTarget();
+        if (target != data) {
+            ((NativeArray)self).setArray(target);
+        }
+        return target;
+    }
+
 }
@@ -25,6 +25,8 @@
 
 package nashorn.internal.objects;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.lang.invoke.MethodHandle;
 
 import java.util.ArrayList;
@@ -48,6 +50,7 @@ import nashorn.internal.runtime.JSONFunctions;
 import nashorn.internal.runtime.JSType;
 import nashorn.internal.runtime.PropertyMap;
 import nashorn.internal.runtime.ScriptObject;
+import nashorn.internal.runtime.ScriptRuntime;
 import nashorn.internal.runtime.arrays.ArrayLikeIterator;
 import nashorn.internal.runtime.linker.Bootstrap;
 import nashorn.internal.runtime.linker.InvokeByName;
@@ -114,18 +117,59 @@ public final class NativeJSON extends ScriptObject {
         return JSONFunctions.parse(text, reviver);
     }
 
+    /**
+     * Nashorn extension: JSON.parseStream ( source [ , reviver ] )
+     * <p>
+     * Parses JSON text from a java.io.Reader, java.io.InputStream or java.nio.ByteBuffer without reading it into a string first.
+     * Any other source is parsed as by JSON.parse.
+     */
+    @Function(attributes = Attribute.NOT_ENUMERABLE, where = Where.CONSTRUCTOR)
+    public static Object parseStream(Object self, Object source, Object reviver) throws IOException {
+        return JSONFunctions.parseStream(source, reviver);
+    }
+
     /**
      * ECMA 15.12.3 stringify ( value [ , replacer [ , space ] ] )
      */
     @Function(attributes = Attribute.NOT_ENUMERABLE, where = Where.CONSTRUCTOR)
     public static Object stringify(Object self, Object value, Object replacer, Object space) {
+        var state = newState(replacer, space, null);
+        if (!str("", wrap(value), state)) {
+            return UNDEFINED;
+        }
+        return state.out.toString();
+    }
+
+    /**
+     * Nashorn extension: JSON.stringifyTo ( writer, value [ , replacer [ , space ] ] )
+     * <p>
+     * Writes the JSON text for the value to a java.io.Writer as it is produced instead of returning it as a string.
+     * Nothing is written if JSON.stringify would return undefined.
+     */
+    @Function(attributes = Attribute.NOT_ENUMERABLE, where = Where.CONSTRUCTOR)
+    public static Object stringifyTo(Object self, Object writer, Object value, Object replacer, Object space) throws IOException {
+        if (!(writer instanceof Writer)) {
+            throw typeError("not.a.writer", ScriptRuntime.safeToString(writer));
+        }
+        var state = newState(replacer, space, (Writer)writer);
+        if (str("", wrap(value), state)) {
+            state.flush();
+        }
+        return UNDEFINED;
+    }
+
+    // -- Internals only below this point
+
+    // stringify helpers.
+
+    private static StringifyState newState(Object replacer, Object space, Writer writer) {
 
         // The stringify method takes a value and an optional replacer, and an optional space parameter, and returns a JSON text.
         // The replacer can be a function that can replace values, or an array of strings that will select the keys.
         // A default replacer method can be provided.
         // Use of the space parameter can produce text that is more easily readable.
 
-        var state = new StringifyState();
+        var state = new StringifyState(writer);
 
         // If there is a replacer, it must be a function or an array.
         if (Bootstrap.isCallable(replacer)) {
@@ -184,28 +228,74 @@ public final class NativeJSON extends ScriptObject {
         }
 
         state.gap = gap;
+        return state;
+    }
 
+    private static ScriptObject wrap(Object value) {
         var wrapper = Global.newEmptyInstance();
         wrapper.set("", value, 0);
-
-        return str("", wrapper, state);
+        return wrapper;
     }
 
-    // -- Internals only below this point
-
-    // stringify helpers.
-
     private static class StringifyState {
+        // output is flushed to the writer, if any, once the buffer grows past this size
+        static final int FLUSH_SIZE = 8192;
+
         final Map<Object, Object> stack = new IdentityHashMap<>();
 
-        StringBuilder indent = new StringBuilder();
+        // all of the output goes to one buffer, nested values append to it rather than returning strings
+        final StringBuilder out = new StringBuilder();
+        final Writer writer;
+        char[] chars;
+
+        // own keys of plain objects by map, so objects of the same shape share one key list
+        final Map<PropertyMap, String[]> ownKeys = new IdentityHashMap<>();
+        PropertyMap lastMap;
+        String[] lastKeys;
+
+        final StringBuilder indent = new StringBuilder();
         String gap = "";
         List<String> propertyList = null;
         Object replacerFunction = null;
+
+        StringifyState(Writer writer) {
+            this.writer = writer;
+        }
+
+        void flushIfFull() {
+            if (writer != null && out.length() >= FLUSH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            var length = out.length();
+            if (chars == null || chars.length < length) {
+                chars = new char[Math.max(length, FLUSH_SIZE * 2)];
+            }
+            out.getChars(0, length, chars, 0);
+            out.setLength(0);
+            try {
+                writer.write(chars, 0, length);
+            } catch (IOException e) {
+                Util.uncheck(e);
+            }
+        }
     }
 
     // Spec: The abstract operation Str(key, holder).
-    private static Object str(Object key, Object holder, StringifyState state) {
+    // Appends the value and returns true, or returns false for a value that is undefined in JSON.
+    private static boolean str(Object key, Object holder, StringifyState state) {
+        var value = prepare(key, holder, state);
+        if (value == UNDEFINED) {
+            return false;
+        }
+        write(value, state);
+        return true;
+    }
+
+    // Steps 1 to 4 of Str(key, holder): get the value to serialize, or UNDEFINED if it has no JSON representation.
+    private static Object prepare(Object key, Object holder, StringifyState state) {
         assert holder instanceof ScriptObject || holder instanceof JSObject;
 
         var value = getProperty(holder, key);
@@ -242,38 +332,50 @@ public final class NativeJSON extends ScriptObject {
             }
         }
 
-        if (value == null) {
-            return "null";
-        } else if (Boolean.TRUE.equals(value)) {
-            return "true";
-        } else if (Boolean.FALSE.equals(value)) {
-            return "false";
+        if (value == null || value instanceof Boolean || value instanceof String || value instanceof ConsString || value instanceof Number) {
+            return value;
         }
 
-        if (value instanceof String) {
-            return JSONFunctions.quote((String)value);
-        } else if (value instanceof ConsString) {
-            return JSONFunctions.quote(value.toString());
+        var type = JSType.of(value);
+        if (type == JSType.OBJECT && (value instanceof ScriptObject || value instanceof JSObject)) {
+            return value;
         }
 
-        if (value instanceof Number) {
-            return JSType.isFinite(((Number)value).doubleValue()) ? JSType.toString(value) : "null";
-        }
+        return UNDEFINED;
+    }
 
-        var type = JSType.of(value);
-        if (type == JSType.OBJECT) {
-            if (isArray(value) || isJSObjectArray(value)) {
-                return JA(value, state);
-            } else if (value instanceof ScriptObject || value instanceof JSObject) {
-                return JO(value, state);
+    // Steps 5 to 11 of Str(key, holder): append the JSON text for a value accepted by prepare.
+    private static void write(Object value, StringifyState state) {
+        var out = state.out;
+
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof Boolean) {
+            out.append(((Boolean)value).booleanValue());
+        } else if (value instanceof String) {
+            JSONFunctions.quote(out, (String)value);
+        } else if (value instanceof ConsString) {
+            JSONFunctions.quote(out, value.toString());
+        } else if (value instanceof Integer) {
+            out.append(((Integer)value).intValue());
+        } else if (value instanceof Number) {
+            var d = ((Number)value).doubleValue();
+            if (!JSType.isFinite(d)) {
+                out.append("null");
+            } else if (value instanceof Double) {
+                JSType.toString(out, d);
+            } else {
+                out.append(JSType.toString(value));
             }
+        } else if (isArray(value) || isJSObjectArray(value)) {
+            JA(value, state);
+        } else {
+            JO(value, state);
         }
-
-        return UNDEFINED;
     }
 
     // Spec: The abstract operation JO(value) serializes an object.
-    private static String JO(Object value, StringifyState state) {
+    private static void JO(Object value, StringifyState state) {
         assert value instanceof ScriptObject || value instanceof JSObject;
 
         if (state.stack.containsKey(value)) {
@@ -281,77 +383,49 @@ public final class NativeJSON extends ScriptObject {
         }
 
         state.stack.put(value, value);
-        var stepback = new StringBuilder(state.indent.toString());
+        var stepback = state.indent.length();
         state.indent.append(state.gap);
 
-        var finalStr = new StringBuilder();
-        var partial = new ArrayList<Object>();
-        var k = state.propertyList == null ? Arrays.asList(getOwnKeys(value)) : state.propertyList;
+        var out = state.out;
+        var pretty = !state.gap.isEmpty();
+        var empty = true;
 
-        for (var p : k) {
-            var strP = str(p, value, state);
+        out.append('{');
 
-            if (strP != UNDEFINED) {
-                var member = new StringBuilder();
+        var keys = state.propertyList == null ? Arrays.asList(getOwnKeys(value, state)) : state.propertyList;
 
-                member.append(JSONFunctions.quote(p.toString())).append(':');
-                if (!state.gap.isEmpty()) {
-                    member.append(' ');
-                }
+        for (var p : keys) {
+            var v = prepare(p, value, state);
+            if (v == UNDEFINED) {
+                continue;
+            }
 
-                member.append(strP);
-                partial.add(member);
+            if (!empty) {
+                out.append(',');
+            }
+            if (pretty) {
+                out.append('\n').append(state.indent);
             }
+            JSONFunctions.quote(out, p.toString()).append(':');
+            if (pretty) {
+                out.append(' ');
+            }
+            write(v, state);
+            state.flushIfFull();
+            empty = false;
         }
 
-        if (partial.isEmpty()) {
-            finalStr.append("{}");
-        } else {
-            if (state.gap.isEmpty()) {
-                var size = partial.size();
-                var index = 0;
-
-                finalStr.append('{');
-
-                for (var str : partial) {
-                    finalStr.append(str);
-                    if (index < size - 1) {
-                        finalStr.append(',');
-                    }
-                    index++;
-                }
-
-                finalStr.append('}');
-            } else {
-                var size = partial.size();
-                var index = 0;
-
-                finalStr.append("{\n");
-                finalStr.append(state.indent);
-
-                for (var str : partial) {
-                    finalStr.append(str);
-                    if (index < size - 1) {
-                        finalStr.append(",\n");
-                        finalStr.append(state.indent);
-                    }
-                    index++;
-                }
-
-                finalStr.append('\n');
-                finalStr.append(stepback);
-                finalStr.append('}');
-            }
+        if (pretty && !empty) {
+            out.append('\n').append(state.indent, 0, stepback);
         }
+        out.append('}');
 
         state.stack.remove(value);
-        state.indent = stepback;
-
-        return finalStr.toString();
+        state.indent.setLength(stepback);
     }
 
     // Spec: The abstract operation JA(value) serializes an array.
-    private static Object JA(Object value, StringifyState state) {
+    private static void JA(Object value, StringifyState state) {
         assert value instanceof ScriptObject || value instanceof JSObject;
 
         if (state.stack.containsKey(value)) {
@@ -359,63 +433,56 @@ public final class NativeJSON extends ScriptObject {
         }
 
         state.stack.put(value, value);
-        var stepback = new StringBuilder(state.indent.toString());
+        var stepback = state.indent.length();
         state.indent.append(state.gap);
-        var partial = new ArrayList<Object>();
 
+        var out = state.out;
+        var pretty = !state.gap.isEmpty();
         var length = JSType.toInteger(getLength(value));
-        var index = 0;
 
-        while (index < length) {
-            var strP = str(index, value, state);
-            if (strP == UNDEFINED) {
-                strP = "null";
+        out.append('[');
+
+        for (var index = 0; index < length; index++) {
+            if (index > 0) {
+                out.append(',');
+            }
+            if (pretty) {
+                out.append('\n').append(state.indent);
             }
-            partial.add(strP);
-            index++;
+            if (!str(index, value, state)) {
+                out.append("null");
+            }
+            state.flushIfFull();
         }
 
-        var finalStr = new StringBuilder();
-        if (partial.isEmpty()) {
-            finalStr.append("[]");
-        } else {
-            if (state.gap.isEmpty()) {
-                var size = partial.size();
-                index = 0;
-                finalStr.append('[');
-                for (var str : partial) {
-                    finalStr.append(str);
-                    if (index < size - 1) {
-                        finalStr.append(',');
-                    }
-                    index++;
-                }
+        if (pretty && length > 0) {
+            out.append('\n').append(state.indent, 0, stepback);
+        }
+        out.append(']');
 
-                finalStr.append(']');
-            } else {
-                var size = partial.size();
-                index = 0;
-                finalStr.append("[\n");
-                finalStr.append(state.indent);
-                for (var str : partial) {
-                    finalStr.append(str);
-                    if (index < size - 1) {
-                        finalStr.append(",\n");
-                        finalStr.append(state.indent);
+        state.stack.remove(value);
+        state.indent.setLength(stepback);
+    }
+
+    private static String[] getOwnKeys(Object obj, StringifyState state) {
+        // the keys of an object without elements only depend on its map, unless the class adds keys of its own
+        if (obj instanceof ScriptObject && !(obj instanceof NativeString)) {
+            var sobj = (ScriptObject)obj;
+            if (sobj.getArray().length() == 0) {
+                var map = sobj.getMap();
+                if (map != state.lastMap) {
+                    var keys = state.ownKeys.get(map);
+                    if (keys == null) {
+                        keys = sobj.getOwnKeys(false);
+                        state.ownKeys.put(map, keys);
                     }
-                    index++;
+                    state.lastMap = map;
+                    state.lastKeys = keys;
                 }
-
-                finalStr.append('\n');
-                finalStr.append(stepback);
-                finalStr.append(']');
+                return state.lastKeys;
             }
         }
-
-        state.stack.remove(value);
-        state.indent = stepback;
-
-        return finalStr.toString();
+        return getOwnKeys(obj);
     }
 
     private static String[] getOwnKeys(Object obj) {
@@ -31,6 +31,7 @@ import nashorn.internal.objects.annotations.Constructor;
 import nashorn.internal.objects.annotations.Function;
 import nashorn.internal.objects.annotations.Getter;
 import nashorn.internal.objects.annotations.ScriptClass;
+import nashorn.internal.objects.annotations.SpecializedFunction;
 import nashorn.internal.objects.annotations.Where;
 import nashorn.internal.runtime.ConsString;
 import nashorn.internal.runtime.JSType;
@@ -99,6 +100,22 @@ public class NativeMap extends ScriptObject {
         return getNativeMap(self).map.has(convertKey(key));
     }
 
+    /**
+     * ECMA6 23.1.3.7 Map.prototype.has ( key ) - specialized version for int key
+     */
+    @SpecializedFunction
+    public static boolean has(Object self, int key) {
+        return getNativeMap(self).map.has(key);
+    }
+
+    /**
+     * ECMA6 23.1.3.7 Map.prototype.has ( key ) - specialized version for double key
+     */
+    @SpecializedFunction
+    public static boolean has(Object self, double key) {
+        return getNativeMap(self).map.has(key);
+    }
+
     /**
      * ECMA6 23.1.3.9 Map.prototype.set ( key , value )
      */
@@ -108,6 +125,24 @@ public class NativeMap extends ScriptObject {
         return self;
     }
 
+    /**
+     * ECMA6 23.1.3.9 Map.prototype.set ( key , value ) - specialized version for int key
+     */
+    @SpecializedFunction
+    public static Object set(Object self, int key, Object value) {
+        getNativeMap(self).map.set(key, value);
+        return self;
+    }
+
+    /**
+     * ECMA6 23.1.3.9 Map.prototype.set ( key , value ) - specialized version for double key
+     */
+    @SpecializedFunction
+    public static Object set(Object self, double key, Object value) {
+        getNativeMap(self).map.set(key, value);
+        return self;
+    }
+
     /**
      * ECMA6 23.1.3.6 Map.prototype.get ( key )
      */
@@ -116,6 +151,22 @@ public class NativeMap extends ScriptObject {
         return getNativeMap(self).map.get(convertKey(key));
     }
 
+    /**
+     * ECMA6 23.1.3.6 Map.prototype.get ( key ) - specialized version for int key
+     */
+    @SpecializedFunction
+    public static Object get(Object self, int key) {
+        return getNativeMap(self).map.get(key);
+    }
+
+    /**
+     * ECMA6 23.1.3.6 Map.prototype.get ( key ) - specialized version for double key
+     */
+    @SpecializedFunction
+    public static Object get(Object self, double key) {
+        return getNativeMap(self).map.get(key);
+    }
+
     /**
      * ECMA6 23.1.3.10 get Map.prototype.size
      */
@@ -167,13 +218,12 @@ public class NativeMap extends ScriptObject {
 
         var iterator = map.getJavaMap().getIterator();
         for (;;) {
-            var node = iterator.next();
-            if (node == null) {
+            if (!iterator.next()) {
                 break;
             }
 
             try {
-                var result = invoker.invokeExact(callbackFn, thisArg, node.getValue(), node.getKey(), self);
+                var result = invoker.invokeExact(callbackFn, thisArg, iterator.getValue(), iterator.getKey(), self);
             } catch (Throwable t) {
                 Util.uncheck(t);
             }
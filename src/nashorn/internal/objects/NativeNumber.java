@@ -40,11 +40,13 @@ import nashorn.internal.objects.annotations.Constructor;
 import nashorn.internal.objects.annotations.Function;
 import nashorn.internal.objects.annotations.Property;
 import nashorn.internal.objects.annotations.ScriptClass;
+import nashorn.internal.objects.annotations.SpecializedFunction;
 import nashorn.internal.objects.annotations.Where;
 import nashorn.internal.runtime.JSType;
 import nashorn.internal.runtime.PropertyMap;
 import nashorn.internal.runtime.ScriptObject;
 import nashorn.internal.runtime.ScriptRuntime;
+import nashorn.internal.runtime.doubleconv.DoubleConversion;
 import nashorn.internal.runtime.linker.NashornGuards;
 import nashorn.internal.runtime.linker.PrimitiveLookup;
 
@@ -171,6 +173,105 @@ public final class NativeNumber extends ScriptObject {
         return getNumberValue(self);
     }
 
+    /**
+     * ECMA 15.7.4.5 Number.prototype.toFixed (fractionDigits)
+     */
+    @Function(attributes = Attribute.NOT_ENUMERABLE)
+    public static String toFixed(Object self, Object fractionDigits) {
+        return toFixed(self, JSType.toInteger(fractionDigits));
+    }
+
+    /**
+     * ECMA 15.7.4.5 Number.prototype.toFixed (fractionDigits) specialized for int fractionDigits
+     */
+    @SpecializedFunction
+    public static String toFixed(Object self, int fractionDigits) {
+        if (fractionDigits < 0 || fractionDigits > 20) {
+            throw rangeError("invalid.fraction.digits", "toFixed");
+        }
+        return DoubleConversion.toFixed(getNumberValue(self), fractionDigits);
+    }
+
+    /**
+     * ECMA 15.7.4.5 Number.prototype.toFixed (fractionDigits) specialized for double fractionDigits
+     */
+    @SpecializedFunction
+    public static String toFixed(Object self, double fractionDigits) {
+        return toFixed(self, (int)fractionDigits);
+    }
+
+    /**
+     * ECMA 15.7.4.6 Number.prototype.toExponential (fractionDigits)
+     */
+    @Function(attributes = Attribute.NOT_ENUMERABLE)
+    public static String toExponential(Object self, Object fractionDigits) {
+        var x = getNumberValue(self);
+        return fractionDigits == UNDEFINED ? DoubleConversion.toExponential(x, -1) : toExponential(x, JSType.toInteger(fractionDigits));
+    }
+
+    /**
+     * ECMA 15.7.4.6 Number.prototype.toExponential (fractionDigits) specialized for int fractionDigits
+     */
+    @SpecializedFunction
+    public static String toExponential(Object self, int fractionDigits) {
+        return toExponential(getNumberValue(self), fractionDigits);
+    }
+
+    /**
+     * ECMA 15.7.4.6 Number.prototype.toExponential (fractionDigits) specialized for double fractionDigits
+     */
+    @SpecializedFunction
+    public static String toExponential(Object self, double fractionDigits) {
+        return toExponential(getNumberValue(self), (int)fractionDigits);
+    }
+
+    private static String toExponential(double x, int fractionDigits) {
+        // non-finite values are converted before the range check
+        if (!Double.isFinite(x)) {
+            return JSType.toString(x);
+        }
+        if (fractionDigits < 0 || fractionDigits > 20) {
+            throw rangeError("invalid.fraction.digits", "toExponential");
+        }
+        return DoubleConversion.toExponential(x, fractionDigits);
+    }
+
+    /**
+     * ECMA 15.7.4.7 Number.prototype.toPrecision (precision)
+     */
+    @Function(attributes = Attribute.NOT_ENUMERABLE)
+    public static String toPrecision(Object self, Object precision) {
+        var x = getNumberValue(self);
+        return precision == UNDEFINED ? JSType.toString(x) : toPrecision(x, JSType.toInteger(precision));
+    }
+
+    /**
+     * ECMA 15.7.4.7 Number.prototype.toPrecision (precision) specialized for int precision
+     */
+    @SpecializedFunction
+    public static String toPrecision(Object self, int precision) {
+        return toPrecision(getNumberValue(self), precision);
+    }
+
+    /**
+     * ECMA 15.7.4.7 Number.prototype.toPrecision (precision) specialized for double precision
+     */
+    @SpecializedFunction
+    public static String toPrecision(Object self, double precision) {
+        return toPrecision(getNumberValue(self), (int)precision);
+    }
+
+    private static String toPrecision(double x, int precision) {
+        // non-finite values are converted before the range check
+        if (!Double.isFinite(x)) {
+            return JSType.toString(x);
+        }
+        if (precision < 1 || precision > 21) {
+            throw rangeError("invalid.precision");
+        }
+        return DoubleConversion.toPrecision(x, precision);
+    }
+
     /**
      * Lookup the appropriate method for an invoke dynamic call.
      */
@@ -29,6 +29,7 @@ import java.lang.invoke.MethodHandle;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import java.util.concurrent.Callable;
 
@@ -49,6 +50,7 @@ import nashorn.internal.runtime.linker.Bootstrap;
 import nashorn.internal.runtime.regexp.RegExp;
 import nashorn.internal.runtime.regexp.RegExpFactory;
 import nashorn.internal.runtime.regexp.RegExpMatcher;
+import nashorn.internal.runtime.regexp.SimplePattern;
 import nashorn.internal.runtime.regexp.RegExpResult;
 import static nashorn.internal.runtime.ECMAErrors.typeError;
 import static nashorn.internal.runtime.ScriptRuntime.UNDEFINED;
@@ -536,6 +538,11 @@ public final class NativeRegExp extends ScriptObject {
      * For the "replacement text" parameter, you can use the keywords $1 to $2 to replace the original text with values from sub-patterns defined within the main pattern.
      */
     String replace(String string, String replacement, Object function) throws Throwable {
+        var simple = regexp.getSimplePattern();
+        if (simple != null && function == null && replacement.indexOf('$') < 0) {
+            return replaceSimple(string, replacement, simple);
+        }
+
         var matcher = regexp.match(string);
 
         if (matcher == null) {
@@ -597,6 +604,29 @@ public final class NativeRegExp extends ScriptObject {
         return sb.toString();
     }
 
+    // replace() for a literal or character class pattern and a replacement without '$' patterns
+    private String replaceSimple(String string, String replacement, SimplePattern pattern) {
+        var isGlobal = regexp.isGlobal();
+        if (isGlobal) {
+            setLastIndex(0);
+        }
+
+        var start = pattern.indexOf(string, 0);
+        if (start < 0) {
+            return string;
+        }
+
+        var sb = new StringBuilder(string.length());
+        var thisIndex = 0;
+        do {
+            sb.append(string, thisIndex, start).append(replacement);
+            thisIndex = pattern.end(string, start);
+        } while (isGlobal && (start = pattern.indexOf(string, thisIndex)) >= 0);
+
+        sb.append(string, thisIndex, string.length());
+        return sb.toString();
+    }
+
     private void appendReplacement(RegExpMatcher matcher, String text, String replacement, StringBuilder sb) {
         /*
          * Process substitution patterns:
@@ -706,6 +736,11 @@ public final class NativeRegExp extends ScriptObject {
             return new NativeArray();
         }
 
+        var simple = regexp.getSimplePattern();
+        if (simple != null) {
+            return splitSimple(string, limit, simple);
+        }
+
         var matches = new ArrayList<Object>();
 
         RegExpResult match;
@@ -757,6 +792,59 @@ public final class NativeRegExp extends ScriptObject {
         return new NativeArray(matches.toArray());
     }
 
+    // split() for a literal or character class pattern, which never matches the empty string and has no groups
+    private NativeArray splitSimple(String string, long limit, SimplePattern pattern) {
+        var matches = new ArrayList<Object>();
+        var lastIndex = 0;
+        var lastMatch = -1;
+
+        for (var start = pattern.indexOf(string, 0); start >= 0; start = pattern.indexOf(string, lastIndex)) {
+            matches.add(string.substring(lastIndex, start));
+            lastMatch = start;
+            lastIndex = pattern.end(string, start);
+            if (matches.size() >= limit) {
+                break;
+            }
+        }
+
+        if (lastMatch >= 0) {
+            globalObject.setLastRegExpResult(new RegExpResult(string, lastMatch, new Object[] { string.substring(lastMatch, lastIndex) }));
+        }
+        if (matches.size() < limit) {
+            matches.add(string.substring(lastIndex));
+        }
+
+        return new NativeArray(matches.toArray());
+    }
+
+    /**
+     * Collects the matched strings of a global String.prototype.match if this regexp is a literal or character class pattern.
+     * Returns {@code null} if the pattern is not simple, in which case the caller has to fall back to {@link #exec(String)}.
+     */
+    List<Object> matchSimple(String string) {
+        var pattern = regexp.getSimplePattern();
+        if (pattern == null) {
+            return null;
+        }
+
+        var matches = new ArrayList<Object>();
+        var lastMatch = -1;
+        var lastIndex = 0;
+
+        for (var start = pattern.indexOf(string, 0); start >= 0; start = pattern.indexOf(string, lastIndex)) {
+            lastMatch = start;
+            lastIndex = pattern.end(string, start);
+            matches.add(string.substring(start, lastIndex));
+        }
+
+        if (lastMatch >= 0) {
+            globalObject.setLastRegExpResult(new RegExpResult(string, lastMatch, new Object[] { matches.get(matches.size() - 1) }));
+        }
+        // the last exec() failed and reset lastIndex
+        setLastIndex(0);
+        return matches;
+    }
+
     /**
      * Tests for a match in a string.
      * It returns the index of the match, or -1 if not found.
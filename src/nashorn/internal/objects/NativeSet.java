@@ -31,6 +31,7 @@ import nashorn.internal.objects.annotations.Constructor;
 import nashorn.internal.objects.annotations.Function;
 import nashorn.internal.objects.annotations.Getter;
 import nashorn.internal.objects.annotations.ScriptClass;
+import nashorn.internal.objects.annotations.SpecializedFunction;
 import nashorn.internal.objects.annotations.Where;
 import nashorn.internal.runtime.PropertyMap;
 import nashorn.internal.runtime.ScriptObject;
@@ -82,6 +83,24 @@ public class NativeSet extends ScriptObject {
         return self;
     }
 
+    /**
+     * ECMA6 23.2.3.1 Set.prototype.add ( value ) - specialized version for int value
+     */
+    @SpecializedFunction
+    public static Object add(Object self, int value) {
+        getNativeSet(self).map.set(value, null);
+        return self;
+    }
+
+    /**
+     * ECMA6 23.2.3.1 Set.prototype.add ( value ) - specialized version for double value
+     */
+    @SpecializedFunction
+    public static Object add(Object self, double value) {
+        getNativeSet(self).map.set(value, null);
+        return self;
+    }
+
     /**
      * ECMA6 23.2.3.7 Set.prototype.has ( value )
      */
@@ -90,6 +109,22 @@ public class NativeSet extends ScriptObject {
         return getNativeSet(self).map.has(convertKey(value));
     }
 
+    /**
+     * ECMA6 23.2.3.7 Set.prototype.has ( value ) - specialized version for int value
+     */
+    @SpecializedFunction
+    public static boolean has(Object self, int value) {
+        return getNativeSet(self).map.has(value);
+    }
+
+    /**
+     * ECMA6 23.2.3.7 Set.prototype.has ( value ) - specialized version for double value
+     */
+    @SpecializedFunction
+    public static boolean has(Object self, double value) {
+        return getNativeSet(self).map.has(value);
+    }
+
     /**
      * ECMA6 23.2.3.2 Set.prototype.clear ( )
      */
@@ -160,13 +195,12 @@ public class NativeSet extends ScriptObject {
 
         var iterator = set.getJavaMap().getIterator();
         for (;;) {
-            var node = iterator.next();
-            if (node == null) {
+            if (!iterator.next()) {
                 break;
             }
 
             try {
-                var result = invoker.invokeExact(callbackFn, thisArg, node.getKey(), node.getKey(), self);
+                var result = invoker.invokeExact(callbackFn, thisArg, iterator.getKey(), iterator.getKey(), self);
             } catch (Throwable t) {
                 Util.uncheck(t);
             }
@@ -437,7 +437,7 @@ public final class NativeString extends ScriptObject implements OptimisticBuilti
      */
     @Function(attributes = Attribute.NOT_ENUMERABLE)
     public static String charAt(Object self, Object pos) {
-        return charAtImpl(checkObjectToString(self), JSType.toInteger(pos));
+        return charAtImpl(checkObjectToCharSequence(self), JSType.toInteger(pos));
     }
 
     /**
@@ -453,10 +453,10 @@ public final class NativeString extends ScriptObject implements OptimisticBuilti
      */
     @SpecializedFunction
     public static String charAt(Object self, int pos) {
-        return charAtImpl(checkObjectToString(self), pos);
+        return charAtImpl(checkObjectToCharSequence(self), pos);
     }
 
-    private static String charAtImpl(String str, int pos) {
+    private static String charAtImpl(CharSequence str, int pos) {
         return pos < 0 || pos >= str.length() ? "" : String.valueOf(str.charAt(pos));
     }
 
@@ -473,7 +473,7 @@ public final class NativeString extends ScriptObject implements OptimisticBuilti
      */
     @Function(attributes = Attribute.NOT_ENUMERABLE)
     public static double charCodeAt(Object self, Object pos) {
-        var str = checkObjectToString(self);
+        var str = checkObjectToCharSequence(self);
         var idx = JSType.toInteger(pos);
         return idx < 0 || idx >= str.length() ? Double.NaN : str.charAt(idx);
     }
@@ -604,16 +604,21 @@ public final class NativeString extends ScriptObject implements OptimisticBuilti
 
         nativeRegExp.setLastIndex(0);
 
-        var matches = new ArrayList<Object>();
+        // literal and character class patterns are scanned without a matcher or exec results
+        var matches = nativeRegExp.matchSimple(str);
+
+        if (matches == null) {
+            matches = new ArrayList<>();
 
-        Object result;
-        // We follow ECMAScript 6 spec here (checking for empty string instead of previous index) as the ES5 specification is buggy and causes empty strings to be matched twice.
-        while ((result = nativeRegExp.exec(str)) != null) {
-            var matchStr = JSType.toString(((ScriptObject)result).get(0));
-            if (matchStr.isEmpty()) {
-                nativeRegExp.setLastIndex(nativeRegExp.getLastIndex() + 1);
+            Object result;
+            // We follow ECMAScript 6 spec here (checking for empty string instead of previous index) as the ES5 specification is buggy and causes empty strings to be matched twice.
+            while ((result = nativeRegExp.exec(str)) != null) {
+                var matchStr = JSType.toString(((ScriptObject)result).get(0));
+                if (matchStr.isEmpty()) {
+                    nativeRegExp.setLastIndex(nativeRegExp.getLastIndex() + 1);
+                }
+                matches.add(matchStr);
             }
-            matches.add(matchStr);
         }
 
         if (matches.isEmpty()) {
@@ -663,7 +668,7 @@ public final class NativeString extends ScriptObject implements OptimisticBuilti
     @Function(attributes = Attribute.NOT_ENUMERABLE)
     public static String slice(Object self, Object start, Object end) {
 
-        var str = checkObjectToString(self);
+        var str = checkObjectToCharSequence(self);
         if (end == UNDEFINED) {
             return slice(str, JSType.toInteger(start));
         }
@@ -675,9 +680,9 @@ public final class NativeString extends ScriptObject implements OptimisticBuilti
      */
     @SpecializedFunction
     public static String slice(Object self, int start) {
-        var str = checkObjectToString(self);
+        var str = checkObjectToCharSequence(self);
         var from = start < 0 ? Math.max(str.length() + start, 0) : Math.min(start, str.length());
-        return str.substring(from);
+        return str.subSequence(from, str.length()).toString();
     }
 
     /**
@@ -694,13 +699,13 @@ public final class NativeString extends ScriptObject implements OptimisticBuilti
     @SpecializedFunction
     public static String slice(Object self, int start, int end) {
 
-        var str = checkObjectToString(self);
+        var str = checkObjectToCharSequence(self);
         var len    = str.length();
 
         var from = start < 0 ? Math.max(len + start, 0) : Math.min(start, len);
         var to   = end < 0   ? Math.max(len + end, 0)   : Math.min(end, len);
 
-        return str.substring(Math.min(from, to), to);
+        return str.subSequence(Math.min(from, to), to).toString();
     }
 
     /**
@@ -1049,6 +1054,13 @@ public final class NativeString extends ScriptObject implements OptimisticBuilti
         }
     }
 
+    /**
+     * Like {@link #checkObjectToString} but returns a {@link ConsString} unflattened, for indexed access and slicing.
+     */
+    private static CharSequence checkObjectToCharSequence(Object self) {
+        return self instanceof ConsString ? (ConsString)self : checkObjectToString(self);
+    }
+
     private boolean isValidStringIndex(int key) {
         return key >= 0 && key < value.length();
     }
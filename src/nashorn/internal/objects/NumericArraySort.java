@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.internal.objects;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Arrays;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.IntBinaryOperator;
+import java.util.regex.Pattern;
+
+import nashorn.internal.Util;
+import nashorn.internal.runtime.ScriptFunction;
+import nashorn.internal.runtime.arrays.ContinuousArrayData;
+
+/**
+ * Sorts int and number arrays for {@link NativeArray#sort} on primitive copies of their elements, which are written back in place.
+ *
+ * Comparators of the form {@code (a, b) => a - b} or {@code function(a, b) { return b - a; }} are recognized from their source and replaced by {@link Arrays#sort}.
+ * Other comparators are called with primitive arguments from a stable merge sort.
+ */
+final class NumericArraySort {
+
+    private NumericArraySort() {}
+
+    /** Arrays shorter than this are sorted by insertion. */
+    private static final int INSERTION_SORT_LENGTH = 16;
+
+    private static final Pattern SUBTRACTION = Pattern.compile(
+        "(?:function\\s*[\\w$]*\\s*)?\\(\\s*([\\w$]+)\\s*,\\s*([\\w$]+)\\s*\\)\\s*(?:=>\\s*(?:\\{\\s*return\\s+)?|\\{\\s*return\\s+)" +
+        "([\\w$]+)\\s*-\\s*([\\w$]+)\\s*;?\\s*\\}?");
+
+    private static final int NOT_SUBTRACTION = 0;
+    private static final int ASCENDING = 1;
+    private static final int DESCENDING = -1;
+
+    /**
+     * Returns {@link #ASCENDING} for {@code (a, b) => a - b}, {@link #DESCENDING} for {@code (a, b) => b - a}, or {@link #NOT_SUBTRACTION}.
+     */
+    private static int subtraction(Object cmp) {
+        if (!(cmp instanceof ScriptFunction)) {
+            return NOT_SUBTRACTION;
+        }
+        var m = SUBTRACTION.matcher(((ScriptFunction)cmp).toSource().strip());
+        if (!m.matches() || m.group(1).equals(m.group(2)) || !balanced(m.group())) {
+            return NOT_SUBTRACTION;
+        }
+        if (m.group(3).equals(m.group(1)) && m.group(4).equals(m.group(2))) {
+            return ASCENDING;
+        } else if (m.group(3).equals(m.group(2)) && m.group(4).equals(m.group(1))) {
+            return DESCENDING;
+        }
+        return NOT_SUBTRACTION;
+    }
+
+    private static boolean balanced(String source) {
+        return source.indexOf('{') < 0 ? source.indexOf('}') < 0 : source.endsWith("}") && source.indexOf('{') == source.lastIndexOf('{');
+    }
+
+    /**
+     * Sorts the first {@code length} elements of an int or number array, which has no holes.
+     * Returns false if the array has to be sorted as objects.
+     *
+     * @param array    the array
+     * @param length   the number of elements to sort
+     * @param cmp      the compare function, or {@code null} for the default order
+     * @param cmpThis  the {@code this} of the compare function
+     * @param callCmp  invoker of the compare function taking two doubles
+     */
+    static boolean sort(ContinuousArrayData array, int length, Object cmp, Object cmpThis, MethodHandle callCmp) {
+        var type = array.getElementType();
+        if (type == int.class) {
+            var elements = new int[length];
+            for (var i = 0; i < length; i++) {
+                elements[i] = array.getInt(i);
+            }
+            if (cmp == null) {
+                mergeSort(elements, NumericArraySort::compareDecimal);
+            } else {
+                var order = subtraction(cmp);
+                if (order != NOT_SUBTRACTION) {
+                    Arrays.sort(elements);
+                    if (order == DESCENDING) {
+                        reverse(elements);
+                    }
+                } else {
+                    mergeSort(elements, (x, y) -> compare(callCmp, cmp, cmpThis, x, y));
+                }
+            }
+            for (var i = 0; i < length; i++) {
+                array.set(i, elements[i]);
+            }
+            return true;
+        }
+        if (type == double.class && cmp != null) {
+            var elements = new double[length];
+            for (var i = 0; i < length; i++) {
+                elements[i] = array.getDouble(i);
+            }
+            var order = subtraction(cmp);
+            if (order != NOT_SUBTRACTION && isTotallyOrdered(elements)) {
+                Arrays.sort(elements);
+                if (order == DESCENDING) {
+                    reverse(elements);
+                }
+            } else {
+                mergeSort(elements, (x, y) -> compare(callCmp, cmp, cmpThis, x, y));
+            }
+            for (var i = 0; i < length; i++) {
+                array.set(i, elements[i]);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static int compare(MethodHandle callCmp, Object cmp, Object cmpThis, double x, double y) {
+        try {
+            var result = (double)callCmp.invokeExact(cmp, cmpThis, x, y);
+            return result < 0 ? -1 : result > 0 ? 1 : 0;
+        } catch (Throwable t) {
+            return Util.uncheck(t);
+        }
+    }
+
+    /**
+     * Returns true if {@code a - b} orders the elements the way {@link Arrays#sort(double[])} does, which is not the case for NaN and -0.
+     */
+    private static boolean isTotallyOrdered(double[] elements) {
+        for (var d : elements) {
+            if (d != d || (d == 0 && Double.doubleToRawLongBits(d) != 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares the decimal strings of two ints, the default sort order, without creating them.
+     */
+    private static int compareDecimal(int x, int y) {
+        if (x == y) {
+            return 0;
+        } else if ((x < 0) != (y < 0)) {
+            // '-' comes before the digits
+            return x < 0 ? -1 : 1;
+        }
+        // compare the digits after the sign, padding the shorter to the length of the longer
+        long a = Math.abs((long)x);
+        long b = Math.abs((long)y);
+        var da = digits(a);
+        var db = digits(b);
+        var pa = a;
+        var pb = b;
+        for (var i = da; i < db; i++) {
+            pa *= 10;
+        }
+        for (var i = db; i < da; i++) {
+            pb *= 10;
+        }
+        if (pa != pb) {
+            return pa < pb ? -1 : 1;
+        }
+        // one is a prefix of the other
+        return da < db ? -1 : 1;
+    }
+
+    private static int digits(long n) {
+        var digits = 1;
+        while (n >= 10) {
+            n /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private static void reverse(int[] a) {
+        for (int i = 0, j = a.length - 1; i < j; i++, j--) {
+            var t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    private static void reverse(double[] a) {
+        for (int i = 0, j = a.length - 1; i < j; i++, j--) {
+            var t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    private static void mergeSort(int[] a, IntBinaryOperator cmp) {
+        mergeSort(a, a.clone(), 0, a.length, cmp);
+    }
+
+    /** Sorts {@code a[from, to)} stably, using the same range of {@code aux} as scratch space. */
+    private static void mergeSort(int[] a, int[] aux, int from, int to, IntBinaryOperator cmp) {
+        if (to - from < INSERTION_SORT_LENGTH) {
+            for (var i = from + 1; i < to; i++) {
+                var x = a[i];
+                var j = i;
+                while (j > from && cmp.applyAsInt(a[j - 1], x) > 0) {
+                    a[j] = a[j - 1];
+                    j--;
+                }
+                a[j] = x;
+            }
+            return;
+        }
+        var mid = (from + to) >>> 1;
+        mergeSort(a, aux, from, mid, cmp);
+        mergeSort(a, aux, mid, to, cmp);
+        if (cmp.applyAsInt(a[mid - 1], a[mid]) <= 0) {
+            return;
+        }
+        System.arraycopy(a, from, aux, from, to - from);
+        for (int i = from, j = mid, k = from; k < to; k++) {
+            if (j >= to || (i < mid && cmp.applyAsInt(aux[i], aux[j]) <= 0)) {
+                a[k] = aux[i++];
+            } else {
+                a[k] = aux[j++];
+            }
+        }
+    }
+
+    private static void mergeSort(double[] a, DoubleBinaryOperator cmp) {
+        mergeSort(a, a.clone(), 0, a.length, cmp);
+    }
+
+    /** Sorts {@code a[from, to)} stably, using the same range of {@code aux} as scratch space. */
+    private static void mergeSort(double[] a, double[] aux, int from, int to, DoubleBinaryOperator cmp) {
+        if (to - from < INSERTION_SORT_LENGTH) {
+            for (var i = from + 1; i < to; i++) {
+                var x = a[i];
+                var j = i;
+                while (j > from && cmp.applyAsDouble(a[j - 1], x) > 0) {
+                    a[j] = a[j - 1];
+                    j--;
+                }
+                a[j] = x;
+            }
+            return;
+        }
+        var mid = (from + to) >>> 1;
+        mergeSort(a, aux, from, mid, cmp);
+        mergeSort(a, aux, mid, to, cmp);
+        if (cmp.applyAsDouble(a[mid - 1], a[mid]) <= 0) {
+            return;
+        }
+        System.arraycopy(a, from, aux, from, to - from);
+        for (int i = from, j = mid, k = from; k < to; k++) {
+            if (j >= to || (i < mid && cmp.applyAsDouble(aux[i], aux[j]) <= 0)) {
+                a[k] = aux[i++];
+            } else {
+                a[k] = aux[j++];
+            }
+        }
+    }
+
+}
@@ -78,19 +78,17 @@ public class SetIterator extends AbstractIterator {
             return makeResult(Undefined.getUndefined(), Boolean.TRUE, global);
         }
 
-        var node = iterator.next();
-
-        if (node == null) {
+        if (!iterator.next()) {
             iterator = null;
             return makeResult(Undefined.getUndefined(), Boolean.TRUE, global);
         }
 
         if (iterationKind == IterationKind.KEY_VALUE) {
-            var array = new NativeArray(new Object[] {node.getKey(), node.getKey()});
+            var array = new NativeArray(new Object[] {iterator.getKey(), iterator.getKey()});
             return makeResult(array, Boolean.FALSE, global);
         }
 
-        return makeResult(node.getKey(), Boolean.FALSE, global);
+        return makeResult(iterator.getKey(), Boolean.FALSE, global);
     }
 
 }
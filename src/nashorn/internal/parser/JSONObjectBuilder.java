@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.internal.parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import nashorn.internal.codegen.ObjectClassGenerator;
+import nashorn.internal.objects.Global;
+import nashorn.internal.runtime.Property;
+import nashorn.internal.runtime.PropertyMap;
+import nashorn.internal.runtime.ScriptObject;
+import nashorn.internal.runtime.SpillProperty;
+import nashorn.internal.runtime.arrays.ArrayData;
+import nashorn.internal.runtime.arrays.ArrayIndex;
+import nashorn.internal.scripts.JD;
+import nashorn.internal.scripts.JO;
+
+/**
+ * Creates the objects and arrays for the JSON parsers.
+ * <p>
+ * Object members are collected first and the script object is allocated once all of them are known.
+ * Its {@link PropertyMap} is looked up by member names in a {@link JSONShapeCache}, so objects with a recurring layout share one map,
+ * and is only built property by property on a miss.
+ * The member lists are pooled by nesting depth, so parsing a document only allocates as many of them as it is deep.
+ */
+final class JSONObjectBuilder {
+
+    private static final byte TYPE_OBJECT = 0;
+    private static final byte TYPE_INT    = 1;
+    private static final byte TYPE_DOUBLE = 2;
+
+    /**
+     * The members of an object being parsed.
+     */
+    static final class Members {
+        private Object[] keys = new Object[8];
+        private Object[] values = new Object[8];
+        private byte[] types;
+        private int count;
+        private int hash;
+
+        private void add(String key, Object value, byte type) {
+            if (count == keys.length) {
+                keys = Arrays.copyOf(keys, count * 2);
+                values = Arrays.copyOf(values, count * 2);
+                if (types != null) {
+                    types = Arrays.copyOf(types, count * 2);
+                }
+            }
+            keys[count] = key;
+            values[count] = value;
+            hash = 31 * hash + key.hashCode();
+            if (types != null) {
+                types[count] = type;
+                hash = 3 * hash + type;
+            }
+            count++;
+        }
+
+        private void clear() {
+            Arrays.fill(keys, 0, count, null);
+            Arrays.fill(values, 0, count, null);
+            count = 0;
+            hash = 0;
+        }
+    }
+
+    private final Global global;
+    private final boolean dualFields;
+    private final JSONShapeCache shapes;
+    private final List<Members> members = new ArrayList<>();
+    private int depth;
+
+    JSONObjectBuilder(Global global, boolean dualFields) {
+        this.global = global;
+        this.dualFields = dualFields;
+        this.shapes = global != null ? global.getJSONShapeCache() : new JSONShapeCache();
+    }
+
+    /**
+     * Start collecting the members of an object.
+     * Must be matched by a call to {@link #createObject(Members, ArrayData)}.
+     * @return an empty member list
+     */
+    Members beginObject() {
+        if (depth == members.size()) {
+            var m = new Members();
+            if (dualFields) {
+                m.types = new byte[m.keys.length];
+            }
+            members.add(m);
+        }
+        return members.get(depth++);
+    }
+
+    static ArrayData addArrayElement(ArrayData arrayData, int index, Object value) {
+        var oldLength = arrayData.length();
+        var longIndex = ArrayIndex.toLongIndex(index);
+        var newArrayData = arrayData;
+        if (longIndex >= oldLength) {
+            newArrayData = newArrayData.ensure(longIndex);
+            if (longIndex > oldLength) {
+                newArrayData = newArrayData.delete(oldLength, longIndex - 1);
+            }
+        }
+        return newArrayData.set(index, value); // false
+    }
+
+    static ArrayData appendArrayElement(ArrayData arrayData, Object value) {
+        var index = arrayData.length();
+        return arrayData.ensure(index).set((int) index, value); // true
+    }
+
+    void addObjectProperty(Members m, String id, Object value) {
+        m.add(id, value, dualFields ? getType(value) : TYPE_OBJECT);
+    }
+
+    ScriptObject createObject(Members m, ArrayData arrayData) {
+        var propertyMap = shapes.get(m.hash, m.keys, m.types, m.count);
+        if (propertyMap == null) {
+            propertyMap = buildMap(m);
+        }
+
+        var count = m.count;
+        var primitiveSpill = dualFields ? new long[count] : null;
+        var objectSpill = new Object[count];
+
+        // slots follow member order once the map is built
+        for (var i = 0; i < count; i++) {
+            if (!dualFields || m.types[i] == TYPE_OBJECT) {
+                objectSpill[i] = m.values[i];
+            } else {
+                primitiveSpill[i] = ObjectClassGenerator.pack((Number) m.values[i]);
+            }
+        }
+
+        var object = dualFields ? new JD(propertyMap, primitiveSpill, objectSpill) : new JO(propertyMap, null, objectSpill);
+        object.setInitialProto(global.getObjectPrototype());
+        object.setArray(arrayData);
+
+        m.clear();
+        depth--;
+        return object;
+    }
+
+    // build the map one property at a time, folding duplicate keys into their first slot
+    private PropertyMap buildMap(Members m) {
+        var propertyMap = dualFields ? JD.getInitialMap() : JO.getInitialMap();
+        var flags = dualFields ? Property.DUAL_FIELDS : 0;
+        var count = 0;
+
+        for (var i = 0; i < m.count; i++) {
+            var id = (String) m.keys[i];
+            var value = m.values[i];
+            var type = dualFields ? m.types[i] : TYPE_OBJECT;
+            var oldProperty = propertyMap.findProperty(id);
+            if (oldProperty != null) {
+                var slot = oldProperty.getSlot();
+                m.values[slot] = value;
+                if (dualFields) {
+                    m.types[slot] = type;
+                }
+                propertyMap = propertyMap.replaceProperty(oldProperty, new SpillProperty(id, flags, slot, getClass(type)));
+            } else {
+                m.keys[count] = id;
+                m.values[count] = value;
+                if (dualFields) {
+                    m.types[count] = type;
+                }
+                propertyMap = propertyMap.addProperty(new SpillProperty(id, flags, count, getClass(type)));
+                count++;
+            }
+        }
+
+        if (count == m.count) {
+            if (count <= JSONShapeCache.MAX_MEMBERS) {
+                shapes.put(m.hash, m.keys, m.types, count, propertyMap);
+            }
+        } else {
+            Arrays.fill(m.keys, count, m.count, null);
+            Arrays.fill(m.values, count, m.count, null);
+            m.count = count;
+        }
+        return propertyMap;
+    }
+
+    ScriptObject createArray(ArrayData arrayData) {
+        return (ScriptObject)global.wrapAsObject(arrayData);
+    }
+
+    private static byte getType(Object value) {
+        if (value instanceof Integer) {
+            return TYPE_INT;
+        } else if (value instanceof Double) {
+            return TYPE_DOUBLE;
+        } else {
+            return TYPE_OBJECT;
+        }
+    }
+
+    private static Class<?> getClass(byte type) {
+        return switch (type) {
+            case TYPE_INT    -> int.class;
+            case TYPE_DOUBLE -> double.class;
+            default          -> Object.class;
+        };
+    }
+
+}
@@ -25,24 +25,15 @@
 
 package nashorn.internal.parser;
 
-import java.util.ArrayList;
-import java.util.List;
-import nashorn.internal.codegen.ObjectClassGenerator;
 import nashorn.internal.objects.Global;
 import nashorn.internal.runtime.ECMAErrors;
 import nashorn.internal.runtime.ErrorManager;
 import nashorn.internal.runtime.JSErrorType;
 import nashorn.internal.runtime.JSType;
 import nashorn.internal.runtime.ParserException;
-import nashorn.internal.runtime.Property;
-import nashorn.internal.runtime.PropertyMap;
-import nashorn.internal.runtime.ScriptObject;
 import nashorn.internal.runtime.Source;
-import nashorn.internal.runtime.SpillProperty;
 import nashorn.internal.runtime.arrays.ArrayData;
 import nashorn.internal.runtime.arrays.ArrayIndex;
-import nashorn.internal.scripts.JD;
-import nashorn.internal.scripts.JO;
 
 import static nashorn.internal.parser.TokenType.STRING;
 
@@ -54,8 +45,7 @@ import static nashorn.internal.parser.TokenType.STRING;
 public class JSONParser {
 
     final private String source;
-    final private Global global;
-    final private boolean dualFields;
+    final private JSONObjectBuilder builder;
     final int length;
     int pos = 0;
 
@@ -77,9 +67,8 @@ public class JSONParser {
      */
     public JSONParser(String source, Global global, boolean dualFields) {
         this.source = source;
-        this.global = global;
+        this.builder = new JSONObjectBuilder(global, dualFields);
         this.length = source.length();
-        this.dualFields = dualFields;
     }
 
     /**
@@ -87,30 +76,42 @@ public class JSONParser {
      * It wraps a String value in double quotes and escapes characters within.
      */
     public static String quote(String value) {
+        return quote(new StringBuilder(value.length() + 2), value).toString();
+    }
 
-        var product = new StringBuilder();
-
-        product.append("\"");
-
-        for (var ch : value.toCharArray()) {
-            product.append( ch < ' '
-                ? Lexer.unicodeEscape(ch)
-                : switch(ch) {
-                    case '\\' -> "\\\\";
-                    case '"'  -> "\\\"";
+    /**
+     * Append a JSON-compatible quoted version of the given string.
+     * @param sb    the buffer to append to
+     * @param value string to quote
+     * @return the buffer
+     */
+    public static StringBuilder quote(StringBuilder sb, String value) {
+        sb.append('"');
+
+        var length = value.length();
+        var start = 0;
+        for (var i = 0; i < length; i++) {
+            var ch = value.charAt(i);
+            if (ch >= ' ' && ch != '\\' && ch != '"') {
+                continue;
+            }
+            sb.append(value, start, i);
+            start = i + 1;
+            sb.append( ch < ' '
+                ? switch(ch) {
                     case '\b' -> "\\b";
                     case '\f' -> "\\f";
                     case '\n' -> "\\n";
                     case '\r' -> "\\r";
                     case '\t' -> "\\t";
-                    default   -> ch;
+                    default   -> Lexer.unicodeEscape(ch);
                 }
+                : ch == '\\' ? "\\\\" : "\\\""
             );
         }
+        sb.append(value, start, length);
 
-        product.append("\"");
-
-        return product.toString();
+        return sb.append('"');
     }
 
     /**
@@ -154,9 +155,8 @@ public class JSONParser {
     }
 
     private Object parseObject() {
-        var propertyMap = dualFields ? JD.getInitialMap() : JO.getInitialMap();
         var arrayData = ArrayData.EMPTY_ARRAY;
-        var values = new ArrayList<Object>();
+        var members = builder.beginObject();
         int state = STATE_EMPTY;
 
         assert peek() == '{';
@@ -176,9 +176,9 @@ public class JSONParser {
                     var value = parseLiteral();
                     var index = ArrayIndex.getArrayIndex(id);
                     if (ArrayIndex.isValidArrayIndex(index)) {
-                        arrayData = addArrayElement(arrayData, index, value);
+                        arrayData = JSONObjectBuilder.addArrayElement(arrayData, index, value);
                     } else {
-                        propertyMap = addObjectProperty(propertyMap, values, id, value);
+                        builder.addObjectProperty(members, id, value);
                     }
                     state = STATE_ELEMENT_PARSED;
                 }
@@ -194,7 +194,7 @@ public class JSONParser {
                         throw error(AbstractParser.message("trailing.comma.in.json"), pos);
                     }
                     pos++;
-                    return createObject(propertyMap, values, arrayData);
+                    return builder.createObject(members, arrayData);
                 }
                 default -> {
                     throw expectedError(pos, ", or }", toString(c));
@@ -204,71 +204,6 @@ public class JSONParser {
         throw expectedError(pos, ", or }", "eof");
     }
 
-    private static ArrayData addArrayElement(ArrayData arrayData, int index, Object value) {
-        var oldLength = arrayData.length();
-        var longIndex = ArrayIndex.toLongIndex(index);
-        var newArrayData = arrayData;
-        if (longIndex >= oldLength) {
-            newArrayData = newArrayData.ensure(longIndex);
-            if (longIndex > oldLength) {
-                newArrayData = newArrayData.delete(oldLength, longIndex - 1);
-            }
-        }
-        return newArrayData.set(index, value); // false
-    }
-
-    private PropertyMap addObjectProperty(PropertyMap propertyMap, List<Object> values, String id, Object value) {
-        var oldProperty = propertyMap.findProperty(id);
-        PropertyMap newMap;
-        Class<?> type;
-        int flags;
-        if (dualFields) {
-            type = getType(value);
-            flags = Property.DUAL_FIELDS;
-        } else {
-            type = Object.class;
-            flags = 0;
-        }
-
-        if (oldProperty != null) {
-            values.set(oldProperty.getSlot(), value);
-            newMap = propertyMap.replaceProperty(oldProperty, new SpillProperty(id, flags, oldProperty.getSlot(), type));
-        } else {
-            values.add(value);
-            newMap = propertyMap.addProperty(new SpillProperty(id, flags, propertyMap.size(), type));
-        }
-
-        return newMap;
-    }
-
-    private Object createObject(PropertyMap propertyMap, List<Object> values, ArrayData arrayData) {
-        var primitiveSpill = dualFields ? new long[values.size()] : null;
-        var objectSpill = new Object[values.size()];
-
-        for (var property : propertyMap.getProperties()) {
-            if (!dualFields || property.getType() == Object.class) {
-                objectSpill[property.getSlot()] = values.get(property.getSlot());
-            } else {
-                primitiveSpill[property.getSlot()] = ObjectClassGenerator.pack((Number) values.get(property.getSlot()));
-            }
-        }
-
-        var object = dualFields ? new JD(propertyMap, primitiveSpill, objectSpill) : new JO(propertyMap, null, objectSpill);
-        object.setInitialProto(global.getObjectPrototype());
-        object.setArray(arrayData);
-        return object;
-    }
-
-    private static Class<?> getType(Object value) {
-        if (value instanceof Integer) {
-            return int.class;
-        } else if (value instanceof Double) {
-            return double.class;
-        } else {
-            return Object.class;
-        }
-    }
-
     private void expectColon() {
         skipWhiteSpace();
         var n = next();
@@ -301,14 +236,13 @@ public class JSONParser {
                         throw error(AbstractParser.message("trailing.comma.in.json"), pos);
                     }
                     pos++;
-                    return global.wrapAsObject(arrayData);
+                    return builder.createArray(arrayData);
                 }
                 default -> {
                     if (state == STATE_ELEMENT_PARSED) {
                         throw expectedError(pos, ", or ]", toString(c));
                     }
-                    var index = arrayData.length();
-                    arrayData = arrayData.ensure(index).set((int) index, parseLiteral()); // true
+                    arrayData = JSONObjectBuilder.appendArrayElement(arrayData, parseLiteral());
                     state = STATE_ELEMENT_PARSED;
                 }
             }
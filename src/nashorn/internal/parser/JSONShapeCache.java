@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.internal.parser;
+
+import java.util.Arrays;
+
+import nashorn.internal.runtime.PropertyMap;
+
+/**
+ * Maps the member names (and, with dual fields, member types) of parsed JSON objects to the {@link PropertyMap} built for them.
+ * <p>
+ * Objects with a layout seen before are allocated directly with the cached map instead of going through one map transition per member,
+ * and all of them share that map.
+ * The cache is direct mapped and holds only immutable entries, so it can be shared by parsers running on different threads without locking;
+ * a lost update only costs a rebuild of the map.
+ */
+public final class JSONShapeCache {
+
+    private static final int SIZE = 1024;
+
+    /** Objects with more members than this are not cached. */
+    static final int MAX_MEMBERS = 128;
+
+    private static final class Shape {
+        final int hash;
+        final String[] keys;
+        final byte[] types;
+        final PropertyMap map;
+
+        Shape(int hash, String[] keys, byte[] types, PropertyMap map) {
+            this.hash = hash;
+            this.keys = keys;
+            this.types = types;
+            this.map = map;
+        }
+    }
+
+    private final Shape[] shapes = new Shape[SIZE];
+
+    PropertyMap get(int hash, Object[] keys, byte[] types, int count) {
+        var shape = shapes[index(hash)];
+        if (shape == null || shape.hash != hash || shape.keys.length != count) {
+            return null;
+        }
+        for (var i = 0; i < count; i++) {
+            var key = shape.keys[i];
+            if (key != keys[i] && !key.equals(keys[i])) {
+                return null;
+            }
+            if (types != null && shape.types[i] != types[i]) {
+                return null;
+            }
+        }
+        return shape.map;
+    }
+
+    void put(int hash, Object[] keys, byte[] types, int count, PropertyMap map) {
+        var shapeKeys = new String[count];
+        System.arraycopy(keys, 0, shapeKeys, 0, count);
+        var shapeTypes = types == null ? null : Arrays.copyOf(types, count);
+        shapes[index(hash)] = new Shape(hash, shapeKeys, shapeTypes, map);
+    }
+
+    private static int index(int hash) {
+        return (hash ^ (hash >>> 16)) & (SIZE - 1);
+    }
+
+}
@@ -0,0 +1,546 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.internal.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.util.function.Consumer;
+
+import nashorn.internal.objects.Global;
+import nashorn.internal.runtime.ECMAErrors;
+import nashorn.internal.runtime.JSErrorType;
+import nashorn.internal.runtime.ParserException;
+import nashorn.internal.runtime.ScriptObject;
+import nashorn.internal.runtime.arrays.ArrayData;
+import nashorn.internal.runtime.arrays.ArrayIndex;
+
+/**
+ * Parses JSON text from a {@link Reader} or a {@link ByteBuffer} without first reading the whole text into a String.
+ * <p>
+ * The grammar and the resulting objects are the same as for {@link JSONParser}; the input is consumed through a fixed size character buffer.
+ * Property names that repeat, as they do in arrays of records, are shared through a small cache instead of being allocated for every occurrence.
+ * An optional completion hook is called with every object and array as soon as all of its members have been parsed, which lets a reviver run while parsing instead of in a second pass over the result.
+ */
+public class JSONStreamParser {
+
+    private static final int EOF = -1;
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int KEY_CACHE_SIZE = 256;
+
+    private static final int STATE_EMPTY          = 0;
+    private static final int STATE_ELEMENT_PARSED = 1;
+    private static final int STATE_COMMA_PARSED   = 2;
+
+    private final Reader reader;
+    private final ByteBuffer bytes;
+    private final CharsetDecoder decoder;
+    private boolean flushed;
+
+    private final char[] buf = new char[BUFFER_SIZE];
+    private final CharBuffer chars = CharBuffer.wrap(buf);
+    private int pos;
+    private int limit;
+    private boolean eof;
+
+    // characters consumed before buf[0], and position tracking for error messages
+    private long offset;
+    private int line = 1;
+    private long lineStart;
+
+    private final JSONObjectBuilder builder;
+    private final Consumer<ScriptObject> onComplete;
+
+    private final StringBuilder text = new StringBuilder();
+    private final String[] keys = new String[KEY_CACHE_SIZE];
+
+    /**
+     * Constructor for character input.
+     * @param reader     the JSON text
+     * @param global     the global object
+     * @param dualFields whether the parser should regard dual field representation
+     * @param onComplete called with each object and array once it is complete, or null
+     */
+    public JSONStreamParser(Reader reader, Global global, boolean dualFields, Consumer<ScriptObject> onComplete) {
+        this(reader, null, null, global, dualFields, onComplete);
+    }
+
+    /**
+     * Constructor for encoded input.
+     * The buffer is read from its position to its limit.
+     * @param bytes      the encoded JSON text
+     * @param charset    the encoding of the text
+     * @param global     the global object
+     * @param dualFields whether the parser should regard dual field representation
+     * @param onComplete called with each object and array once it is complete, or null
+     */
+    public JSONStreamParser(ByteBuffer bytes, Charset charset, Global global, boolean dualFields, Consumer<ScriptObject> onComplete) {
+        this(null, bytes, charset.newDecoder(), global, dualFields, onComplete);
+    }
+
+    private JSONStreamParser(Reader reader, ByteBuffer bytes, CharsetDecoder decoder, Global global, boolean dualFields, Consumer<ScriptObject> onComplete) {
+        this.reader = reader;
+        this.bytes = bytes;
+        this.decoder = decoder;
+        this.builder = new JSONObjectBuilder(global, dualFields);
+        this.onComplete = onComplete;
+    }
+
+    /**
+     * Parse the input into a JSON value.
+     * @return the parsed JSON value
+     * @throws IOException if the input can't be read or decoded
+     */
+    public Object parse() throws IOException {
+        var value = parseLiteral();
+        skipWhiteSpace();
+        var c = peek();
+        if (c != EOF) {
+            throw expectedError("eof", toString(c));
+        }
+        return value;
+    }
+
+    private Object parseLiteral() throws IOException {
+        skipWhiteSpace();
+
+        var c = peek();
+        return switch(c) {
+            case EOF -> throw expectedError("json literal", "eof");
+            case '{' -> parseObject();
+            case '[' -> parseArray();
+            case '"' -> parseString(false);
+            case 'f' -> parseKeyword("false", Boolean.FALSE);
+            case 't' -> parseKeyword("true", Boolean.TRUE);
+            case 'n' -> parseKeyword("null", null);
+            default  -> isDigit(c) || c == '-' ? parseNumber() : badLiteral(c);
+        };
+    }
+
+    private Object badLiteral(int c) {
+        if (c == '.') {
+            throw numberError();
+        } else {
+            throw expectedError("json literal", toString(c));
+        }
+    }
+
+    private Object parseObject() throws IOException {
+        var arrayData = ArrayData.EMPTY_ARRAY;
+        var members = builder.beginObject();
+        var state = STATE_EMPTY;
+
+        assert peek() == '{';
+        pos++;
+
+        while (true) {
+            skipWhiteSpace();
+            var c = peek();
+
+            switch (c) {
+                case '"' -> {
+                    if (state == STATE_ELEMENT_PARSED) {
+                        throw expectedError(", or }", toString(c));
+                    }
+                    var id = parseString(true);
+                    expectColon();
+                    var value = parseLiteral();
+                    var index = ArrayIndex.getArrayIndex(id);
+                    if (ArrayIndex.isValidArrayIndex(index)) {
+                        arrayData = JSONObjectBuilder.addArrayElement(arrayData, index, value);
+                    } else {
+                        builder.addObjectProperty(members, id, value);
+                    }
+                    state = STATE_ELEMENT_PARSED;
+                }
+                case ',' -> {
+                    if (state != STATE_ELEMENT_PARSED) {
+                        throw error(AbstractParser.message("trailing.comma.in.json"));
+                    }
+                    state = STATE_COMMA_PARSED;
+                    pos++;
+                }
+                case '}' -> {
+                    if (state == STATE_COMMA_PARSED) {
+                        throw error(AbstractParser.message("trailing.comma.in.json"));
+                    }
+                    pos++;
+                    return complete(builder.createObject(members, arrayData));
+                }
+                case EOF -> {
+                    throw expectedError(", or }", "eof");
+                }
+                default -> {
+                    throw expectedError(", or }", toString(c));
+                }
+            }
+        }
+    }
+
+    private void expectColon() throws IOException {
+        skipWhiteSpace();
+        var n = peek();
+        if (n != ':') {
+            throw expectedError(":", toString(n));
+        }
+        pos++;
+    }
+
+    private Object parseArray() throws IOException {
+        var arrayData = ArrayData.EMPTY_ARRAY;
+        var state = STATE_EMPTY;
+
+        assert peek() == '[';
+        pos++;
+
+        while (true) {
+            skipWhiteSpace();
+            var c = peek();
+
+            switch (c) {
+                case ',' -> {
+                    if (state != STATE_ELEMENT_PARSED) {
+                        throw error(AbstractParser.message("trailing.comma.in.json"));
+                    }
+                    state = STATE_COMMA_PARSED;
+                    pos++;
+                }
+                case ']' -> {
+                    if (state == STATE_COMMA_PARSED) {
+                        throw error(AbstractParser.message("trailing.comma.in.json"));
+                    }
+                    pos++;
+                    return complete(builder.createArray(arrayData));
+                }
+                case EOF -> {
+                    throw expectedError(", or ]", "eof");
+                }
+                default -> {
+                    if (state == STATE_ELEMENT_PARSED) {
+                        throw expectedError(", or ]", toString(c));
+                    }
+                    arrayData = JSONObjectBuilder.appendArrayElement(arrayData, parseLiteral());
+                    state = STATE_ELEMENT_PARSED;
+                }
+            }
+        }
+    }
+
+    private ScriptObject complete(ScriptObject obj) {
+        if (onComplete != null) {
+            onComplete.accept(obj);
+        }
+        return obj;
+    }
+
+    private String parseString(boolean isKey) throws IOException {
+        assert peek() == '"';
+        pos++;
+
+        // fast path: the whole string is in the buffer and has no escapes
+        var hash = 0;
+        for (var i = pos; i < limit; i++) {
+            var c = buf[i];
+            if (c == '"') {
+                var start = pos;
+                pos = i + 1;
+                return isKey ? key(start, i - start, hash) : new String(buf, start, i - start);
+            } else if (c == '\\' || c <= 0x1f) {
+                break;
+            }
+            hash = 31 * hash + c;
+        }
+
+        text.setLength(0);
+        while (true) {
+            var start = pos;
+            while (pos < limit) {
+                var c = buf[pos];
+                if (c == '"' || c == '\\' || c <= 0x1f) {
+                    break;
+                }
+                pos++;
+            }
+            text.append(buf, start, pos - start);
+            if (pos == limit) {
+                if (!fill()) {
+                    throw error(Lexer.message("missing.close.quote"));
+                }
+                continue;
+            }
+            var c = buf[pos++];
+            if (c == '"') {
+                return text.toString();
+            } else if (c == '\\') {
+                text.append(parseEscapeSequence());
+            } else {
+                // Characters < 0x1f are not allowed in JSON strings.
+                throw syntaxError("String contains control character");
+            }
+        }
+    }
+
+    // share the String for a property name seen before
+    private String key(int start, int len, int hash) {
+        var slot = (hash ^ (hash >>> 16)) & (KEY_CACHE_SIZE - 1);
+        var cached = keys[slot];
+        if (cached != null && cached.length() == len && cached.hashCode() == hash) {
+            var i = 0;
+            while (i < len && cached.charAt(i) == buf[start + i]) {
+                i++;
+            }
+            if (i == len) {
+                return cached;
+            }
+        }
+        var key = new String(buf, start, len);
+        keys[slot] = key;
+        return key;
+    }
+
+    private char parseEscapeSequence() throws IOException {
+        var c = next();
+        return switch (c) {
+            case '"'  -> '"';
+            case '\\' -> '\\';
+            case '/'  -> '/';
+            case 'b'  -> '\b';
+            case 'f'  -> '\f';
+            case 'n'  -> '\n';
+            case 'r'  -> '\r';
+            case 't'  -> '\t';
+            case 'u'  -> parseUnicodeEscape();
+            default   -> throw error(Lexer.message("invalid.escape.char"));
+        };
+    }
+
+    private char parseUnicodeEscape() throws IOException {
+        return (char) (parseHexDigit() << 12 | parseHexDigit() << 8 | parseHexDigit() << 4 | parseHexDigit());
+    }
+
+    private int parseHexDigit() throws IOException {
+        var c = next();
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        } else if (c >= 'A' && c <= 'F') {
+            return c + 10 - 'A';
+        } else if (c >= 'a' && c <= 'f') {
+            return c + 10 - 'a';
+        }
+        throw error(Lexer.message("invalid.hex"));
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // append digits to text, returning how many there were
+    private int appendDigits() throws IOException {
+        var count = 0;
+        for (var c = peek(); isDigit(c); c = peek()) {
+            text.append((char)c);
+            pos++;
+            count++;
+        }
+        return count;
+    }
+
+    private Number parseNumber() throws IOException {
+        text.setLength(0);
+        var c = next();
+
+        if (c == '-') {
+            text.append('-');
+            c = next();
+        }
+        if (!isDigit(c)) {
+            throw numberError();
+        }
+        text.append((char)c);
+        var digits = 1;
+        // no more digits allowed after 0
+        if (c != '0') {
+            digits += appendDigits();
+        }
+        var integral = true;
+
+        // fraction
+        if (peek() == '.') {
+            integral = false;
+            text.append('.');
+            pos++;
+            c = next();
+            if (!isDigit(c)) {
+                throw numberError();
+            }
+            text.append((char)c);
+            appendDigits();
+        }
+
+        // exponent
+        c = peek();
+        if (c == 'e' || c == 'E') {
+            integral = false;
+            text.append('e');
+            pos++;
+            c = next();
+            if (c == '-' || c == '+') {
+                text.append((char)c);
+                c = next();
+            }
+            if (!isDigit(c)) {
+                throw numberError();
+            }
+            text.append((char)c);
+            appendDigits();
+        }
+
+        // integers that fit in an int need no floating point parse
+        if (integral && digits <= 9) {
+            var value = 0;
+            var negative = text.charAt(0) == '-';
+            for (var i = negative ? 1 : 0; i < text.length(); i++) {
+                value = value * 10 + (text.charAt(i) - '0');
+            }
+            return negative ? -value : value;
+        }
+
+        var d = Double.parseDouble(text.toString());
+        if ((int)d == d) {
+            return (int) d;
+        }
+        return d;
+    }
+
+    private Object parseKeyword(String keyword, Object value) throws IOException {
+        for (var i = 0; i < keyword.length(); i++) {
+            if (peek() != keyword.charAt(i)) {
+                throw expectedError("json literal", "ident");
+            }
+            pos++;
+        }
+        return value;
+    }
+
+    private int peek() throws IOException {
+        if (pos < limit || fill()) {
+            return buf[pos];
+        }
+        return EOF;
+    }
+
+    private int next() throws IOException {
+        var next = peek();
+        pos++;
+        return next;
+    }
+
+    private void skipWhiteSpace() throws IOException {
+        while (pos < limit || fill()) {
+            switch (buf[pos]) {
+                case '\t', '\r', ' ' -> pos++;
+                case '\n' -> {
+                    pos++;
+                    line++;
+                    lineStart = offset + pos;
+                }
+                default -> { return; }
+            }
+        }
+    }
+
+    // read the next chunk of input once the buffer has been consumed
+    private boolean fill() throws IOException {
+        assert pos >= limit;
+        if (eof) {
+            return false;
+        }
+        offset += limit;
+        pos = 0;
+        limit = 0;
+
+        if (reader != null) {
+            int n;
+            do {
+                n = reader.read(buf, 0, buf.length);
+            } while (n == 0);
+            if (n > 0) {
+                limit = n;
+                return true;
+            }
+        } else {
+            chars.clear();
+            if (bytes.hasRemaining()) {
+                var result = decoder.decode(bytes, chars, true);
+                if (result.isError()) {
+                    result.throwException();
+                }
+            }
+            if (!bytes.hasRemaining() && !flushed) {
+                var result = decoder.flush(chars);
+                if (result.isError()) {
+                    result.throwException();
+                }
+                flushed = result.isUnderflow();
+            }
+            limit = chars.position();
+            if (limit > 0) {
+                return true;
+            }
+        }
+
+        eof = true;
+        return false;
+    }
+
+    private static String toString(int c) {
+        return c == EOF ? "eof" : String.valueOf((char) c);
+    }
+
+    private ParserException error(String message) {
+        var column = (int)(offset + pos - lineStart);
+        var formatted = "<json>:" + line + ':' + column + ' ' + message;
+        return new ParserException(JSErrorType.SYNTAX_ERROR, formatted, null, line, column, -1);
+    }
+
+    private ParserException numberError() {
+        return error(Lexer.message("json.invalid.number"));
+    }
+
+    private ParserException expectedError(String expected, String found) {
+        return error(AbstractParser.message("expected", expected, found));
+    }
+
+    private ParserException syntaxError(String reason) {
+        var message = ECMAErrors.getMessage("syntax.error.invalid.json", reason);
+        return error(message);
+    }
+
+}
@@ -75,12 +75,19 @@ public abstract class CodeStore implements Loggable {
      * @return The instance, or null if code store could not be created
      */
     public static CodeStore newCodeStore(Context context) {
+        var env = context.getEnv();
         try {
-            var store = new DirectoryCodeStore(context);
+            if (env._compile_archive != null) {
+                return new MappedCodeStore(context, new File(env._compile_archive), false);
+            }
+            if (env._code_cache_archive != null) {
+                return new MappedCodeStore(context, new File(env._code_cache_archive), true);
+            }
+            var store = "mapped".equals(Options.getStringProperty("nashorn.persistent.code.cache.impl", "directory")) ? new MappedCodeStore(context) : new DirectoryCodeStore(context);
             store.initLogger(context);
             return store;
         } catch (IOException e) {
-            context.getLogger(CodeStore.class).warning("failed to create cache directory ", e);
+            context.getLogger(CodeStore.class).warning("failed to create code cache ", e);
             return null;
         }
     }
@@ -191,7 +198,7 @@ public abstract class CodeStore implements Loggable {
             this.minSize = minSize;
         }
 
-        private static File checkDirectory(String path, ScriptEnvironment env, boolean readOnly) throws IOException {
+        static File checkDirectory(String path, ScriptEnvironment env, boolean readOnly) throws IOException {
             try {
                 return AccessController.doPrivileged((PrivilegedExceptionAction<File>) () -> {
                     java.io.File dir1 = new File(path, getVersionDir(env)).getAbsoluteFile();
@@ -215,7 +222,7 @@ public abstract class CodeStore implements Loggable {
             }
         }
 
-        private static String getVersionDir(ScriptEnvironment env) throws IOException {
+        static String getVersionDir(ScriptEnvironment env) throws IOException {
             try {
                 var versionDir = OptimisticTypesPersistence.getVersionDirName();
                 return env._optimistic_types ? versionDir + "_opt" : versionDir;
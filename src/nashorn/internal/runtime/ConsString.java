@@ -27,22 +27,65 @@ package nashorn.internal.runtime;
 
 import static nashorn.internal.runtime.JSType.isString;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * This class represents a string composed of two parts which may themselves be instances of <code>ConsString</code> or {@link String}.
  * Copying of characters to a proper string is delayed until it becomes necessary.
+ *
+ * ConsStrings form a rope: when a rope grows deeper than {@link #MAX_DEPTH}, the parts that were appended or prepended since it was last balanced
+ * are collected into larger leaves and joined into a balanced tree, so that {@link #charAt} and {@link #subSequence} on long ropes take O(log n) steps
+ * instead of copying the whole string.
+ * Flattening does not take a lock; threads racing to flatten the same rope compute equal strings and one of them is kept.
+ *
+ * A rope that keeps being appended to switches to an accumulator: its characters are copied once into a growable buffer,
+ * and each further append writes into that buffer as long as it extends the latest string stored there.
+ * Earlier strings share the buffer and only see their own prefix of it.
  */
 public final class ConsString implements CharSequence {
 
+    /** Ropes deeper than this are rebalanced when they are created. */
+    private static final int MAX_DEPTH = 48;
+
+    /** Adjacent short strings are joined up to this length when a rope is rebalanced. */
+    private static final int LEAF_LENGTH = 256;
+
+    /** Ropes up to this length are flattened on first indexed access. */
+    private static final int FLATTEN_LENGTH = 1024;
+
+    /** Number of indexed accesses after which a longer rope is flattened. */
+    private static final int ACCESS_THRESHOLD = 32;
+
+    /** Number of times a nested rope is traversed by other ropes being flattened before it is flattened itself. */
+    private static final int NESTED_THRESHOLD = 2;
+
+    /** Depth of a chain of appends after which further appends go to an accumulator buffer. */
+    private static final int ACCUMULATE_DEPTH = 8;
+
+    // both parts are cleared with release stores after flat is set, so readers that find either of them null through left() or right() see flat or buffer
     private CharSequence left, right;
+    private final Buffer buffer;
     private final int length;
-    private volatile int state = STATE_NEW;
+    private final int depth;
+    private final boolean balanced;
+    private volatile String flat;
+    private int accesses;
 
-    private final static int STATE_NEW       =  0;
-    private final static int STATE_THRESHOLD =  2;
-    private final static int STATE_FLATTENED = -1;
+    private static final VarHandle LEFT, RIGHT;
+
+    static {
+        try {
+            var lookup = MethodHandles.lookup();
+            LEFT = lookup.findVarHandle(ConsString.class, "left", CharSequence.class);
+            RIGHT = lookup.findVarHandle(ConsString.class, "right", CharSequence.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
 
     /**
      * Constructor
@@ -53,17 +96,59 @@ public final class ConsString implements CharSequence {
     public ConsString(CharSequence left, CharSequence right) {
         assert isString(left);
         assert isString(right);
-        this.left = left;
-        this.right = right;
         length = left.length() + right.length();
         if (length < 0) {
             throw new IllegalArgumentException("too big concatenated String");
         }
+        buffer = accumulate(left, right);
+        if (buffer != null) {
+            depth = 0;
+            balanced = true;
+            return;
+        }
+        var leftDepth = depth(left);
+        var rightDepth = depth(right);
+        if (Math.max(leftDepth, rightDepth) < MAX_DEPTH) {
+            this.left = left;
+            this.right = right;
+            depth = Math.max(leftDepth, rightDepth) + 1;
+            balanced = Math.abs(leftDepth - rightDepth) <= 1 && isBalanced(left) && isBalanced(right);
+            return;
+        }
+        var parts = new ArrayList<CharSequence>();
+        collect(left, parts);
+        collect(right, parts);
+        var rope = build(parts, 0, parts.size());
+        CharSequence l = rope, r = "";
+        if (rope instanceof ConsString) {
+            var cons = (ConsString) rope;
+            var cl = cons.left();
+            var cr = cons.right();
+            if (cl != null && cr != null) {
+                l = cl;
+                r = cr;
+            } else {
+                l = cons.buffer != null ? cons : cons.flat;
+            }
+        }
+        this.left = l;
+        this.right = r;
+        depth = Math.max(depth(l), depth(r)) + 1;
+        balanced = true;
+    }
+
+    private ConsString(CharSequence left, CharSequence right, int depth) {
+        this.left = left;
+        this.right = right;
+        this.buffer = null;
+        this.length = left.length() + right.length();
+        this.depth = depth;
+        this.balanced = true;
     }
 
     @Override
     public String toString() {
-        return (String) flattened(true);
+        return flatten();
     }
 
     @Override
@@ -73,12 +158,54 @@ public final class ConsString implements CharSequence {
 
     @Override
     public char charAt(int index) {
-        return flattened(true).charAt(index);
+        if (buffer != null) {
+            return buffer.charAt(index, length);
+        }
+        var str = flat;
+        if (str != null) {
+            return str.charAt(index);
+        }
+        if (length <= FLATTEN_LENGTH || ++accesses > ACCESS_THRESHOLD) {
+            return flatten().charAt(index);
+        }
+        if (index < 0 || index >= length) {
+            throw new StringIndexOutOfBoundsException(index);
+        }
+        CharSequence cs = this;
+        while (cs instanceof ConsString) {
+            var cons = (ConsString) cs;
+            var l = cons.left();
+            var r = cons.right();
+            if (l == null || r == null) {
+                if (cons.buffer != null) {
+                    return cons.buffer.charAt(index, cons.length);
+                }
+                cs = cons.flat;
+                break;
+            }
+            var leftLength = l.length();
+            if (index < leftLength) {
+                cs = l;
+            } else {
+                cs = r;
+                index -= leftLength;
+            }
+        }
+        return cs.charAt(index);
     }
 
     @Override
     public CharSequence subSequence(int start, int end) {
-        return flattened(true).subSequence(start, end);
+        var str = flat;
+        if (str != null) {
+            return str.substring(start, end);
+        }
+        if (start < 0 || end > length || start > end) {
+            throw new StringIndexOutOfBoundsException("begin " + start + ", end " + end + ", length " + length);
+        }
+        var sb = new StringBuilder(end - start);
+        append(sb, this, start, end, false);
+        return sb.toString();
     }
 
     /**
@@ -86,49 +213,274 @@ public final class ConsString implements CharSequence {
      * The elements will be either {@code Strings} or other {@code ConsStrings}.
      * @return CharSequence array of length 2
      */
-    public synchronized CharSequence[] getComponents() {
-        return new CharSequence[] { left, right };
-    }
-
-    private CharSequence flattened(boolean flattenNested) {
-        if (state != STATE_FLATTENED) {
-            flatten(flattenNested);
-        }
-        return left;
-    }
-
-    private synchronized void flatten(boolean flattenNested) {
-        // We use iterative traversal as recursion may exceed the stack size limit.
-        var chars = new char[length];
-        var pos = length;
-        // Strings are most often composed by appending to the end, which causes ConsStrings to be very unbalanced, with mostly single string elements on the right and a long linear list on the left.
-        // Traversing from right to left helps to keep the stack small in this scenario.
-        var stack = new ArrayDeque<CharSequence>();
-        stack.addFirst(left);
-        var cs = right;
-
-        do {
-            if (cs instanceof ConsString) {
-                var cons = (ConsString) cs;
-                // Count the times a cons-string is traversed as part of other cons-strings being flattened.
-                // If it crosses a threshold we flatten the nested cons-string internally.
-                if (cons.state == STATE_FLATTENED || (flattenNested && ++cons.state >= STATE_THRESHOLD)) {
-                    cs = cons.flattened(false);
+    public CharSequence[] getComponents() {
+        var l = left();
+        var r = right();
+        return l == null || r == null ? new CharSequence[] { flatten(), "" } : new CharSequence[] { l, r };
+    }
+
+    private String flatten() {
+        var str = flat;
+        if (str == null) {
+            if (buffer != null) {
+                str = buffer.toString(length);
+                flat = str;
+                return str;
+            }
+            var l = left();
+            var r = right();
+            if (l == null || r == null) {
+                // another thread flattened it, the acquire loads of the parts make its flat visible
+                str = flat;
+                assert str != null;
+                return str;
+            }
+            // the builder keeps Latin-1 contents in a byte[] so flattening such ropes copies one byte per character
+            var sb = new StringBuilder(length);
+            append(sb, l, 0, l.length(), true);
+            append(sb, r, 0, r.length(), true);
+            str = sb.toString();
+            flat = str;
+            LEFT.setRelease(this, null);
+            RIGHT.setRelease(this, null);
+        }
+        return str;
+    }
+
+    private CharSequence left() {
+        return (CharSequence) LEFT.getAcquire(this);
+    }
+
+    private CharSequence right() {
+        return (CharSequence) RIGHT.getAcquire(this);
+    }
+
+    /**
+     * Appends the characters from {@code start} to {@code end} of {@code cs} to {@code sb}.
+     * If {@code flattenNested} is set, ropes that are traversed often as part of other ropes are flattened on the way.
+     */
+    private static void append(StringBuilder sb, CharSequence cs, int start, int end, boolean flattenNested) {
+        // recursion is bounded by the rope depth, the right part is handled iteratively
+        while (start < end) {
+            if (!(cs instanceof ConsString)) {
+                sb.append(cs, start, end);
+                return;
+            }
+            var cons = (ConsString) cs;
+            var l = cons.left();
+            var r = cons.right();
+            if (l == null || r == null) {
+                if (cons.buffer != null) {
+                    cons.buffer.appendTo(sb, start, end);
                 } else {
-                    stack.addFirst(cons.left);
-                    cs = cons.right;
+                    sb.append(cons.flat, start, end);
                 }
-            } else {
-                var str = (String) cs;
-                pos -= str.length();
-                str.getChars(0, str.length(), chars, pos);
-                cs = stack.isEmpty() ? null : stack.pollFirst();
+                return;
+            }
+            if (flattenNested && ++cons.accesses >= NESTED_THRESHOLD) {
+                sb.append(cons.flatten(), start, end);
+                return;
+            }
+            var leftLength = l.length();
+            if (start < leftLength) {
+                append(sb, l, start, Math.min(end, leftLength), flattenNested);
+            }
+            cs = r;
+            start = Math.max(start - leftLength, 0);
+            end -= leftLength;
+        }
+    }
+
+    /**
+     * Appends {@code right} to the buffer of {@code left} if {@code left} is the latest string accumulated there,
+     * or starts a buffer if {@code left} is a long chain of appends.
+     * Returns the buffer holding the concatenation, or {@code null} if it has to be a rope node.
+     */
+    private static Buffer accumulate(CharSequence left, CharSequence right) {
+        if (!(left instanceof ConsString) || right.length() == 0) {
+            return null;
+        }
+        var cons = (ConsString) left;
+        if (cons.buffer != null) {
+            return cons.buffer.append(cons.length, right) ? cons.buffer : null;
+        }
+        if (cons.depth < ACCUMULATE_DEPTH || cons.balanced) {
+            return null;
+        }
+        var buffer = new Buffer(cons.toString(), right.length());
+        buffer.append(cons.length, right);
+        return buffer;
+    }
+
+    private static int depth(CharSequence cs) {
+        return cs instanceof ConsString ? ((ConsString) cs).depth : 0;
+    }
+
+    private static boolean isBalanced(CharSequence cs) {
+        return !(cs instanceof ConsString) || ((ConsString) cs).balanced;
+    }
+
+    /**
+     * Collects the balanced parts of a rope, joining adjacent short strings.
+     */
+    private static void collect(CharSequence cs, List<CharSequence> parts) {
+        if (cs.length() == 0) {
+            return;
+        }
+        if (cs instanceof ConsString) {
+            var cons = (ConsString) cs;
+            var l = cons.left();
+            var r = cons.right();
+            if (l == null || r == null) {
+                if (cons.buffer == null) {
+                    cs = cons.flat;
+                }
+            } else if (!cons.balanced && cons.length > LEAF_LENGTH) {
+                collect(l, parts);
+                collect(r, parts);
+                return;
             }
-        } while (cs != null);
+        }
+        if (cs.length() <= LEAF_LENGTH) {
+            var last = parts.isEmpty() ? null : parts.get(parts.size() - 1);
+            if (last != null && last.length() + cs.length() <= LEAF_LENGTH) {
+                parts.set(parts.size() - 1, last.toString().concat(cs.toString()));
+                return;
+            }
+            cs = cs.toString();
+        }
+        parts.add(cs);
+    }
+
+    /**
+     * Builds a balanced rope from {@code parts[from, to)}.
+     */
+    private static CharSequence build(List<CharSequence> parts, int from, int to) {
+        if (to - from == 1) {
+            return parts.get(from);
+        }
+        if (to == from) {
+            return "";
+        }
+        var mid = (from + to) >>> 1;
+        return join(build(parts, from, mid), build(parts, mid, to));
+    }
+
+    /**
+     * Concatenates two balanced ropes into a balanced rope, rebuilding only the edge of the deeper one.
+     */
+    private static CharSequence join(CharSequence a, CharSequence b) {
+        var depthA = depth(a);
+        var depthB = depth(b);
+        if (depthA > depthB + 1) {
+            var cons = (ConsString) a;
+            var l = cons.left();
+            var r = cons.right();
+            if (l != null && r != null) {
+                return balance(l, join(r, b));
+            }
+        } else if (depthB > depthA + 1) {
+            var cons = (ConsString) b;
+            var l = cons.left();
+            var r = cons.right();
+            if (l != null && r != null) {
+                return balance(join(a, l), r);
+            }
+        }
+        return node(a, b);
+    }
 
-        left = new String(chars);
-        right = "";
-        state = STATE_FLATTENED;
+    /**
+     * Creates a node for two balanced ropes whose depths differ by at most two, rotating it if they differ by two.
+     */
+    private static CharSequence balance(CharSequence l, CharSequence r) {
+        var leftDepth = depth(l);
+        var rightDepth = depth(r);
+        if (leftDepth > rightDepth + 1) {
+            var cons = (ConsString) l;
+            var ll = cons.left();
+            var lr = cons.right();
+            if (ll != null && lr != null) {
+                if (depth(lr) <= depth(ll)) {
+                    return node(ll, node(lr, r));
+                }
+                var inner = (ConsString) lr;
+                var a = inner.left();
+                var b = inner.right();
+                if (a != null && b != null) {
+                    return node(node(ll, a), node(b, r));
+                }
+            }
+        } else if (rightDepth > leftDepth + 1) {
+            var cons = (ConsString) r;
+            var rl = cons.left();
+            var rr = cons.right();
+            if (rl != null && rr != null) {
+                if (depth(rl) <= depth(rr)) {
+                    return node(node(l, rl), rr);
+                }
+                var inner = (ConsString) rl;
+                var a = inner.left();
+                var b = inner.right();
+                if (a != null && b != null) {
+                    return node(node(l, a), node(b, rr));
+                }
+            }
+        }
+        return node(l, r);
+    }
+
+    private static ConsString node(CharSequence l, CharSequence r) {
+        return new ConsString(l, r, Math.max(depth(l), depth(r)) + 1);
+    }
+
+    /**
+     * Growable character buffer shared by the strings of an accumulator.
+     * Characters below its length are never changed, so readers of a prefix need no lock.
+     */
+    private static final class Buffer {
+        private volatile char[] chars;
+        private int length;
+
+        Buffer(String initial, int extra) {
+            chars = new char[(int) Math.max(initial.length() + extra, Math.min(Math.max(16L, 2L * (initial.length() + extra)), Integer.MAX_VALUE - 8))];
+            initial.getChars(0, initial.length(), chars, 0);
+            length = initial.length();
+        }
+
+        /**
+         * Appends {@code cs} if the buffer still ends at {@code expected}.
+         */
+        synchronized boolean append(int expected, CharSequence cs) {
+            if (length != expected) {
+                return false;
+            }
+            var str = cs.toString();
+            var newLength = length + str.length();
+            var c = chars;
+            if (newLength > c.length) {
+                c = Arrays.copyOf(c, (int) Math.max(newLength, Math.min(2L * c.length, Integer.MAX_VALUE - 8)));
+            }
+            str.getChars(0, str.length(), c, length);
+            length = newLength;
+            chars = c;
+            return true;
+        }
+
+        char charAt(int index, int end) {
+            if (index < 0 || index >= end) {
+                throw new StringIndexOutOfBoundsException(index);
+            }
+            return chars[index];
+        }
+
+        void appendTo(StringBuilder sb, int start, int end) {
+            sb.append(chars, start, end - start);
+        }
+
+        String toString(int end) {
+            return new String(chars, 0, end);
+        }
     }
 
-}
+}
\ No newline at end of file
@@ -1106,6 +1106,15 @@ public final class Context {
         return fromClass(clazz).dynamicLinker;
     }
 
+    /**
+     * Returns true if dynamic call sites linked for the specified class are profiled.
+     * @param clazz the class for which call sites are linked.
+     * @return true if the context of the class has call site profiling enabled.
+     */
+    public static boolean profileCallSites(Class<?> clazz) {
+        return fromClass(clazz).env._profile_callsites;
+    }
+
     /**
      * Gets the Nashorn dynamic linker associated with the current context.
      */
@@ -1326,6 +1335,42 @@ public final class Context {
         return script;
     }
 
+    /**
+     * Compiles a script eagerly and stores it in the code store without running it, see {@code --compile-archive}.
+     * Unlike {@link #compileScript(Source)}, this can be called from several threads at once, each with its own global.
+     * @param source the source to compile
+     * @param errMan the error manager to report errors to
+     * @return true if the script was compiled without errors
+     */
+    public boolean compileToCodeStore(Source source, ErrorManager errMan) {
+        if (codeStore == null) {
+            throw new IllegalStateException("no code store");
+        }
+        var functionNode = new Parser(env, source, errMan, getLogger(Parser.class)).parse();
+        if (errMan.hasErrors()) {
+            return false;
+        }
+        var installer = new NamedContextCodeInstaller(this, new CodeSource(source.getURL(), (CodeSigner[])null), createNewLoader());
+        var compiler = Compiler.forInitialCompilation(installer, source, errMan);
+        var compiledFunction = compiler.compile(functionNode, Compiler.CompilationPhases.COMPILE_ALL);
+        if (errMan.hasErrors()) {
+            return false;
+        }
+        compiler.persistClassInfo(CodeStore.getCacheKey("script", null), compiledFunction);
+        return true;
+    }
+
+    /**
+     * Replaces the archive named by {@code --compile-archive} with the scripts compiled by {@link #compileToCodeStore(Source, ErrorManager)}.
+     * @throws IOException if the archive could not be written
+     */
+    public void saveArchive() throws IOException {
+        if (!(codeStore instanceof MappedCodeStore)) {
+            throw new IllegalStateException("no code archive");
+        }
+        ((MappedCodeStore) codeStore).saveArchive();
+    }
+
     private ScriptLoader createNewLoader() {
         return AccessController.doPrivileged((PrivilegedAction<ScriptLoader>) () ->
             new ScriptLoader(Context.this), CREATE_LOADER_ACC_CTXT);
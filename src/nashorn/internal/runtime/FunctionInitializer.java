@@ -75,6 +75,16 @@ public final class FunctionInitializer implements Serializable {
         assert className != null;
     }
 
+    /**
+     * Constructor for initializers read back from a {@link CodeStore}.
+     */
+    FunctionInitializer(String className, MethodType methodType, int flags, Map<Integer, Type> invalidatedProgramPoints) {
+        this.className = className;
+        this.methodType = methodType;
+        this.flags = flags;
+        this.invalidatedProgramPoints = invalidatedProgramPoints;
+    }
+
     /**
      * Returns the name of the class implementing the function.
      */
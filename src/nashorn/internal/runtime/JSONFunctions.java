@@ -25,12 +25,20 @@
 
 package nashorn.internal.runtime;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.lang.invoke.MethodHandle;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 
 import nashorn.internal.Util;
 import nashorn.internal.objects.Global;
 import nashorn.internal.parser.JSONParser;
+import nashorn.internal.parser.JSONStreamParser;
 import nashorn.internal.runtime.arrays.ArrayIndex;
 import nashorn.internal.runtime.linker.Bootstrap;
 
@@ -61,6 +69,16 @@ public final class JSONFunctions {
         return JSONParser.quote(str);
     }
 
+    /**
+     * Appends JSON-compatible quoted version of the given string.
+     * @param sb  buffer to append to
+     * @param str String to be quoted
+     * @return the buffer
+     */
+    public static StringBuilder quote(StringBuilder sb, String str) {
+        return JSONParser.quote(sb, str);
+    }
+
     /**
      * Parses the given JSON text string and returns object representation.
      * @param text JSON text to be parsed
@@ -83,6 +101,50 @@ public final class JSONFunctions {
         return applyReviver(global, value, reviver);
     }
 
+    /**
+     * Parses JSON text read from the given source and returns object representation.
+     * <p>
+     * A {@link Reader}, an {@link InputStream} or a {@link ByteBuffer} is read incrementally, the latter two as UTF-8;
+     * any other source is converted to a string and parsed as by {@link #parse(Object, Object)}.
+     * The reviver, if any, is applied to the members of each object or array as soon as it has been parsed,
+     * so it sees the same holders, keys and values as with {@code parse}, but calls for sibling subtrees may come in a different order.
+     * @param source JSON text to be parsed
+     * @param reviver  optional value: function that takes two parameters (key, value)
+     * @return Object representation of JSON text given
+     * @throws IOException if the source can't be read
+     */
+    public static Object parseStream(Object source, Object reviver) throws IOException {
+        var global = Context.getGlobal();
+        var dualFields = ((ScriptObject) global).useDualFields();
+        var callable = Bootstrap.isCallable(reviver);
+        Consumer<ScriptObject> onComplete = callable ? obj -> reviveMembers(obj, reviver, false) : null;
+
+        JSONStreamParser parser;
+        if (source instanceof Reader) {
+            parser = new JSONStreamParser((Reader) source, global, dualFields, onComplete);
+        } else if (source instanceof InputStream) {
+            parser = new JSONStreamParser(new InputStreamReader((InputStream) source, StandardCharsets.UTF_8), global, dualFields, onComplete);
+        } else if (source instanceof ByteBuffer) {
+            parser = new JSONStreamParser(((ByteBuffer) source).duplicate(), StandardCharsets.UTF_8, global, dualFields, onComplete);
+        } else {
+            return parse(source, reviver);
+        }
+
+        Object value;
+        try {
+            value = parser.parse();
+        } catch (ParserException e) {
+            throw ECMAErrors.syntaxError(e, "invalid.json", e.getMessage());
+        }
+
+        if (callable) {
+            var root = global.newObject();
+            root.addOwnProperty("", Property.WRITABLE_ENUMERABLE_CONFIGURABLE, value);
+            return revive(root, "", value, reviver);
+        }
+        return value;
+    }
+
     // -- Internals only below this point
 
     // parse helpers
@@ -101,33 +163,41 @@ public final class JSONFunctions {
     private static Object walk(ScriptObject holder, Object name, Object reviver) {
         var val = holder.get(name);
         if (val instanceof ScriptObject) {
-            var valueObj = (ScriptObject)val;
-            if (valueObj.isArray()) {
-                var length = JSType.toInteger(valueObj.getLength());
-                for (var i = 0; i < length; i++) {
-                    var key = Integer.toString(i);
-                    var newElement = walk(valueObj, key, reviver);
-
-                    if (newElement == ScriptRuntime.UNDEFINED) {
-                        valueObj.delete(i); // false
-                    } else {
-                        setPropertyValue(valueObj, key, newElement);
-                    }
+            reviveMembers((ScriptObject)val, reviver, true);
+        }
+        return revive(holder, name, val, reviver);
+    }
+
+    // replace the members of the given object by their revived values, walking nested values first if 'deep'
+    private static void reviveMembers(ScriptObject valueObj, Object reviver, boolean deep) {
+        if (valueObj.isArray()) {
+            var length = JSType.toInteger(valueObj.getLength());
+            for (var i = 0; i < length; i++) {
+                var key = Integer.toString(i);
+                var newElement = deep ? walk(valueObj, key, reviver) : revive(valueObj, key, valueObj.get(key), reviver);
+
+                if (newElement == ScriptRuntime.UNDEFINED) {
+                    valueObj.delete(i); // false
+                } else {
+                    setPropertyValue(valueObj, key, newElement);
                 }
-            } else {
-                var keys = valueObj.getOwnKeys(false);
-                for (var key : keys) {
-                    var newElement = walk(valueObj, key, reviver);
-
-                    if (newElement == ScriptRuntime.UNDEFINED) {
-                        valueObj.delete(key); // false
-                    } else {
-                        setPropertyValue(valueObj, key, newElement);
-                    }
+            }
+        } else {
+            var keys = valueObj.getOwnKeys(false);
+            for (var key : keys) {
+                var newElement = deep ? walk(valueObj, key, reviver) : revive(valueObj, key, valueObj.get(key), reviver);
+
+                if (newElement == ScriptRuntime.UNDEFINED) {
+                    valueObj.delete(key); // false
+                } else {
+                    setPropertyValue(valueObj, key, newElement);
                 }
             }
         }
+    }
 
+    // call 'reviver' for one member of holder
+    private static Object revive(ScriptObject holder, Object name, Object val, Object reviver) {
         try {
              // Object.class, ScriptFunction.class, ScriptObject.class, String.class, Object.class);
              return getREVIVER_INVOKER().invokeExact(reviver, (Object)holder, JSType.toString(name), val);
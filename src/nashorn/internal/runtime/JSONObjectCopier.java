@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.internal.runtime;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import nashorn.api.scripting.ScriptObjectMirror;
+import nashorn.internal.objects.NativeBoolean;
+import nashorn.internal.objects.NativeNumber;
+import nashorn.internal.objects.NativeString;
+import static nashorn.internal.runtime.ECMAErrors.typeError;
+
+/**
+ * Copies a script object graph into plain Java collections in one pass.
+ * <p>
+ * Objects become {@link LinkedHashMap}s of their own enumerable properties, arrays become {@link ArrayList}s,
+ * and strings, numbers and booleans (including their wrapper objects) become their Java counterparts.
+ * As with JSON.stringify, members whose value is undefined or a function are left out of maps and are {@code null} in lists.
+ * An object reached more than once is copied once and shared; a cycle is a TypeError.
+ * <p>
+ * The copy is made without switching globals, so the caller must already be running in the home global of the graph.
+ */
+public final class JSONObjectCopier {
+
+    private static final Object IN_PROGRESS = new Object();
+
+    // objects being copied, or already copied, and their copies
+    private final Map<ScriptObject, Object> copies = new IdentityHashMap<>();
+
+    private JSONObjectCopier() {}
+
+    /**
+     * Copy the given value.
+     * @param value a script value or mirror
+     * @return the copy, or {@code null} for undefined and functions
+     */
+    public static Object copy(Object value) {
+        var copy = new JSONObjectCopier().copyValue(value);
+        return copy == ScriptRuntime.UNDEFINED ? null : copy;
+    }
+
+    // returns UNDEFINED for values that have no JSON representation
+    private Object copyValue(Object value) {
+        if (value == null || value instanceof String || value instanceof Integer || value instanceof Double || value instanceof Boolean) {
+            return value;
+        } else if (value instanceof ConsString) {
+            return value.toString();
+        } else if (value instanceof ScriptObjectMirror || value instanceof JSONListAdapter) {
+            // mirrors of objects from other globals are left as they are
+            var unwrapped = ScriptObjectMirror.unwrap(value, Context.getGlobal());
+            return unwrapped != value ? copyValue(unwrapped) : value;
+        } else if (value instanceof ScriptObject) {
+            return copyObject((ScriptObject)value);
+        }
+        return value;
+    }
+
+    private Object copyObject(ScriptObject sobj) {
+        if (sobj instanceof NativeNumber) {
+            return ((NativeNumber)sobj).getValue();
+        } else if (sobj instanceof NativeString) {
+            return JSType.toString(sobj);
+        } else if (sobj instanceof NativeBoolean) {
+            return ((NativeBoolean)sobj).booleanValue();
+        } else if (sobj instanceof ScriptFunction) {
+            return ScriptRuntime.UNDEFINED;
+        }
+
+        var copy = copies.get(sobj);
+        if (copy == IN_PROGRESS) {
+            throw typeError("JSON.copy.cyclic");
+        } else if (copy != null) {
+            return copy;
+        }
+
+        copies.put(sobj, IN_PROGRESS);
+        copy = sobj.isArray() ? copyArray(sobj) : copyMembers(sobj);
+        copies.put(sobj, copy);
+        return copy;
+    }
+
+    private List<Object> copyArray(ScriptObject sobj) {
+        var array = sobj.getArray();
+        var length = JSType.toInteger(sobj.getLength());
+        var list = new ArrayList<Object>(length);
+
+        for (var i = 0; i < length; i++) {
+            // holes are looked up through the prototype chain
+            var element = copyValue(array.has(i) ? array.getObject(i) : sobj.get(i));
+            list.add(element == ScriptRuntime.UNDEFINED ? null : element);
+        }
+        return list;
+    }
+
+    private Map<String, Object> copyMembers(ScriptObject sobj) {
+        var map = new LinkedHashMap<String, Object>();
+
+        for (var iter = sobj.getArray().indexIterator(); iter.hasNext(); ) {
+            var index = iter.next().longValue();
+            put(map, JSType.toString(index), sobj.get((double)index));
+        }
+
+        // read the properties directly rather than looking each key up again
+        for (var property : sobj.getMap().getProperties()) {
+            if (property.isEnumerable() && property.getKey() instanceof String) {
+                put(map, (String)property.getKey(), property.getObjectValue(sobj, sobj));
+            }
+        }
+        return map;
+    }
+
+    private void put(Map<String, Object> map, String key, Object value) {
+        var copy = copyValue(value);
+        if (copy != ScriptRuntime.UNDEFINED) {
+            map.put(key, copy);
+        }
+    }
+
+}
@@ -45,6 +45,7 @@ import nashorn.internal.objects.Global;
 import nashorn.internal.objects.NativeSymbol;
 import nashorn.internal.parser.Lexer;
 import nashorn.internal.runtime.arrays.ArrayLikeIterator;
+import nashorn.internal.runtime.doubleconv.DoubleConversion;
 import nashorn.internal.runtime.linker.Bootstrap;
 
 /**
@@ -610,7 +611,22 @@ public enum JSType {
         if (Double.isNaN(num)) {
             return "NaN";
         }
-        return Double.toString(num); // DoubleConversion.toShortestString(num);
+        return DoubleConversion.toShortestString(num);
+    }
+
+    /**
+     * JavaScript compliant conversion of number to String, appended to a StringBuilder without creating an intermediate String
+     * See ECMA 9.8.1
+     * @param sb  the destination
+     * @param num a number
+     * @return the destination
+     */
+    public static StringBuilder toString(StringBuilder sb, double num) {
+        if (isRepresentableAsInt(num)) {
+            return sb.append((int)num);
+        }
+        DoubleConversion.toShortestString(num, sb);
+        return sb;
     }
 
     /**
@@ -0,0 +1,671 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.internal.runtime;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.AccessController;
+import java.security.PrivilegedActionException;
+import java.security.PrivilegedExceptionAction;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+import nashorn.internal.codegen.types.Type;
+import nashorn.internal.runtime.options.Options;
+
+/**
+ * A code store keeping all scripts in a single memory-mapped file, installed with {@code -Dnashorn.persistent.code.cache.impl=mapped}.
+ *
+ * The file starts with a header holding the committed end of the file, followed by records of the form
+ * {@code [int length][int crc][utf key][script]} where the key is the source digest and function key.
+ * Records are only appended, under a file lock and a lock shared by all stores of this process on the same file, and become visible when the header is updated after the record is written;
+ * a later record for the same key replaces the earlier one in the index.
+ * Scripts are written with a compact binary encoding; only constants that are not strings, numbers or booleans go through serialization.
+ * When more than half of the file is taken by replaced records, it is compacted when the store is opened.
+ * The compacted file is moved in place of the old one, whose header is then marked as replaced so that stores still using it reopen the file.
+ *
+ * The same format is used for the archives built with {@code --compile-archive} and mounted with {@code --code-cache-archive};
+ * as archives are not kept in a versioned directory, their keys start with the version directory name instead.
+ * An archive is built from scratch in a temporary file, which only replaces the archive once all scripts have been compiled.
+ */
+public class MappedCodeStore extends CodeStore {
+
+    private static final int MAGIC = 0x4E534331; // "NSC1"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int END_OFFSET = 8;
+    /** Committed end of a file that has been replaced by a compacted copy. */
+    private static final long REPLACED = -1;
+
+    /** Replaced records are only compacted away if they take more than this many bytes. */
+    private static final long COMPACT_MIN_SIZE = 1 << 20;
+
+    // Default minimum size for storing a compiled script class
+    private final static int DEFAULT_MIN_SIZE = 1000;
+
+    /** Locks for the files in use, as a file lock cannot be taken twice from the same process. */
+    private static final ConcurrentMap<Path, ReentrantLock> PROCESS_LOCKS = new ConcurrentHashMap<>();
+
+    private static final byte NULL = 0, LATIN1 = 1, UTF16 = 2, INTEGER = 3, DOUBLE = 4, LONG = 5, TRUE = 6, FALSE = 7, OBJECT = 8;
+
+    private final File file;
+    private final String keyPrefix;
+    private final boolean readOnly;
+    private final int minSize;
+    /** The archive being built, or null. */
+    private File archive;
+
+    private ReentrantLock processLock;
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    /** Offsets of the latest record for each key. */
+    private final Map<String, Long> index = new HashMap<>();
+    /** End of the records read into the index. */
+    private long end;
+    /** Bytes taken by records that have been replaced. */
+    private long deadBytes;
+
+    /**
+     * Constructor
+     * @param context the current context
+     * @throws IOException if there are read/write problems with the cache file
+     */
+    public MappedCodeStore(Context context) throws IOException {
+        this(context, Options.getStringProperty("nashorn.persistent.code.cache", "nashorn_code_cache"), false, DEFAULT_MIN_SIZE);
+    }
+
+    /**
+     * Constructor
+     * @param context the current context
+     * @param path    directory to keep the cache file in
+     * @param readOnly is this a read only code store
+     * @param minSize minimum file size for caching scripts
+     * @throws IOException if there are read/write problems with the cache file
+     */
+    public MappedCodeStore(Context context, String path, boolean readOnly, int minSize) throws IOException {
+        this(context, new File(DirectoryCodeStore.checkDirectory(path, context.getEnv(), readOnly), "scripts.cache"), "", readOnly, minSize);
+    }
+
+    /**
+     * Constructor for a code cache archive.
+     * @param context the current context
+     * @param archive the archive file
+     * @param readOnly true to read the archive, false to build a new one that replaces it on {@link #saveArchive()}
+     * @throws IOException if there are read/write problems with the archive
+     */
+    public MappedCodeStore(Context context, File archive, boolean readOnly) throws IOException {
+        this(context, readOnly ? archive.getAbsoluteFile() : newArchiveFile(archive.getAbsoluteFile()), DirectoryCodeStore.getVersionDir(context.getEnv()) + '/', readOnly, 0);
+        if (!readOnly) {
+            this.archive = archive.getAbsoluteFile();
+        }
+    }
+
+    /**
+     * Returns an empty temporary file next to {@code archive} to build it in.
+     */
+    private static File newArchiveFile(File archive) throws IOException {
+        var tmp = new File(archive.getPath() + ".tmp");
+        try {
+            AccessController.doPrivileged((PrivilegedExceptionAction<Void>) () -> {
+                // left over from a failed build
+                Files.deleteIfExists(tmp.toPath());
+                return null;
+            });
+        } catch (PrivilegedActionException e) {
+            throw (IOException) e.getException();
+        }
+        return tmp;
+    }
+
+    /**
+     * Moves the archive built by this store in place of the previous one, after which the store can no longer be used.
+     * @throws IOException if the archive could not be written
+     */
+    public synchronized void saveArchive() throws IOException {
+        if (archive == null) {
+            throw new IllegalStateException("Not building an archive");
+        }
+        try {
+            AccessController.doPrivileged((PrivilegedExceptionAction<Void>) () -> {
+                channel.force(true);
+                channel.close();
+                Files.move(file.toPath(), archive.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                return null;
+            });
+        } catch (PrivilegedActionException e) {
+            throw (IOException) e.getException();
+        }
+        getLogger().info("saved ", archive);
+    }
+
+    private MappedCodeStore(Context context, File file, String keyPrefix, boolean readOnly, int minSize) throws IOException {
+        this.file = file;
+        this.keyPrefix = keyPrefix;
+        this.readOnly = readOnly;
+        this.minSize = minSize;
+        initLogger(context);
+        try {
+            AccessController.doPrivileged((PrivilegedExceptionAction<Void>) () -> {
+                processLock = PROCESS_LOCKS.computeIfAbsent(file.getCanonicalFile().toPath(), p -> new ReentrantLock());
+                open();
+                if (!readOnly && deadBytes > COMPACT_MIN_SIZE && deadBytes > end / 2) {
+                    try {
+                        compact();
+                    } catch (IOException e) {
+                        getLogger().warning("failed to compact ", file, ": ", e);
+                    }
+                }
+                return null;
+            });
+        } catch (PrivilegedActionException | RuntimeException e) {
+            if (channel != null) {
+                channel.close();
+            }
+            throw e instanceof PrivilegedActionException ? (IOException) ((PrivilegedActionException) e).getException() : new IOException(e);
+        }
+    }
+
+    private void open() throws IOException {
+        for (;;) {
+            if (readOnly) {
+                channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            } else {
+                channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+                var lock = lock();
+                try {
+                    if (channel.size() < HEADER_SIZE) {
+                        var header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).putLong(HEADER_SIZE).flip();
+                        writeFully(header, 0);
+                    }
+                } finally {
+                    unlock(lock);
+                }
+            }
+            var header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(header, 0);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException("Not a code cache file: " + file.getPath());
+            }
+            if (header.getLong(END_OFFSET) != REPLACED) {
+                index.clear();
+                end = HEADER_SIZE;
+                deadBytes = 0;
+                mapped = null;
+                scan(header.getLong(END_OFFSET));
+                return;
+            }
+            // compacted after it was opened, the new file is already in place
+            channel.close();
+        }
+    }
+
+    private void reopen() throws IOException {
+        channel.close();
+        open();
+    }
+
+    /**
+     * Reads the records committed by other stores, reopening the file if it has been replaced by a compaction.
+     */
+    private void refresh() throws IOException {
+        var committed = readCommitted();
+        if (committed == REPLACED) {
+            reopen();
+        } else {
+            scan(committed);
+        }
+    }
+
+    /**
+     * Reads the records up to {@code committed} into the index.
+     */
+    private void scan(long committed) throws IOException {
+        if (committed <= end) {
+            return;
+        }
+        if (committed > Integer.MAX_VALUE) {
+            throw new IOException("Code cache file too large: " + file.getPath());
+        }
+        var buffer = map(committed);
+        var pos = end;
+        while (pos + 8 <= committed) {
+            var length = buffer.getInt((int) pos);
+            if (length < 2 || pos + 8 + length > committed) {
+                // a torn record, ignore the rest of the file
+                getLogger().warning("corrupt record in ", file, " at ", pos);
+                break;
+            }
+            var key = readKey(buffer, (int) pos + 8);
+            var previous = index.put(key, pos);
+            if (previous != null) {
+                deadBytes += 8 + buffer.getInt(previous.intValue());
+            }
+            pos += 8 + length;
+        }
+        // the next record overwrites anything that could not be read
+        end = pos;
+    }
+
+    private MappedByteBuffer map(long size) throws IOException {
+        if (mapped == null || mapped.capacity() < size) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        return mapped;
+    }
+
+    private long readCommitted() throws IOException {
+        var header = ByteBuffer.allocate(8);
+        readFully(header, END_OFFSET);
+        return header.getLong(0);
+    }
+
+    @Override
+    public synchronized StoredScript load(Source source, String functionKey) {
+        if (belowThreshold(source)) {
+            return null;
+        }
+        var key = getKey(source, functionKey);
+        try {
+            return AccessController.doPrivileged((PrivilegedExceptionAction<StoredScript>) () -> {
+                var offset = index.get(key);
+                if (offset == null) {
+                    // pick up records appended by other processes
+                    refresh();
+                    offset = index.get(key);
+                    if (offset == null) {
+                        return null;
+                    }
+                }
+                var record = record(offset);
+                if (record == null) {
+                    getLogger().warning("corrupt record for ", source, "-", functionKey);
+                    return null;
+                }
+                var storedScript = decode(record);
+                getLogger().info("loaded ", source, "-", functionKey);
+                return storedScript;
+            });
+        } catch (PrivilegedActionException | RuntimeException e) {
+            getLogger().warning("failed to load ", source, "-", functionKey, ": ", e instanceof PrivilegedActionException ? ((PrivilegedActionException) e).getException() : e);
+            return null;
+        }
+    }
+
+    @Override
+    public synchronized StoredScript store(String functionKey, Source source, StoredScript script) {
+        if (readOnly || script == null || belowThreshold(source)) {
+            return null;
+        }
+        var key = getKey(source, functionKey);
+        try {
+            return AccessController.doPrivileged((PrivilegedExceptionAction<StoredScript>) () -> {
+                var body = new ByteArrayOutputStream(1024);
+                var out = new DataOutputStream(body);
+                out.writeUTF(key);
+                encode(script, out);
+                out.flush();
+                var bytes = body.toByteArray();
+                var crc = new CRC32();
+                crc.update(bytes);
+                var record = ByteBuffer.allocate(8 + bytes.length).putInt(bytes.length).putInt((int) crc.getValue()).put(bytes).flip();
+
+                var lock = lockCurrent();
+                try {
+                    var pos = end;
+                    if (pos + record.remaining() > Integer.MAX_VALUE) {
+                        throw new IOException("Code cache file too large: " + file.getPath());
+                    }
+                    writeFully(record, pos);
+                    // the record only becomes part of the file once the header points past it
+                    writeFully(ByteBuffer.allocate(8).putLong(0, pos + 8 + bytes.length), END_OFFSET);
+                    var previous = index.put(key, pos);
+                    if (previous != null) {
+                        deadBytes += 8 + map(end).getInt(previous.intValue());
+                    }
+                    end = pos + 8 + bytes.length;
+                } finally {
+                    unlock(lock);
+                }
+                getLogger().info("stored ", source, "-", functionKey);
+                return script;
+            });
+        } catch (PrivilegedActionException | RuntimeException e) {
+            getLogger().warning("failed to store ", script, "-", functionKey, ": ", e instanceof PrivilegedActionException ? ((PrivilegedActionException) e).getException() : e);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the checked body of the record at {@code offset}, or {@code null} if its checksum does not match.
+     */
+    private ByteBuffer record(long offset) throws IOException {
+        var buffer = map(end);
+        var length = buffer.getInt((int) offset);
+        var body = buffer.duplicate().position((int) offset + 8).limit((int) offset + 8 + length).slice();
+        var crc = new CRC32();
+        crc.update(body.duplicate());
+        return (int) crc.getValue() == buffer.getInt((int) offset + 4) ? body : null;
+    }
+
+    /**
+     * Rewrites the file with only the latest record for each key.
+     */
+    private void compact() throws IOException {
+        var tmp = new File(file.getPath() + ".tmp");
+        var lock = lockCurrent();
+        try {
+            var buffer = map(end);
+            var offsets = new ArrayList<>(index.values());
+            offsets.sort(null);
+            try (var out = FileChannel.open(tmp.toPath(), StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                var pos = (long) HEADER_SIZE;
+                for (var offset : offsets) {
+                    var length = 8 + buffer.getInt(offset.intValue());
+                    var record = buffer.duplicate().position(offset.intValue()).limit(offset.intValue() + length);
+                    while (record.hasRemaining()) {
+                        pos += out.write(record, pos);
+                    }
+                }
+                var header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).putLong(pos).flip();
+                while (header.hasRemaining()) {
+                    out.write(header, header.position());
+                }
+                out.force(true);
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // stores that still have the old file open find this once they get the lock or look for new records
+            writeFully(ByteBuffer.allocate(8).putLong(0, REPLACED), END_OFFSET);
+        } finally {
+            unlock(lock);
+        }
+        getLogger().info("compacted ", file, " removing ", deadBytes, " bytes");
+        reopen();
+    }
+
+    /**
+     * Locks the file against other processes and, through the process lock, against other stores of this process.
+     */
+    private FileLock lock() throws IOException {
+        processLock.lock();
+        try {
+            return channel.lock();
+        } catch (IOException | RuntimeException e) {
+            processLock.unlock();
+            throw e;
+        }
+    }
+
+    /**
+     * Locks the file like {@link #lock()}, reopening it while it has been replaced by a compaction, and reads the records committed so far.
+     */
+    private FileLock lockCurrent() throws IOException {
+        for (;;) {
+            var lock = lock();
+            try {
+                var committed = readCommitted();
+                if (committed != REPLACED) {
+                    scan(committed);
+                    return lock;
+                }
+            } catch (IOException | RuntimeException e) {
+                unlock(lock);
+                throw e;
+            }
+            unlock(lock);
+            reopen();
+        }
+    }
+
+    private void unlock(FileLock lock) throws IOException {
+        try {
+            lock.release();
+        } finally {
+            processLock.unlock();
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of code cache file: " + file.getPath());
+            }
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        var start = buffer.position();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position() - start);
+        }
+    }
+
+    private String getKey(Source source, String functionKey) {
+        return keyPrefix + source.getDigest() + '-' + functionKey;
+    }
+
+    private static String readKey(ByteBuffer buffer, int offset) throws IOException {
+        var in = new DataInputStream(new BufferInputStream(buffer.duplicate().position(offset)));
+        return in.readUTF();
+    }
+
+    private boolean belowThreshold(Source source) {
+        if (source.getLength() < minSize) {
+            getLogger().info("below size threshold ", source);
+            return true;
+        }
+        return false;
+    }
+
+    private static void encode(StoredScript script, DataOutputStream out) throws IOException {
+        out.writeInt(script.getCompilationId());
+        out.writeUTF(script.getMainClassName());
+
+        var classBytes = script.getClassBytes();
+        out.writeInt(classBytes.size());
+        for (var entry : classBytes.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue().length);
+            out.write(entry.getValue());
+        }
+
+        var initializers = script.getInitializers();
+        out.writeInt(initializers == null ? -1 : initializers.size());
+        if (initializers != null) {
+            for (var entry : initializers.entrySet()) {
+                var initializer = entry.getValue();
+                out.writeInt(entry.getKey());
+                out.writeUTF(initializer.getClassName());
+                out.writeUTF(initializer.getMethodType().toMethodDescriptorString());
+                out.writeInt(initializer.getFlags());
+                Type.writeTypeMap(initializer.getInvalidatedProgramPoints(), out);
+            }
+        }
+
+        var constants = script.getConstants();
+        var objects = new ArrayList<Object>();
+        out.writeInt(constants.length);
+        for (var constant : constants) {
+            if (constant == null) {
+                out.writeByte(NULL);
+            } else if (constant instanceof String) {
+                writeString((String) constant, out);
+            } else if (constant instanceof Integer) {
+                out.writeByte(INTEGER);
+                out.writeInt((Integer) constant);
+            } else if (constant instanceof Double) {
+                out.writeByte(DOUBLE);
+                out.writeDouble((Double) constant);
+            } else if (constant instanceof Long) {
+                out.writeByte(LONG);
+                out.writeLong((Long) constant);
+            } else if (constant instanceof Boolean) {
+                out.writeByte((Boolean) constant ? TRUE : FALSE);
+            } else {
+                out.writeByte(OBJECT);
+                objects.add(constant);
+            }
+        }
+        if (!objects.isEmpty()) {
+            // serialized together so that references between them are kept
+            var oos = new ObjectOutputStream(out);
+            oos.writeObject(objects.toArray());
+            oos.flush();
+        }
+    }
+
+    private static void writeString(String str, DataOutputStream out) throws IOException {
+        var latin1 = true;
+        for (var i = 0; i < str.length() && latin1; i++) {
+            latin1 = str.charAt(i) < 256;
+        }
+        out.writeByte(latin1 ? LATIN1 : UTF16);
+        out.writeInt(str.length());
+        if (latin1) {
+            out.writeBytes(str);
+        } else {
+            out.writeChars(str);
+        }
+    }
+
+    private static StoredScript decode(ByteBuffer record) throws IOException, ClassNotFoundException {
+        var in = new DataInputStream(new BufferInputStream(record));
+        in.readUTF(); // key
+        var compilationId = in.readInt();
+        var mainClassName = in.readUTF();
+
+        var classCount = in.readInt();
+        var classBytes = new LinkedHashMap<String, byte[]>(classCount * 2);
+        for (var i = 0; i < classCount; i++) {
+            var name = in.readUTF();
+            var bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            classBytes.put(name, bytes);
+        }
+
+        var initializerCount = in.readInt();
+        Map<Integer, FunctionInitializer> initializers = null;
+        if (initializerCount >= 0) {
+            initializers = new HashMap<>(initializerCount * 2);
+            var loader = MappedCodeStore.class.getClassLoader();
+            for (var i = 0; i < initializerCount; i++) {
+                var id = in.readInt();
+                var className = in.readUTF();
+                var methodType = MethodType.fromMethodDescriptorString(in.readUTF(), loader);
+                var flags = in.readInt();
+                initializers.put(id, new FunctionInitializer(className, methodType, flags, Type.readTypeMap(in)));
+            }
+        }
+
+        var constants = new Object[in.readInt()];
+        var objectSlots = new ArrayList<Integer>();
+        for (var i = 0; i < constants.length; i++) {
+            var tag = in.readByte();
+            switch (tag) {
+                case NULL -> constants[i] = null;
+                case LATIN1 -> {
+                    var bytes = new byte[in.readInt()];
+                    in.readFully(bytes);
+                    constants[i] = new String(bytes, StandardCharsets.ISO_8859_1);
+                }
+                case UTF16 -> {
+                    var chars = new char[in.readInt()];
+                    for (var j = 0; j < chars.length; j++) {
+                        chars[j] = in.readChar();
+                    }
+                    constants[i] = new String(chars);
+                }
+                case INTEGER -> constants[i] = in.readInt();
+                case DOUBLE -> constants[i] = in.readDouble();
+                case LONG -> constants[i] = in.readLong();
+                case TRUE -> constants[i] = Boolean.TRUE;
+                case FALSE -> constants[i] = Boolean.FALSE;
+                case OBJECT -> objectSlots.add(i);
+                default -> throw new IOException("Unknown constant tag " + tag);
+            }
+        }
+        if (!objectSlots.isEmpty()) {
+            var objects = (Object[]) new ObjectInputStream(in).readObject();
+            if (objects.length != objectSlots.size()) {
+                throw new IOException("Constant count mismatch");
+            }
+            for (var i = 0; i < objects.length; i++) {
+                constants[objectSlots.get(i)] = objects[i];
+            }
+        }
+        return new StoredScript(compilationId, mainClassName, classBytes, initializers, constants);
+    }
+
+    /**
+     * Reads a byte buffer, used to decode records straight from the mapped file.
+     */
+    private static final class BufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            var n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+    }
+
+}
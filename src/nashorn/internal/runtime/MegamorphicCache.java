@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.internal.runtime;
+
+import java.lang.invoke.SwitchPoint;
+
+/**
+ * Per call site lookup cache for property gets linked as megamorphic.
+ * <p>
+ * A megamorphic call site has no guards left to tell it where a property lives, so every access would search the receiver and its prototype chain.
+ * This table remembers where the property was found for the last few receiver {@link PropertyMap}s, probed by identity hash, so receivers of a shape seen before are served without a search.
+ * An entry for an inherited property is also tied to the receiver's prototype, the owner's map and the prototype switch points of the property,
+ * so it is not used once the prototype chain has changed in a way that could shadow or remove the property.
+ * <p>
+ * Entries are immutable and replaced wholesale, so racing updates only lose cache entries.
+ */
+final class MegamorphicCache {
+
+    /** Returned by {@link #get(ScriptObject)} when the receiver's shape has no valid entry. */
+    static final Object MISS = new Object();
+
+    private static final int SIZE = 16;
+    private static final int MAX_PROBES = 4;
+
+    private static final class Entry {
+        final PropertyMap map;
+        final Property property;
+        // null for own properties
+        final ScriptObject proto;
+        final ScriptObject owner;
+        final PropertyMap ownerMap;
+        final SwitchPoint[] switchPoints;
+
+        Entry(PropertyMap map, Property property, ScriptObject proto, ScriptObject owner, SwitchPoint[] switchPoints) {
+            this.map = map;
+            this.property = property;
+            this.proto = proto;
+            this.owner = owner;
+            this.ownerMap = owner != null ? owner.getMap() : null;
+            this.switchPoints = switchPoints;
+        }
+
+        boolean isValid(ScriptObject self) {
+            if (owner == null) {
+                return true;
+            }
+            if (self.getProto() != proto || owner.getMap() != ownerMap) {
+                return false;
+            }
+            if (switchPoints != null) {
+                for (var sp : switchPoints) {
+                    if (sp.hasBeenInvalidated()) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        Object getValue(ScriptObject self) {
+            if (owner == null) {
+                return property.getObjectValue(self, self);
+            }
+            return property.getObjectValue(property.isAccessorProperty() ? self : owner, owner);
+        }
+    }
+
+    final String key;
+    final boolean isMethod;
+    final boolean isScope;
+
+    private final Entry[] entries = new Entry[SIZE];
+
+    MegamorphicCache(String key, boolean isMethod, boolean isScope) {
+        this.key = key;
+        this.isMethod = isMethod;
+        this.isScope = isScope;
+    }
+
+    /**
+     * Look up the property value for the receiver.
+     * @return the value, or {@link #MISS}
+     */
+    Object get(ScriptObject self) {
+        var map = self.getMap();
+        var index = System.identityHashCode(map);
+        for (var i = 0; i < MAX_PROBES; i++) {
+            var entry = entries[(index + i) & (SIZE - 1)];
+            if (entry == null) {
+                return MISS;
+            }
+            if (entry.map == map) {
+                return entry.isValid(self) ? entry.getValue(self) : MISS;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Remember where a property was found for the receiver's shape.
+     * Only properties found on the receiver or its prototype chain are cached, not those found through 'with' scopes.
+     */
+    void put(ScriptObject self, FindProperty find) {
+        if (find.getSelf() != self || (isScope && hasWithScope(self, find.getOwner()))) {
+            return;
+        }
+        var map = self.getMap();
+        Entry entry;
+        if (find.isSelf()) {
+            entry = new Entry(map, find.getProperty(), null, null, null);
+        } else {
+            var owner = find.getOwner();
+            entry = new Entry(map, find.getProperty(), self.getProto(), owner, self.getProtoSwitchPoints(key, owner));
+        }
+
+        var index = System.identityHashCode(map);
+        for (var i = 0; i < MAX_PROBES; i++) {
+            var slot = (index + i) & (SIZE - 1);
+            var existing = entries[slot];
+            if (existing == null || existing.map == map) {
+                entries[slot] = entry;
+                return;
+            }
+        }
+        // all probed slots are taken by other shapes, replace the first one
+        entries[index & (SIZE - 1)] = entry;
+    }
+
+    /**
+     * Returns true if a 'with' scope comes before {@code owner} in the scope chain of {@code self}.
+     * Adding a property to the expression object of a 'with' statement changes neither the maps nor the switch points checked by the entries.
+     */
+    private static boolean hasWithScope(ScriptObject self, ScriptObject owner) {
+        for (var obj = self; obj != null; obj = obj.getProto()) {
+            if (obj instanceof WithObject) {
+                return true;
+            } else if (obj == owner) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.internal.runtime;
+
+/**
+ * Process wide cache of inherited property lookups, keyed by receiver {@link PropertyMap} and property key.
+ * <p>
+ * {@link ScriptObject#findProperty(Object, boolean, boolean, ScriptObject)} only consults the property maps along the prototype chain,
+ * so an entry records the map of every prototype it passed, ending with the map of the owner.
+ * A hit walks the receiver's chain comparing map identities, which is cheaper than a hash lookup per level and is exact:
+ * anything that would add, remove or replace a property on the way, or change a prototype, also changes one of these maps.
+ * This covers everything the proto switch points of a linked property guard, without having to register any.
+ * <p>
+ * The table is direct mapped with immutable entries that hold no script objects, so it needs no locking and keeps no globals alive.
+ */
+final class PropertyLookupCache {
+
+    private static final int SIZE = 4096;
+
+    /** Lookups that go further up the prototype chain are not cached. */
+    private static final int MAX_DEPTH = 8;
+
+    private static final class Entry {
+        final PropertyMap map;
+        final Object key;
+        final Property property;
+        // maps of the prototypes from the receiver's proto up to the owner
+        final PropertyMap[] protoMaps;
+
+        Entry(PropertyMap map, Object key, Property property, PropertyMap[] protoMaps) {
+            this.map = map;
+            this.key = key;
+            this.property = property;
+            this.protoMaps = protoMaps;
+        }
+    }
+
+    private static final Entry[] entries = new Entry[SIZE];
+
+    private PropertyLookupCache() {}
+
+    /**
+     * Look up an inherited property of the receiver.
+     * @param self the receiver, which does not have the property itself
+     * @param map  the receiver's map
+     * @param key  the property key
+     * @return the property as found on its owner, or null if the lookup is not cached
+     */
+    static FindProperty find(ScriptObject self, PropertyMap map, String key) {
+        var entry = entries[index(map, key)];
+        if (entry == null || entry.map != map || !key.equals(entry.key)) {
+            return null;
+        }
+        var owner = resolve(self, entry.protoMaps, 0);
+        if (owner == null) {
+            return null;
+        }
+        self.checkSharedProtoMap();
+        return new FindProperty(self, owner, entry.property);
+    }
+
+    // walk to the owner, checking the map of each prototype; like a full lookup, intermediate objects check their shared proto map on the way back
+    private static ScriptObject resolve(ScriptObject obj, PropertyMap[] protoMaps, int level) {
+        var proto = obj.getProto();
+        if (proto == null || proto.getMap() != protoMaps[level]) {
+            return null;
+        }
+        if (level == protoMaps.length - 1) {
+            return proto;
+        }
+        var owner = resolve(proto, protoMaps, level + 1);
+        if (owner != null) {
+            proto.checkSharedProtoMap();
+        }
+        return owner;
+    }
+
+    /**
+     * Remember an inherited property found for the receiver.
+     * @param self the receiver the lookup started on
+     * @param key  the property key
+     * @param find the result of the lookup
+     */
+    static void put(ScriptObject self, String key, FindProperty find) {
+        var owner = find.getOwner();
+        var depth = 0;
+        for (var obj = self; obj != owner; obj = obj.getProto()) {
+            if (obj == null || ++depth > MAX_DEPTH) {
+                return;
+            }
+        }
+
+        var protoMaps = new PropertyMap[depth];
+        var obj = self;
+        for (var i = 0; i < depth; i++) {
+            obj = obj.getProto();
+            protoMaps[i] = obj.getMap();
+        }
+
+        var map = self.getMap();
+        entries[index(map, key)] = new Entry(map, key, find.getProperty(), protoMaps);
+    }
+
+    private static int index(PropertyMap map, String key) {
+        var hash = System.identityHashCode(map) * 31 + key.hashCode();
+        return (hash ^ (hash >>> 16)) & (SIZE - 1);
+    }
+
+}
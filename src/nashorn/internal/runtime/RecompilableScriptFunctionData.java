@@ -44,6 +44,7 @@ import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import nashorn.internal.codegen.Compiler;
@@ -85,6 +86,14 @@ public final class RecompilableScriptFunctionData extends ScriptFunctionData imp
 
     private static final ExecutorService astSerializerExecutorService = createAstSerializerExecutorService();
 
+    /**
+     * Nesting depth of the functions that are compiled by background threads when their program is loaded with lazy compilation, set by the {@code nashorn.lazy.precompile.depth} system property.
+     * Top-level functions are at depth 1; zero, the default, disables background compilation.
+     */
+    private static final int PRECOMPILE_DEPTH = Options.getIntProperty("nashorn.lazy.precompile.depth", 0);
+
+    private static final ExecutorService precompileExecutorService = PRECOMPILE_DEPTH > 0 ? createPrecompileExecutorService() : null;
+
     /** Unique function node id for this function node */
     private final int functionNodeId;
 
@@ -464,6 +473,119 @@ public final class RecompilableScriptFunctionData extends ScriptFunctionData imp
         return service;
     }
 
+    /**
+     * Creates the executor service that compiles functions ahead of their first invocation, see {@link #schedulePrecompilation()}.
+     * Like the AST serializer, its threads are low priority daemons that time out when idle, but its queue runs the most promising functions first.
+     * @return an executor service for {@link Precompilation} tasks.
+     */
+    private static ExecutorService createPrecompileExecutorService() {
+        var threads = Math.max(1, Options.getIntProperty("nashorn.lazy.precompile.threads", Runtime.getRuntime().availableProcessors() / 2));
+        var service = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES, new PriorityBlockingQueue<>(),
+            (r) -> {
+                var t = new Thread(r, "Nashorn Precompiler");
+                t.setDaemon(true);
+                t.setPriority(Thread.NORM_PRIORITY - 1);
+                return t;
+            });
+        service.allowCoreThreadTimeOut(true);
+        return service;
+    }
+
+    /**
+     * Queues the functions nested in this program up to {@link #PRECOMPILE_DEPTH} for compilation by background threads, with the current global as the compilation context.
+     * Only the generic specialization is compiled, so only first invocations from call sites passing objects find compiled code;
+     * call sites with primitive argument types still compile their own specialization.
+     */
+    private void schedulePrecompilation() {
+        var global = Context.getGlobal();
+        if (precompileExecutorService != null && global != null && installer.getContext().getEnv()._lazy_compilation) {
+            schedulePrecompilation(global, 1);
+        }
+    }
+
+    private void schedulePrecompilation(Global global, int depth) {
+        for (var nested : nestedFunctions.values()) {
+            precompileExecutorService.execute(new Precompilation(nested, global, depth));
+            if (depth < PRECOMPILE_DEPTH) {
+                nested.schedulePrecompilation(global, depth + 1);
+            }
+        }
+    }
+
+    private boolean hasPersistedTypeInfo() {
+        var typeMap = typeMap(getGenericType());
+        var paramTypes = typeMap == null ? null : typeMap.getParameterTypes(functionNodeId);
+        return OptimisticTypesPersistence.exists(OptimisticTypesPersistence.getLocationDescriptor(source, functionNodeId, paramTypes));
+    }
+
+    private void precompile(Global global) {
+        var oldGlobal = Context.getGlobal();
+        var globalChanged = oldGlobal != global;
+        try {
+            if (globalChanged) {
+                Context.setGlobal(global);
+            }
+            // same lock as getBest(), so a concurrent first invocation waits for this compilation instead of repeating it
+            synchronized (this) {
+                if (code.isEmpty()) {
+                    var type = getGenericType();
+                    addCode(compileTypeSpecialization(type, null, true), type);
+                }
+            }
+        } catch (RuntimeException | StackOverflowError e) {
+            // the first invocation will compile the function again and report the error
+            if (log.isEnabled()) {
+                log.warning("Background compilation of '", functionName, "' failed: ", e);
+            }
+        } finally {
+            if (globalChanged) {
+                Context.setGlobal(oldGlobal);
+            }
+        }
+    }
+
+    /**
+     * A queued background compilation.
+     * Functions with optimistic type information persisted by an earlier run go first, as they were certainly invoked then; the rest are ordered by nesting depth and then by position in the source.
+     * The persisted information is looked up on the background thread: a task without it is queued again behind all tasks that haven't been checked yet.
+     */
+    private static final class Precompilation implements Runnable, Comparable<Precompilation> {
+        private final RecompilableScriptFunctionData data;
+        private final Global global;
+        private final int depth;
+        // only changed while the task is not queued
+        private boolean checked;
+
+        Precompilation(RecompilableScriptFunctionData data, Global global, int depth) {
+            this.data = data;
+            this.global = global;
+            this.depth = depth;
+        }
+
+        @Override
+        public void run() {
+            if (!checked) {
+                checked = true;
+                if (!data.hasPersistedTypeInfo()) {
+                    precompileExecutorService.execute(this);
+                    return;
+                }
+            }
+            data.precompile(global);
+        }
+
+        @Override
+        public int compareTo(Precompilation other) {
+            if (checked != other.checked) {
+                return checked ? 1 : -1;
+            }
+            if (depth != other.depth) {
+                return Integer.compare(depth, other.depth);
+            }
+            return Integer.compare(data.functionNodeId, other.data.functionNodeId);
+        }
+    }
+
     /**
      * A tuple of a serialized AST and a soft reference to a deserialized AST.
      * This is used to cache split functions.
@@ -776,6 +898,9 @@ public final class RecompilableScriptFunctionData extends ScriptFunctionData imp
             throw new IllegalStateException(name);
         }
         addCode(lookup(functionNode), null, null, functionNode.getFlags());
+        if (isProgram()) {
+            schedulePrecompilation();
+        }
     }
 
     /**
@@ -783,6 +908,9 @@ public final class RecompilableScriptFunctionData extends ScriptFunctionData imp
      */
     void initializeCode(FunctionInitializer initializer) {
         addCode(lookup(initializer, true), null, null, initializer.getFlags());
+        if (isProgram()) {
+            schedulePrecompilation();
+        }
     }
 
     private CompiledFunction addCode(MethodHandle target, Map<Integer, Type> invalidatedProgramPoints, MethodType callSiteType, int fnFlags) {
@@ -64,9 +64,18 @@ public final class ScriptEnvironment {
     /** -classpath value. */
     public final String _classpath;
 
+    /** Read-only archive of compiled scripts to use as code cache */
+    public final String _code_cache_archive;
+
+    /** Compile scripts into this code cache archive instead of running them */
+    public final String _compile_archive;
+
     /** Only compile script, do not run it or generate other ScriptObjects */
     public final boolean _compile_only;
 
+    /** Number of threads compiling scripts into a code cache archive, 0 for the number of processors */
+    public final int _compile_threads;
+
     /** Accept "const" keyword and treat it as variable. Interim feature */
     public final boolean _const_as_var;
 
@@ -148,6 +157,9 @@ public final class ScriptEnvironment {
     /** Enable disk cache for compiled scripts */
     public final boolean _persistent_cache;
 
+    /** Count invocations, relinks and receiver maps per call site, see {@link nashorn.internal.runtime.linker.CallSiteProfiler} */
+    public final boolean _profile_callsites;
+
     /** is this environment in scripting mode? */
     public final boolean _scripting;
 
@@ -196,7 +208,10 @@ public final class ScriptEnvironment {
 
         _class_cache_size     = options.getInteger("class.cache.size");
         _classpath            = options.getString("classpath");
+        _code_cache_archive   = options.getString("code.cache.archive");
+        _compile_archive      = options.getString("compile.archive");
         _compile_only         = options.getBoolean("compile.only");
+        _compile_threads      = options.getInteger("compile.threads");
         _const_as_var         = options.getBoolean("const.as.var");
         _debug_lines          = options.getBoolean("debug.lines");
         _debug_scopes         = options.getBoolean("debug.scopes");
@@ -227,7 +242,8 @@ public final class ScriptEnvironment {
             }
             _lazy_compilation = true;
         } else {
-            _lazy_compilation = lazy_compilation;
+            // archives hold eagerly compiled scripts unless optimistic types require lazy compilation
+            _lazy_compilation = lazy_compilation && _compile_archive == null;
         }
 
         _loader_per_compile   = options.getBoolean("loader.per.compile");
@@ -237,7 +253,8 @@ public final class ScriptEnvironment {
         _no_syntax_extensions = options.getBoolean("no.syntax.extensions");
         _no_typed_arrays      = options.getBoolean("no.typed.arrays");
         _parse_only           = options.getBoolean("parse.only");
-        _persistent_cache     = options.getBoolean("persistent.code.cache");
+        _persistent_cache     = options.getBoolean("persistent.code.cache") || _code_cache_archive != null || _compile_archive != null;
+        _profile_callsites    = options.getBoolean("profile.callsites") || Options.getBooleanProperty("nashorn.profile.callsites");
         _scripting            = options.getBoolean("scripting");
         _version              = options.getBoolean("version");
 
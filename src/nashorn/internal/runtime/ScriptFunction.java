@@ -377,6 +377,15 @@ public class ScriptFunction extends ScriptObject {
         return data instanceof RecompilableScriptFunctionData && (((RecompilableScriptFunctionData) data).getFunctionFlags() & FunctionNode.HAS_ALL_VARS_IN_SCOPE) != 0;
     }
 
+    /**
+     * Is this a function that the compiler found to only write its own local variables?
+     * Such functions may still call the functions of the global Math object, which the caller has to check are the built-in ones,
+     * and read free identifiers, which may run accessors of global properties.
+     */
+    public boolean isSideEffectFree() {
+        return data instanceof RecompilableScriptFunctionData && (((RecompilableScriptFunctionData) data).getFunctionFlags() & FunctionNode.IS_SIDE_EFFECT_FREE) != 0;
+    }
+
     /**
      * Returns true if this is a non-strict, non-built-in function that requires non-primitive this argument according to ECMA 10.4.3.
      * @return true if this argument must be an object
@@ -145,7 +145,7 @@ public abstract class ScriptObject implements PropertyAccess, Cloneable {
     /** Method handle to retrieve prototype of this object */
     public static final MethodHandle GETPROTO = findOwnMH_V("getProto", ScriptObject.class);
 
-    static final MethodHandle MEGAMORPHIC_GET = findOwnMH_V("megamorphicGet", Object.class, String.class, boolean.class, boolean.class);
+    static final MethodHandle MEGAMORPHIC_GET = findOwnMH_V("megamorphicGet", Object.class, MegamorphicCache.class);
     static final MethodHandle GLOBALFILTER = findOwnMH_S("globalFilter", Object.class, Object.class);
     static final MethodHandle DECLARE_AND_SET = findOwnMH_V("declareAndSet", void.class, String.class, Object.class);
 
@@ -728,10 +728,21 @@ public abstract class ScriptObject implements PropertyAccess, Cloneable {
         }
 
         if (deep) {
+            // plain inherited lookups, e.g. from generic gets and megamorphic sites, go through the lookup cache
+            var cacheable = start == this && !isScope && key instanceof String;
+            if (cacheable) {
+                var cached = PropertyLookupCache.find(this, selfMap, (String)key);
+                if (cached != null) {
+                    return cached;
+                }
+            }
             var myProto = getProto();
             var find = myProto == null ? null : myProto.findProperty(key, true, isScope, start);
             // checkSharedProtoMap must be invoked after myProto.checkSharedProtoMap to propagate shared proto invalidation up the prototype chain. It also must be invoked when prototype is null.
             checkSharedProtoMap();
+            if (cacheable && find != null && find.getSelf() == this) {
+                PropertyLookupCache.put(this, (String)key, find);
+            }
             return find;
         }
 
@@ -1749,15 +1760,24 @@ public abstract class ScriptObject implements PropertyAccess, Cloneable {
 
     private static GuardedInvocation findMegaMorphicGetMethod(CallSiteDescriptor desc, String name, boolean isMethod) {
         Context.getContextTrusted().getLogger(ObjectClassGenerator.class).warning("Megamorphic getter: ", desc, " ", name + " ", isMethod);
-        var invoker = MH.insertArguments(MEGAMORPHIC_GET, 1, name, isMethod, NashornCallSiteDescriptor.isScope(desc));
+        var invoker = MH.insertArguments(MEGAMORPHIC_GET, 1, new MegamorphicCache(name, isMethod, NashornCallSiteDescriptor.isScope(desc)));
         var guard   = getScriptObjectGuard(desc.getMethodType(), true);
         return new GuardedInvocation(invoker, guard);
     }
 
     @SuppressWarnings("unused")
-    private Object megamorphicGet(String key, boolean isMethod, boolean isScope) {
+    private Object megamorphicGet(MegamorphicCache cache) {
+        var cached = cache.get(this);
+        if (cached != MegamorphicCache.MISS) {
+            return cached;
+        }
+
+        var key = cache.key;
+        var isMethod = cache.isMethod;
+        var isScope = cache.isScope;
         var find = findProperty(key, true, isScope, this);
         if (find != null) {
+            cache.put(this, find);
             // If this is a method invocation, and found property has a different self object than this, then return a function bound to the self object.
             // This is the case for functions in with expressions.
             var value = find.getObjectValue();
@@ -1887,7 +1907,7 @@ public abstract class ScriptObject implements PropertyAccess, Cloneable {
         return switchPoint;
     }
 
-    private void checkSharedProtoMap() {
+    void checkSharedProtoMap() {
         // Check if our map has an expected shared prototype property map.
         // If it has, make sure that the prototype map has not been invalidated, and that it does match the actual map of the prototype.
         if (getMap().isInvalidSharedMapFor(getProto())) {
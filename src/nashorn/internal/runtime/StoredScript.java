@@ -78,6 +78,22 @@ public final class StoredScript implements Serializable {
         return compilationId;
     }
 
+    String getMainClassName() {
+        return mainClassName;
+    }
+
+    Map<String, byte[]> getClassBytes() {
+        return classBytes;
+    }
+
+    Map<Integer, FunctionInitializer> getInitializers() {
+        return initializers;
+    }
+
+    Object[] getConstants() {
+        return constants;
+    }
+
     private Map<String, Class<?>> installClasses(Source source, CodeInstaller installer) {
         var installedClasses = new HashMap<String, Class<?>>();
         var mainClassBytes = classBytes.get(mainClassName);
@@ -265,6 +265,8 @@ public abstract class ArrayData {
     public static ArrayData allocate(long length) {
         if (length == 0L) {
             return new IntArrayData();
+        } else if (OffHeapArrayData.isOffHeapLength(length)) {
+            return new DeletedRangeArrayFilter(new OffHeapIntArrayData(length), 0, length - 1);
         } else if (length >= SparseArrayData.MAX_DENSE_LENGTH) {
             return new SparseArrayData(EMPTY_ARRAY, length);
         } else {
@@ -234,6 +234,13 @@ public abstract class ContinuousArrayData extends ArrayData {
         return null;
     }
 
+    /**
+     * Returns the array data to push onto, which is this unless this array is full and should change its representation to grow.
+     */
+    public ContinuousArrayData pushTarget() {
+        return this;
+    }
+
     /**
      * Specialization - fast push implementation
      */
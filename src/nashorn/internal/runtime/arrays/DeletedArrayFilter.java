@@ -93,7 +93,7 @@ final class DeletedArrayFilter extends ArrayFilter {
 
     @Override
     public ArrayData ensure(long safeIndex) {
-        if (safeIndex >= SparseArrayData.MAX_DENSE_LENGTH && safeIndex >= length()) {
+        if (safeIndex >= SparseArrayData.MAX_DENSE_LENGTH && safeIndex >= length() && !OffHeapArrayData.canGrow(getUnderlying(), safeIndex)) {
             return new SparseArrayData(this, safeIndex + 1);
         }
 
@@ -44,7 +44,7 @@ final class DeletedRangeArrayFilter extends ArrayFilter {
     }
 
     private static ArrayData maybeSparse(ArrayData underlying, long hi) {
-        if (hi < SparseArrayData.MAX_DENSE_LENGTH || underlying instanceof SparseArrayData) {
+        if (hi < SparseArrayData.MAX_DENSE_LENGTH || underlying instanceof SparseArrayData || underlying instanceof OffHeapArrayData) {
             return underlying;
         }
         return new SparseArrayData(underlying, underlying.length());
@@ -95,7 +95,7 @@ final class DeletedRangeArrayFilter extends ArrayFilter {
 
     @Override
     public ArrayData ensure(long safeIndex) {
-        if (safeIndex >= SparseArrayData.MAX_DENSE_LENGTH && safeIndex >= length()) {
+        if (safeIndex >= SparseArrayData.MAX_DENSE_LENGTH && safeIndex >= length() && !OffHeapArrayData.canGrow(getUnderlying(), safeIndex)) {
             return new SparseArrayData(this, safeIndex + 1);
         }
 
@@ -200,6 +200,9 @@ final class IntArrayData extends ContinuousArrayData implements IntElements {
 
     @Override
     public ArrayData ensure(long safeIndex) {
+        if (safeIndex >= array.length && OffHeapArrayData.isOffHeapGrowth(safeIndex, length())) {
+            return new OffHeapIntArrayData(array, (int)length()).ensure(safeIndex);
+        }
         if (safeIndex >= SparseArrayData.MAX_DENSE_LENGTH) {
             return new SparseArrayData(this, safeIndex + 1);
         }
@@ -369,12 +372,24 @@ final class IntArrayData extends ContinuousArrayData implements IntElements {
         return fastPopInt();
     }
 
+    @Override
+    public ContinuousArrayData pushTarget() {
+        var len = (int)length();
+        return len == array.length && OffHeapArrayData.isOffHeapGrowth(len, len) ? new OffHeapIntArrayData(array, len) : this;
+    }
+
     @Override
     public ContinuousArrayData fastConcat(ContinuousArrayData otherData) {
         var otherLength = (int)otherData.length();
         var thisLength = (int)length();
         assert otherLength > 0 && thisLength > 0;
 
+        if (otherData instanceof OffHeapIntArrayData) {
+            var newData = new OffHeapIntArrayData(array, thisLength);
+            newData.append(otherData);
+            return newData;
+        }
+
         var otherArray = ((IntArrayData)otherData).array;
         var newLength = otherLength + thisLength;
         var newArray = new int[ArrayData.alignUp(newLength)];
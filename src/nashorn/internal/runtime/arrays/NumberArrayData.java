@@ -142,6 +142,9 @@ final class NumberArrayData extends ContinuousArrayData implements NumericElemen
 
     @Override
     public ArrayData ensure(long safeIndex) {
+        if (safeIndex >= array.length && OffHeapArrayData.isOffHeapGrowth(safeIndex, length())) {
+            return new OffHeapNumberArrayData(array, (int)length()).ensure(safeIndex);
+        }
         if (safeIndex >= SparseArrayData.MAX_DENSE_LENGTH) {
             return new SparseArrayData(this, safeIndex + 1);
         }
@@ -342,12 +345,24 @@ final class NumberArrayData extends ContinuousArrayData implements NumericElemen
         return fastPopDouble();
     }
 
+    @Override
+    public ContinuousArrayData pushTarget() {
+        var len = (int)length();
+        return len == array.length && OffHeapArrayData.isOffHeapGrowth(len, len) ? new OffHeapNumberArrayData(array, len) : this;
+    }
+
     @Override
     public ContinuousArrayData fastConcat(ContinuousArrayData otherData) {
         var otherLength = (int)otherData.length();
         var thisLength = (int)length();
         assert otherLength > 0 && thisLength > 0;
 
+        if (otherData instanceof OffHeapNumberArrayData) {
+            var newData = new OffHeapNumberArrayData(array, thisLength);
+            newData.append(otherData);
+            return newData;
+        }
+
         var otherArray = ((NumberArrayData)otherData).array;
         var newLength = otherLength + thisLength;
         var newArray = new double[ArrayData.alignUp(newLength)];
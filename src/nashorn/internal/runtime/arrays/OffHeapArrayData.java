@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.internal.runtime.arrays;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import nashorn.internal.runtime.options.Options;
+
+/**
+ * Base class of the numeric {@link ArrayData} implementations that keep their elements in direct byte buffers instead of Java arrays.
+ *
+ * Elements are stored in fixed size segments, so the array grows by adding segments instead of copying all of its elements, and the garbage collector never scans or moves them.
+ * Segments that were never written share one zeroed buffer, so {@code new Array(n)} does not commit memory for all {@code n} elements up front.
+ * Int and number arrays move off-heap instead of growing past the number of elements set by the {@code nashorn.array.offheap.threshold} system property.
+ * The threshold is zero, which disables off-heap arrays, by default; their total size is limited by {@code -XX:MaxDirectMemorySize}.
+ */
+abstract class OffHeapArrayData extends ContinuousArrayData {
+
+    /** Length at which arrays move off-heap, or zero if they never do. */
+    static final int THRESHOLD = Math.max(0, Options.getIntProperty("nashorn.array.offheap.threshold", 0));
+
+    static final int SEGMENT_SHIFT = 16;
+    static final int SEGMENT_LENGTH = 1 << SEGMENT_SHIFT;
+    static final int SEGMENT_MASK = SEGMENT_LENGTH - 1;
+
+    /** Indices are ints, so the last valid index is {@code Integer.MAX_VALUE - 1}. */
+    private static final long MAX_LENGTH = Integer.MAX_VALUE;
+
+    /** Placeholder for segments that have not been written, also used to clear elements. */
+    private static final ByteBuffer EMPTY_SEGMENT = ByteBuffer.allocateDirect(SEGMENT_LENGTH * Double.BYTES).order(ByteOrder.nativeOrder());
+
+    /** Base 2 logarithm of the element size in bytes. */
+    private final int elementShift;
+
+    /** The segments, of which the first {@code segmentCount} are in use. */
+    ByteBuffer[] segments;
+    private int segmentCount;
+
+    OffHeapArrayData(int elementShift, long length) {
+        super(length);
+        this.elementShift = elementShift;
+        this.segments = new ByteBuffer[8];
+        reserve(length);
+    }
+
+    /**
+     * Returns true if a new array of {@code length} elements should be allocated off-heap.
+     */
+    static boolean isOffHeapLength(long length) {
+        return THRESHOLD > 0 && length >= THRESHOLD && length < MAX_LENGTH;
+    }
+
+    /**
+     * Returns true if an on-heap numeric array of {@code length} elements that has to grow to hold {@code safeIndex} should move off-heap.
+     * Writes far beyond the end still make a sparse array.
+     */
+    static boolean isOffHeapGrowth(long safeIndex, long length) {
+        return isOffHeapLength(safeIndex + 1) && safeIndex - length < SparseArrayData.MAX_DENSE_LENGTH;
+    }
+
+    /**
+     * Returns true if {@code data} will move off-heap or grow there, instead of becoming sparse, when it is ensured to hold {@code safeIndex}.
+     */
+    static boolean canGrow(ArrayData data, long safeIndex) {
+        return data instanceof NumericElements && isOffHeapGrowth(safeIndex, data.length());
+    }
+
+    /**
+     * Returns the number of elements this array can hold without allocating another segment.
+     */
+    final long capacity() {
+        return (long)segmentCount << SEGMENT_SHIFT;
+    }
+
+    /**
+     * Adds segments until there is room for {@code size} elements.
+     * They are only allocated when first written.
+     */
+    final void reserve(long size) {
+        var needed = (int)((size + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        if (needed > segments.length) {
+            segments = Arrays.copyOf(segments, Math.max(needed, segments.length * 2));
+        }
+        while (segmentCount < needed) {
+            segments[segmentCount++] = EMPTY_SEGMENT;
+        }
+    }
+
+    /**
+     * Returns the segment holding the element at {@code index}, allocating it if it has not been written yet.
+     */
+    final ByteBuffer writableSegment(int index) {
+        var segment = segments[index >>> SEGMENT_SHIFT];
+        return segment != EMPTY_SEGMENT ? segment : allocateSegment(index >>> SEGMENT_SHIFT);
+    }
+
+    private ByteBuffer allocateSegment(int segmentIndex) {
+        var segment = ByteBuffer.allocateDirect(SEGMENT_LENGTH << elementShift).order(ByteOrder.nativeOrder());
+        segments[segmentIndex] = segment;
+        return segment;
+    }
+
+    /**
+     * Copies {@code count} elements from {@code src} to {@code dst}, which have the same element size.
+     * If they are the same array, the ranges may overlap.
+     */
+    static void move(OffHeapArrayData src, long srcIndex, OffHeapArrayData dst, long dstIndex, long count) {
+        assert src.elementShift == dst.elementShift;
+        var shift = src.elementShift;
+        var segmentBytes = SEGMENT_LENGTH << shift;
+        var mask = segmentBytes - 1;
+        var from = srcIndex << shift;
+        var to = dstIndex << shift;
+        var remaining = count << shift;
+
+        if (src != dst || to <= from) {
+            while (remaining > 0) {
+                var fromOffset = (int)(from & mask);
+                var toOffset = (int)(to & mask);
+                var len = (int)Math.min(remaining, segmentBytes - Math.max(fromOffset, toOffset));
+                copy(src, from, dst, to, len);
+                from += len;
+                to += len;
+                remaining -= len;
+            }
+        } else {
+            // moving right within one array, copy from the end
+            from += remaining;
+            to += remaining;
+            while (remaining > 0) {
+                var fromEnd = (int)((from - 1) & mask) + 1;
+                var toEnd = (int)((to - 1) & mask) + 1;
+                var len = (int)Math.min(remaining, Math.min(fromEnd, toEnd));
+                from -= len;
+                to -= len;
+                copy(src, from, dst, to, len);
+                remaining -= len;
+            }
+        }
+    }
+
+    /**
+     * Copies bytes within one source segment to within one target segment.
+     */
+    private static void copy(OffHeapArrayData src, long from, OffHeapArrayData dst, long to, int len) {
+        var shift = SEGMENT_SHIFT + src.elementShift;
+        var mask = (1 << shift) - 1;
+        var source = src.segments[(int)(from >>> shift)];
+        var toSegment = (int)(to >>> shift);
+        if (source == EMPTY_SEGMENT && dst.segments[toSegment] == EMPTY_SEGMENT) {
+            return;
+        }
+        var target = dst.segments[toSegment] != EMPTY_SEGMENT ? dst.segments[toSegment] : dst.allocateSegment(toSegment);
+        copy(source, (int)(from & mask), target, (int)(to & mask), len);
+    }
+
+    /**
+     * Copies {@code len} bytes between two segments, which may be the same segment with overlapping ranges.
+     */
+    private static void copy(ByteBuffer source, int from, ByteBuffer target, int to, int len) {
+        target.duplicate().position(to).put(source.duplicate().position(from).limit(from + len));
+    }
+
+    /**
+     * Zeroes the elements from {@code from} (inclusive) to {@code to} (exclusive).
+     */
+    final void clear(long from, long to) {
+        var segmentBytes = SEGMENT_LENGTH << elementShift;
+        var start = from << elementShift;
+        var end = to << elementShift;
+        while (start < end) {
+            var offset = (int)(start & (segmentBytes - 1));
+            var len = (int)Math.min(end - start, segmentBytes - offset);
+            var segment = segments[(int)(start >>> SEGMENT_SHIFT >>> elementShift)];
+            if (segment != EMPTY_SEGMENT) {
+                copy(EMPTY_SEGMENT, 0, segment, offset, len);
+            }
+            start += len;
+        }
+    }
+
+    /**
+     * Creates an empty array of the same kind with room for {@code length} elements.
+     */
+    abstract OffHeapArrayData newArray(long length);
+
+    /**
+     * Appends the elements of another array with the same element type.
+     */
+    abstract void append(ContinuousArrayData other);
+
+    @Override
+    public abstract OffHeapArrayData copy();
+
+    /**
+     * Returns a copy of the elements from {@code from} (inclusive) to {@code to} (exclusive).
+     */
+    final OffHeapArrayData copy(long from, long to) {
+        var length = to - from;
+        var data = newArray(length);
+        data.setLength(length);
+        move(this, from, data, 0, length);
+        return data;
+    }
+
+    @Override
+    public Object[] asObjectArray() {
+        var len = (int)length();
+        var oarray = new Object[len];
+        for (var index = 0; index < len; index++) {
+            oarray[index] = getObject(index);
+        }
+        return oarray;
+    }
+
+    @Override
+    public ArrayData ensure(long safeIndex) {
+        if (safeIndex >= capacity() && (safeIndex >= MAX_LENGTH - 1 || safeIndex - length() >= SparseArrayData.MAX_DENSE_LENGTH)) {
+            return new SparseArrayData(this, safeIndex + 1);
+        }
+        reserve(safeIndex + 1);
+        if (safeIndex >= length()) {
+            setLength(safeIndex + 1);
+        }
+        return this;
+    }
+
+    @Override
+    public ArrayData shrink(long newLength) {
+        var keep = (int)((newLength + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        if (keep < segmentCount) {
+            // let the collector free the direct memory of the dropped segments
+            Arrays.fill(segments, keep, segmentCount, null);
+            segmentCount = keep;
+        }
+        clear(newLength, Math.min(length(), capacity()));
+        return this;
+    }
+
+    @Override
+    public ArrayData shiftLeft(int by) {
+        var len = length();
+        if (by >= len) {
+            shrink(0);
+        } else {
+            move(this, by, this, 0, len - by);
+            clear(len - by, len);
+        }
+        setLength(Math.max(0, len - by));
+        return this;
+    }
+
+    @Override
+    public ArrayData shiftRight(int by) {
+        var len = length();
+        var newData = ensure(by + len - 1);
+        if (newData != this) {
+            newData.shiftRight(by);
+            return newData;
+        }
+        move(this, 0, this, by, len);
+        return this;
+    }
+
+    @Override
+    public boolean has(int index) {
+        return 0 <= index && index < length();
+    }
+
+    @Override
+    public ArrayData delete(int index) {
+        return new DeletedRangeArrayFilter(this, index, index);
+    }
+
+    @Override
+    public ArrayData delete(long fromIndex, long toIndex) {
+        return new DeletedRangeArrayFilter(this, fromIndex, toIndex);
+    }
+
+    /**
+     * Makes room at the end for a push.
+     * Returns the index of the new element.
+     */
+    final int pushIndex() {
+        var len = length();
+        if (len == capacity()) {
+            reserve(len + 1);
+        }
+        return (int)len;
+    }
+
+    @Override
+    public ContinuousArrayData fastConcat(ContinuousArrayData otherData) {
+        var newData = copy();
+        newData.append(otherData);
+        return newData;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + ":[" + length() + " elements]";
+    }
+
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.internal.runtime.arrays;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+import nashorn.internal.runtime.JSType;
+import nashorn.internal.runtime.ScriptRuntime;
+import static nashorn.internal.codegen.CompilerConstants.specialCall;
+
+/**
+ * Off-heap counterpart of {@link IntArrayData}, see {@link OffHeapArrayData}.
+ */
+final class OffHeapIntArrayData extends OffHeapArrayData implements IntElements {
+
+    OffHeapIntArrayData(long length) {
+        super(2, length);
+    }
+
+    /**
+     * Moves the first {@code length} elements of an on-heap array off-heap.
+     */
+    OffHeapIntArrayData(int[] array, int length) {
+        this(length);
+        for (var i = 0; i < length; i += SEGMENT_LENGTH) {
+            writableSegment(i).asIntBuffer().put(array, i, Math.min(SEGMENT_LENGTH, length - i));
+        }
+    }
+
+    @Override
+    public Class<?> getElementType() {
+        return int.class;
+    }
+
+    @Override
+    public Class<?> getBoxedElementType() {
+        return Integer.class;
+    }
+
+    @Override
+    public int getElementWeight() {
+        return 1;
+    }
+
+    @Override
+    public ContinuousArrayData widest(ContinuousArrayData otherData) {
+        return otherData;
+    }
+
+    @Override
+    OffHeapArrayData newArray(long length) {
+        return new OffHeapIntArrayData(length);
+    }
+
+    @Override
+    void append(ContinuousArrayData other) {
+        var len = length();
+        var otherLength = other.length();
+        reserve(len + otherLength);
+        setLength(len + otherLength);
+        if (other instanceof OffHeapIntArrayData) {
+            move((OffHeapIntArrayData)other, 0, this, len, otherLength);
+        } else {
+            for (var i = 0; i < otherLength; i++) {
+                setElement((int)len + i, other.getInt(i));
+            }
+        }
+    }
+
+    @Override
+    public OffHeapIntArrayData copy() {
+        return (OffHeapIntArrayData)copy(0, length());
+    }
+
+    private int getElement(int index) {
+        return segments[index >>> SEGMENT_SHIFT].getInt((index & SEGMENT_MASK) << 2);
+    }
+
+    private void setElement(int index, int value) {
+        writableSegment(index).putInt((index & SEGMENT_MASK) << 2, value);
+    }
+
+    private static final MethodHandle HAS_GET_ELEM = specialCall(MethodHandles.lookup(), OffHeapIntArrayData.class, "getElem", int.class, int.class).methodHandle();
+    private static final MethodHandle SET_ELEM     = specialCall(MethodHandles.lookup(), OffHeapIntArrayData.class, "setElem", void.class, int.class, int.class).methodHandle();
+
+    @SuppressWarnings("unused")
+    private int getElem(int index) {
+        if (has(index)) {
+            return getElement(index);
+        }
+        throw new ClassCastException();
+    }
+
+    @SuppressWarnings("unused")
+    private void setElem(int index, int elem) {
+        if (hasRoomFor(index)) {
+            setElement(index, elem);
+            return;
+        }
+        throw new ClassCastException();
+    }
+
+    @Override
+    public MethodHandle getElementGetter(Class<?> returnType, int programPoint) {
+        return getContinuousElementGetter(HAS_GET_ELEM, returnType, programPoint);
+    }
+
+    @Override
+    public MethodHandle getElementSetter(Class<?> elementType) {
+        return elementType == int.class ? getContinuousElementSetter(SET_ELEM, elementType) : null;
+    }
+
+    @Override
+    public Object asArrayOfType(Class<?> componentType) {
+        if (componentType == int.class) {
+            var len = (int)length();
+            var iarray = new int[len];
+            for (var i = 0; i < len; i += SEGMENT_LENGTH) {
+                segments[i >>> SEGMENT_SHIFT].asIntBuffer().get(iarray, i, Math.min(SEGMENT_LENGTH, len - i));
+            }
+            return iarray;
+        }
+        return super.asArrayOfType(componentType);
+    }
+
+    private OffHeapNumberArrayData convertToDouble() {
+        var len = (int)length();
+        var data = new OffHeapNumberArrayData(len);
+        for (var i = 0; i < len; i++) {
+            data.set(i, (double)getElement(i));
+        }
+        return data;
+    }
+
+    @Override
+    public ArrayData convert(Class<?> type) {
+        if (type == Integer.class || type == Byte.class || type == Short.class) {
+            return this;
+        } else if (type == Double.class || type == Float.class) {
+            return convertToDouble();
+        } else {
+            return new ObjectArrayData(asObjectArray(), (int)length());
+        }
+    }
+
+    @Override
+    public ArrayData set(int index, Object value) {
+        if (JSType.isRepresentableAsInt(value)) {
+            return set(index, JSType.toInt32(value));
+        } else if (value == ScriptRuntime.UNDEFINED) {
+            return new UndefinedArrayFilter(this).set(index, value);
+        }
+
+        var newData = convert(value == null ? Object.class : value.getClass());
+        return newData.set(index, value);
+    }
+
+    @Override
+    public ArrayData set(int index, int value) {
+        setElement(index, value);
+        setLength(Math.max(index + 1, length()));
+        return this;
+    }
+
+    @Override
+    public ArrayData set(int index, double value) {
+        if (JSType.isRepresentableAsInt(value)) {
+            setElement(index, (int)(long)value);
+            setLength(Math.max(index + 1, length()));
+            return this;
+        }
+        return convert(Double.class).set(index, value);
+    }
+
+    @Override
+    public int getInt(int index) {
+        return getElement(index);
+    }
+
+    @Override
+    public int getIntOptimistic(int index, int programPoint) {
+        return getElement(index);
+    }
+
+    @Override
+    public double getDouble(int index) {
+        return getElement(index);
+    }
+
+    @Override
+    public double getDoubleOptimistic(int index, int programPoint) {
+        return getElement(index);
+    }
+
+    @Override
+    public Object getObject(int index) {
+        return getElement(index);
+    }
+
+    @Override
+    public Object pop() {
+        var len = (int)length();
+        if (len == 0) {
+            return ScriptRuntime.UNDEFINED;
+        }
+
+        var newLength = len - 1;
+        var elem = getElement(newLength);
+        setElement(newLength, 0);
+        setLength(newLength);
+
+        return elem;
+    }
+
+    @Override
+    public ArrayData slice(long from, long to) {
+        var newLength = to - from;
+        if (newLength >= THRESHOLD) {
+            return copy(from, to);
+        }
+        var iarray = new int[ArrayData.alignUp((int)newLength)];
+        for (var i = 0; i < newLength; i++) {
+            iarray[i] = getElement((int)from + i);
+        }
+        return new IntArrayData(iarray, (int)newLength);
+    }
+
+    @Override
+    public double fastPush(int arg) {
+        setElement(pushIndex(), arg);
+        return increaseLength();
+    }
+
+    @Override
+    public int fastPopInt() {
+        // length must not be zero
+        if (length() == 0) {
+            throw new ClassCastException(); // relink
+        }
+        var newLength = (int)decreaseLength();
+        var elem = getElement(newLength);
+        setElement(newLength, 0);
+        return elem;
+    }
+
+    @Override
+    public double fastPopDouble() {
+        return fastPopInt();
+    }
+
+    @Override
+    public Object fastPopObject() {
+        return fastPopInt();
+    }
+
+}
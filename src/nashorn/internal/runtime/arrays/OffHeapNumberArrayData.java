@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.internal.runtime.arrays;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+import jdk.dynalink.linker.support.TypeUtilities;
+
+import nashorn.internal.runtime.JSType;
+import static nashorn.internal.codegen.CompilerConstants.specialCall;
+import static nashorn.internal.lookup.Lookup.MH;
+import static nashorn.internal.runtime.ScriptRuntime.UNDEFINED;
+
+/**
+ * Off-heap counterpart of {@link NumberArrayData}, see {@link OffHeapArrayData}.
+ */
+final class OffHeapNumberArrayData extends OffHeapArrayData implements NumericElements {
+
+    OffHeapNumberArrayData(long length) {
+        super(3, length);
+    }
+
+    /**
+     * Moves the first {@code length} elements of an on-heap array off-heap.
+     */
+    OffHeapNumberArrayData(double[] array, int length) {
+        this(length);
+        for (var i = 0; i < length; i += SEGMENT_LENGTH) {
+            writableSegment(i).asDoubleBuffer().put(array, i, Math.min(SEGMENT_LENGTH, length - i));
+        }
+    }
+
+    @Override
+    public Class<?> getElementType() {
+        return double.class;
+    }
+
+    @Override
+    public Class<?> getBoxedElementType() {
+        return Double.class;
+    }
+
+    @Override
+    public int getElementWeight() {
+        return 3;
+    }
+
+    @Override
+    public ContinuousArrayData widest(ContinuousArrayData otherData) {
+        return otherData instanceof IntOrLongElements ? this : otherData;
+    }
+
+    @Override
+    OffHeapArrayData newArray(long length) {
+        return new OffHeapNumberArrayData(length);
+    }
+
+    @Override
+    void append(ContinuousArrayData other) {
+        var len = length();
+        var otherLength = other.length();
+        reserve(len + otherLength);
+        setLength(len + otherLength);
+        if (other instanceof OffHeapNumberArrayData) {
+            move((OffHeapNumberArrayData)other, 0, this, len, otherLength);
+        } else {
+            for (var i = 0; i < otherLength; i++) {
+                setElement((int)len + i, other.getDouble(i));
+            }
+        }
+    }
+
+    @Override
+    public OffHeapNumberArrayData copy() {
+        return (OffHeapNumberArrayData)copy(0, length());
+    }
+
+    private double getElement(int index) {
+        return segments[index >>> SEGMENT_SHIFT].getDouble((index & SEGMENT_MASK) << 3);
+    }
+
+    private void setElement(int index, double value) {
+        writableSegment(index).putDouble((index & SEGMENT_MASK) << 3, value);
+    }
+
+    private static final MethodHandle HAS_GET_ELEM = specialCall(MethodHandles.lookup(), OffHeapNumberArrayData.class, "getElem", double.class, int.class).methodHandle();
+    private static final MethodHandle SET_ELEM     = specialCall(MethodHandles.lookup(), OffHeapNumberArrayData.class, "setElem", void.class, int.class, double.class).methodHandle();
+
+    @SuppressWarnings("unused")
+    private double getElem(int index) {
+        if (has(index)) {
+            return getElement(index);
+        }
+        throw new ClassCastException();
+    }
+
+    @SuppressWarnings("unused")
+    private void setElem(int index, double elem) {
+        if (hasRoomFor(index)) {
+            setElement(index, elem);
+            return;
+        }
+        throw new ClassCastException();
+    }
+
+    @Override
+    public MethodHandle getElementGetter(Class<?> returnType, int programPoint) {
+        if (returnType == int.class) {
+            return null;
+        }
+        return getContinuousElementGetter(HAS_GET_ELEM, returnType, programPoint);
+    }
+
+    @Override
+    public MethodHandle getElementSetter(Class<?> elementType) {
+        return elementType.isPrimitive() ? getContinuousElementSetter(MH.asType(SET_ELEM, SET_ELEM.type().changeParameterType(2, elementType)), elementType) : null;
+    }
+
+    @Override
+    public Object asArrayOfType(Class<?> componentType) {
+        if (componentType == double.class) {
+            var len = (int)length();
+            var darray = new double[len];
+            for (var i = 0; i < len; i += SEGMENT_LENGTH) {
+                segments[i >>> SEGMENT_SHIFT].asDoubleBuffer().get(darray, i, Math.min(SEGMENT_LENGTH, len - i));
+            }
+            return darray;
+        }
+        return super.asArrayOfType(componentType);
+    }
+
+    private static boolean canWiden(Class<?> type) {
+        return TypeUtilities.isWrapperType(type) &&
+            type != Boolean.class && type != Character.class;
+    }
+
+    @Override
+    public ContinuousArrayData convert(Class<?> type) {
+        if (! canWiden(type)) {
+            return new ObjectArrayData(asObjectArray(), (int)length());
+        }
+        return this;
+    }
+
+    @Override
+    public ArrayData set(int index, Object value) {
+        if (value instanceof Double || (value != null && canWiden(value.getClass()))) {
+            return set(index, ((Number)value).doubleValue());
+        } else if (value == UNDEFINED) {
+            return new UndefinedArrayFilter(this).set(index, value);
+        }
+
+        var newData = convert(value == null ? Object.class : value.getClass());
+        return newData.set(index, value);
+    }
+
+    @Override
+    public ArrayData set(int index, int value) {
+        setElement(index, value);
+        setLength(Math.max(index + 1, length()));
+        return this;
+    }
+
+    @Override
+    public ArrayData set(int index, double value) {
+        setElement(index, value);
+        setLength(Math.max(index + 1, length()));
+        return this;
+    }
+
+    @Override
+    public int getInt(int index) {
+        return JSType.toInt32(getElement(index));
+    }
+
+    @Override
+    public double getDouble(int index) {
+        return getElement(index);
+    }
+
+    @Override
+    public double getDoubleOptimistic(int index, int programPoint) {
+        return getElement(index);
+    }
+
+    @Override
+    public Object getObject(int index) {
+        return getElement(index);
+    }
+
+    @Override
+    public Object pop() {
+        var len = (int)length();
+        if (len == 0) {
+            return UNDEFINED;
+        }
+
+        var newLength = len - 1;
+        var elem = getElement(newLength);
+        setElement(newLength, 0);
+        setLength(newLength);
+        return elem;
+    }
+
+    @Override
+    public ArrayData slice(long from, long to) {
+        var newLength = to - from;
+        if (newLength >= THRESHOLD) {
+            return copy(from, to);
+        }
+        var darray = new double[ArrayData.alignUp((int)newLength)];
+        for (var i = 0; i < newLength; i++) {
+            darray[i] = getElement((int)from + i);
+        }
+        return new NumberArrayData(darray, (int)newLength);
+    }
+
+    @Override
+    public double fastPush(int arg) {
+        return fastPush((double)arg);
+    }
+
+    @Override
+    public double fastPush(long arg) {
+        return fastPush((double)arg);
+    }
+
+    @Override
+    public double fastPush(double arg) {
+        setElement(pushIndex(), arg);
+        return increaseLength();
+    }
+
+    @Override
+    public double fastPopDouble() {
+        if (length() == 0) {
+            throw new ClassCastException();
+        }
+        var newLength = (int)decreaseLength();
+        var elem = getElement(newLength);
+        setElement(newLength, 0);
+        return elem;
+    }
+
+    @Override
+    public Object fastPopObject() {
+        return fastPopDouble();
+    }
+
+}
@@ -26,10 +26,8 @@
 package nashorn.internal.runtime.arrays;
 
 import java.util.Arrays;
-import java.util.TreeMap;
 
 import nashorn.internal.codegen.types.Type;
-import nashorn.internal.runtime.JSType;
 import nashorn.internal.runtime.ScriptRuntime;
 
 /**
@@ -47,13 +45,13 @@ class SparseArrayData extends ArrayData {
     private final long maxDenseLength;
 
     /** Sparse elements. */
-    private TreeMap<Long, Object> sparseMap;
+    private final SparseElementMap sparseMap;
 
     SparseArrayData(ArrayData underlying, long length) {
-        this(underlying, length, new TreeMap<>());
+        this(underlying, length, new SparseElementMap());
     }
 
-    private SparseArrayData(ArrayData underlying, long length, TreeMap<Long, Object> sparseMap) {
+    private SparseArrayData(ArrayData underlying, long length, SparseElementMap sparseMap) {
         super(length);
         assert underlying.length() <= length;
         this.underlying = underlying;
@@ -63,7 +61,7 @@ class SparseArrayData extends ArrayData {
 
     @Override
     public ArrayData copy() {
-        return new SparseArrayData(underlying.copy(), length(), new TreeMap<>(sparseMap));
+        return new SparseArrayData(underlying.copy(), length(), sparseMap.copy());
     }
 
     @Override
@@ -78,13 +76,8 @@ class SparseArrayData extends ArrayData {
 
         Arrays.fill(objArray, underlyingLength, len, ScriptRuntime.UNDEFINED);
 
-        for (var entry : sparseMap.entrySet()) {
-            long key = entry.getKey();
-            if (key < Integer.MAX_VALUE) {
-                objArray[(int)key] = entry.getValue();
-            } else {
-                break; // ascending key order
-            }
+        for (var key = sparseMap.firstKey(); key >= 0 && key < len; key = sparseMap.higherKey(key)) {
+            objArray[(int)key] = sparseMap.get(key, ScriptRuntime.UNDEFINED);
         }
 
         return objArray;
@@ -94,23 +87,17 @@ class SparseArrayData extends ArrayData {
     public ArrayData shiftLeft(int by) {
         underlying = underlying.shiftLeft(by);
 
-        var newSparseMap = new TreeMap<Long, Object>();
-
-        for (var entry : sparseMap.entrySet()) {
-            var newIndex = entry.getKey() - by;
-            if (newIndex >= 0) {
-                if (newIndex < maxDenseLength) {
-                    var oldLength = underlying.length();
-                    underlying = underlying.ensure(newIndex)
-                                           .set((int) newIndex, entry.getValue())
-                                           .safeDelete(oldLength, newIndex - 1);
-                } else {
-                    newSparseMap.put(newIndex, entry.getValue());
-                }
-            }
+        sparseMap.removeRange(0, by);
+        sparseMap.shift(-by);
+
+        // move the elements that are now within the dense part
+        for (var newIndex = sparseMap.firstKey(); newIndex >= 0 && newIndex < maxDenseLength; newIndex = sparseMap.firstKey()) {
+            var oldLength = underlying.length();
+            underlying = underlying.ensure(newIndex)
+                                   .set((int) newIndex, sparseMap.remove(newIndex, ScriptRuntime.UNDEFINED))
+                                   .safeDelete(oldLength, newIndex - 1);
         }
 
-        sparseMap = newSparseMap;
         setLength(Math.max(length() - by, 0));
 
         return sparseMap.isEmpty() ? underlying : this;
@@ -118,15 +105,16 @@ class SparseArrayData extends ArrayData {
 
     @Override
     public ArrayData shiftRight(int by) {
-        var newSparseMap = new TreeMap<Long, Object>();
-        // Move elements from underlying to sparse map if necessary
+        sparseMap.shift(by);
+
+        // Move elements from underlying to sparse map if necessary, shifted sparse elements take precedence
         var len = underlying.length();
         if (len + by > maxDenseLength) {
             // Length of underlying array after shrinking, before right-shifting
             var tempLength = Math.max(0, maxDenseLength - by);
             for (var i = tempLength; i < len; i++) {
-                if (underlying.has((int) i)) {
-                    newSparseMap.put(i + by, underlying.getObject((int) i));
+                if (underlying.has((int) i) && !sparseMap.containsKey(i + by)) {
+                    sparseMap.put(i + by, underlying.getObject((int) i));
                 }
             }
             underlying = underlying.shrink((int) tempLength);
@@ -135,12 +123,6 @@ class SparseArrayData extends ArrayData {
 
         underlying = underlying.shiftRight(by);
 
-        for (var entry : sparseMap.entrySet()) {
-            var newIndex = entry.getKey() + by;
-            newSparseMap.put(newIndex, entry.getValue());
-        }
-
-        sparseMap = newSparseMap;
         setLength(length() + by);
 
         return this;
@@ -162,7 +144,7 @@ class SparseArrayData extends ArrayData {
             sparseMap.clear();
             setLength(newLength);
         }
-        sparseMap.subMap(newLength, Long.MAX_VALUE).clear();
+        sparseMap.removeRange(newLength, Long.MAX_VALUE);
         setLength(newLength);
         return this;
     }
@@ -231,7 +213,7 @@ class SparseArrayData extends ArrayData {
         if (index >= 0 && index < maxDenseLength) {
             return underlying.getInt(index);
         }
-        return JSType.toInt32(sparseMap.get(indexToKey(index)));
+        return sparseMap.getInt(indexToKey(index));
     }
 
     @Override
@@ -239,7 +221,7 @@ class SparseArrayData extends ArrayData {
         if (index >= 0 && index < maxDenseLength) {
             return underlying.getIntOptimistic(index, programPoint);
         }
-        return JSType.toInt32Optimistic(sparseMap.get(indexToKey(index)), programPoint);
+        return sparseMap.getIntOptimistic(indexToKey(index), programPoint);
     }
 
     @Override
@@ -247,7 +229,7 @@ class SparseArrayData extends ArrayData {
         if (index >= 0 && index < maxDenseLength) {
             return underlying.getDouble(index);
         }
-        return JSType.toNumber(sparseMap.get(indexToKey(index)));
+        return sparseMap.getDouble(indexToKey(index));
     }
 
     @Override
@@ -255,7 +237,7 @@ class SparseArrayData extends ArrayData {
         if (index >= 0 && index < maxDenseLength) {
             return underlying.getDouble(index);
         }
-        return JSType.toNumberOptimistic(sparseMap.get(indexToKey(index)), programPoint);
+        return sparseMap.getDoubleOptimistic(indexToKey(index), programPoint);
     }
 
     @Override
@@ -263,11 +245,7 @@ class SparseArrayData extends ArrayData {
         if (index >= 0 && index < maxDenseLength) {
             return underlying.getObject(index);
         }
-        var key = indexToKey(index);
-        if (sparseMap.containsKey(key)) {
-            return sparseMap.get(key);
-        }
-        return ScriptRuntime.UNDEFINED;
+        return sparseMap.get(indexToKey(index), ScriptRuntime.UNDEFINED);
     }
 
     @Override
@@ -285,7 +263,7 @@ class SparseArrayData extends ArrayData {
                 underlying = underlying.delete(index);
             }
         } else {
-            sparseMap.remove(indexToKey(index));
+            sparseMap.remove(indexToKey(index), null);
         }
         return this;
     }
@@ -296,12 +274,12 @@ class SparseArrayData extends ArrayData {
             underlying = underlying.delete(fromIndex, Math.min(toIndex, underlying.length() - 1));
         }
         if (toIndex >= maxDenseLength) {
-            sparseMap.subMap(fromIndex, true, toIndex, true).clear();
+            sparseMap.removeRange(fromIndex, toIndex + 1);
         }
         return this;
     }
 
-    private static Long indexToKey(int index) {
+    private static long indexToKey(int index) {
         return ArrayIndex.toLongIndex(index);
     }
 
@@ -325,7 +303,7 @@ class SparseArrayData extends ArrayData {
         }
         setLength(len - 1);
         var key = len - 1;
-        return sparseMap.containsKey(key) ? sparseMap.remove(key) : ScriptRuntime.UNDEFINED;
+        return sparseMap.remove(key, ScriptRuntime.UNDEFINED);
     }
 
     @Override
@@ -360,7 +338,7 @@ class SparseArrayData extends ArrayData {
             return underlying.nextIndex(index);
         }
         var nextKey = sparseMap.higherKey(index);
-        if (nextKey != null) {
+        if (nextKey >= 0) {
             return nextKey;
         }
         return length();
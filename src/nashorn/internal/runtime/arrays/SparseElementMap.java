@@ -0,0 +1,501 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.internal.runtime.arrays;
+
+import java.util.Arrays;
+
+import nashorn.internal.runtime.JSType;
+
+/**
+ * Sorted map from array index to element, used by {@link SparseArrayData} for the elements beyond its dense part.
+ *
+ * Entries are kept in chunks of sorted {@code long} keys, each holding its values in an {@code int[]}, {@code double[]} or {@code Object[]}, whichever is the narrowest that fits all of them.
+ * Keys are stored relative to an offset, so shifting all entries takes constant time.
+ */
+final class SparseElementMap {
+
+    /** Maximum number of entries in a chunk. */
+    private static final int CHUNK_LENGTH = 128;
+
+    private static final Chunk[] NO_CHUNKS = new Chunk[0];
+
+    /** Chunks in key order, none of them empty. */
+    private Chunk[] chunks;
+    private int chunkCount;
+    private int size;
+
+    /** Added to the stored keys. */
+    private long offset;
+
+    /** Index of the chunk last looked up, tried first by the next lookup. */
+    private int hint;
+
+    SparseElementMap() {
+        this.chunks = NO_CHUNKS;
+    }
+
+    private SparseElementMap(SparseElementMap other) {
+        this.chunks = new Chunk[other.chunkCount];
+        for (var i = 0; i < other.chunkCount; i++) {
+            chunks[i] = new Chunk(other.chunks[i], 0, other.chunks[i].size);
+        }
+        this.chunkCount = other.chunkCount;
+        this.size = other.size;
+        this.offset = other.offset;
+    }
+
+    SparseElementMap copy() {
+        return new SparseElementMap(this);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        chunks = NO_CHUNKS;
+        chunkCount = 0;
+        size = 0;
+        offset = 0;
+        hint = 0;
+    }
+
+    /**
+     * Adds {@code delta} to all keys.
+     * The caller makes sure no key becomes negative.
+     */
+    void shift(long delta) {
+        offset += delta;
+    }
+
+    boolean containsKey(long key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Returns the element at {@code key}, or {@code absent} if there is none.
+     */
+    Object get(long key, Object absent) {
+        var pos = find(key);
+        return pos >= 0 ? chunks[hint].get(pos) : absent;
+    }
+
+    int getInt(long key) {
+        var pos = find(key);
+        return pos >= 0 ? chunks[hint].getInt(pos) : JSType.toInt32((Object)null);
+    }
+
+    int getIntOptimistic(long key, int programPoint) {
+        var pos = find(key);
+        if (pos >= 0 && chunks[hint].ints != null) {
+            return chunks[hint].ints[pos];
+        }
+        return JSType.toInt32Optimistic(pos >= 0 ? chunks[hint].get(pos) : null, programPoint);
+    }
+
+    double getDouble(long key) {
+        var pos = find(key);
+        return pos >= 0 ? chunks[hint].getDouble(pos) : JSType.toNumber((Object)null);
+    }
+
+    double getDoubleOptimistic(long key, int programPoint) {
+        var pos = find(key);
+        if (pos >= 0 && chunks[hint].objects == null) {
+            return chunks[hint].getDouble(pos);
+        }
+        return JSType.toNumberOptimistic(pos >= 0 ? chunks[hint].get(pos) : null, programPoint);
+    }
+
+    void put(long key, int value) {
+        var pos = insert(key);
+        chunks[hint].set(pos, value);
+    }
+
+    void put(long key, double value) {
+        var pos = insert(key);
+        chunks[hint].set(pos, value);
+    }
+
+    void put(long key, Object value) {
+        var pos = insert(key);
+        chunks[hint].set(pos, value);
+    }
+
+    /**
+     * Removes the element at {@code key} and returns it, or returns {@code absent} if there is none.
+     */
+    Object remove(long key, Object absent) {
+        var pos = find(key);
+        if (pos < 0) {
+            return absent;
+        }
+        var chunk = chunks[hint];
+        var value = chunk.get(pos);
+        chunk.remove(pos, pos + 1);
+        size--;
+        if (chunk.size == 0) {
+            removeEmptyChunks(hint, hint + 1);
+        }
+        return value;
+    }
+
+    /**
+     * Removes the elements from {@code fromKey} (inclusive) to {@code toKey} (exclusive).
+     */
+    void removeRange(long fromKey, long toKey) {
+        if (size == 0 || fromKey >= toKey) {
+            return;
+        }
+        var from = fromKey - offset;
+        // toKey may be Long.MAX_VALUE
+        var to = toKey - offset < from ? Long.MAX_VALUE : toKey - offset;
+        var first = chunkFor(from);
+        var last = first;
+        while (last < chunkCount && chunks[last].keys[0] < to) {
+            var chunk = chunks[last];
+            var lo = chunk.insertionPoint(from);
+            var hi = chunk.insertionPoint(to);
+            chunk.remove(lo, hi);
+            size -= hi - lo;
+            last++;
+        }
+        removeEmptyChunks(first, last);
+    }
+
+    /**
+     * Returns the first key, or {@code -1} if the map is empty.
+     */
+    long firstKey() {
+        return size == 0 ? -1 : chunks[0].keys[0] + offset;
+    }
+
+    /**
+     * Returns the last key, or {@code -1} if the map is empty.
+     */
+    long lastKey() {
+        if (size == 0) {
+            return -1;
+        }
+        var chunk = chunks[chunkCount - 1];
+        return chunk.keys[chunk.size - 1] + offset;
+    }
+
+    /**
+     * Returns the first key greater than or equal to {@code key}, or {@code -1} if there is none.
+     */
+    long ceilingKey(long key) {
+        if (size == 0) {
+            return -1;
+        }
+        var raw = key - offset;
+        var index = chunkFor(raw);
+        var chunk = chunks[index];
+        var pos = chunk.insertionPoint(raw);
+        if (pos < chunk.size) {
+            hint = index;
+            return chunk.keys[pos] + offset;
+        }
+        if (index + 1 < chunkCount) {
+            hint = index + 1;
+            return chunks[index + 1].keys[0] + offset;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the first key greater than {@code key}, or {@code -1} if there is none.
+     */
+    long higherKey(long key) {
+        return ceilingKey(key + 1);
+    }
+
+    /**
+     * Returns the position of {@code key} in the chunk at {@link #hint}, or {@code -1} if it is not in the map.
+     */
+    private int find(long key) {
+        if (size == 0) {
+            return -1;
+        }
+        var raw = key - offset;
+        var index = chunkFor(raw);
+        var pos = chunks[index].search(raw);
+        if (pos >= 0) {
+            hint = index;
+        }
+        return pos;
+    }
+
+    /**
+     * Returns the position of {@code key} in the chunk at {@link #hint}, adding the key if needed.
+     */
+    private int insert(long key) {
+        var raw = key - offset;
+        if (chunkCount == 0) {
+            addChunk(0, new Chunk(8));
+        }
+        var index = chunkFor(raw);
+        var chunk = chunks[index];
+        var pos = chunk.search(raw);
+        if (pos >= 0) {
+            hint = index;
+            return pos;
+        }
+        pos = -pos - 1;
+        if (chunk.size == CHUNK_LENGTH) {
+            if (pos == CHUNK_LENGTH && index == chunkCount - 1) {
+                // appending in key order, leave the full chunk full
+                chunk = new Chunk(8);
+                pos = 0;
+                addChunk(++index, chunk);
+            } else {
+                var half = CHUNK_LENGTH / 2;
+                var right = new Chunk(chunk, half, CHUNK_LENGTH);
+                chunk.remove(half, CHUNK_LENGTH);
+                addChunk(index + 1, right);
+                if (pos > half) {
+                    chunk = right;
+                    pos -= half;
+                    index++;
+                }
+            }
+        }
+        chunk.open(pos, raw);
+        size++;
+        hint = index;
+        return pos;
+    }
+
+    /**
+     * Returns the index of the last chunk whose first key is not greater than {@code raw}, or {@code 0} if there is none.
+     */
+    private int chunkFor(long raw) {
+        var h = hint;
+        if (h < chunkCount && chunks[h].keys[0] <= raw && (h + 1 == chunkCount || chunks[h + 1].keys[0] > raw)) {
+            return h;
+        }
+        var lo = 0;
+        var hi = chunkCount - 1;
+        while (lo < hi) {
+            var mid = (lo + hi + 1) >>> 1;
+            if (chunks[mid].keys[0] <= raw) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    private void addChunk(int index, Chunk chunk) {
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, Math.max(4, chunkCount * 2));
+        }
+        System.arraycopy(chunks, index, chunks, index + 1, chunkCount - index);
+        chunks[index] = chunk;
+        chunkCount++;
+    }
+
+    private void removeEmptyChunks(int from, int to) {
+        var kept = from;
+        for (var i = from; i < to; i++) {
+            if (chunks[i].size != 0) {
+                chunks[kept++] = chunks[i];
+            }
+        }
+        if (kept < to) {
+            System.arraycopy(chunks, to, chunks, kept, chunkCount - to);
+            var newCount = chunkCount - (to - kept);
+            Arrays.fill(chunks, newCount, chunkCount, null);
+            chunkCount = newCount;
+            hint = 0;
+        }
+    }
+
+    /**
+     * A run of sorted keys and their values.
+     * Exactly one of the value arrays is set, and it has the same length as the keys.
+     */
+    private static final class Chunk {
+        long[] keys;
+        int[] ints;
+        double[] doubles;
+        Object[] objects;
+        int size;
+
+        Chunk(int capacity) {
+            this.keys = new long[capacity];
+            this.ints = new int[capacity];
+        }
+
+        /** Copies the entries from {@code from} (inclusive) to {@code to} (exclusive) of another chunk. */
+        Chunk(Chunk other, int from, int to) {
+            var capacity = Math.max(8, Integer.highestOneBit(to - from - 1) << 1);
+            this.keys = Arrays.copyOfRange(other.keys, from, from + capacity);
+            if (other.ints != null) {
+                this.ints = Arrays.copyOfRange(other.ints, from, from + capacity);
+            } else if (other.doubles != null) {
+                this.doubles = Arrays.copyOfRange(other.doubles, from, from + capacity);
+            } else {
+                this.objects = Arrays.copyOfRange(other.objects, from, from + capacity);
+                Arrays.fill(objects, to - from, capacity, null);
+            }
+            this.size = to - from;
+        }
+
+        int search(long raw) {
+            return Arrays.binarySearch(keys, 0, size, raw);
+        }
+
+        int insertionPoint(long raw) {
+            var pos = search(raw);
+            return pos >= 0 ? pos : -pos - 1;
+        }
+
+        Object get(int pos) {
+            if (ints != null) {
+                return ints[pos];
+            } else if (doubles != null) {
+                return doubles[pos];
+            }
+            return objects[pos];
+        }
+
+        int getInt(int pos) {
+            if (ints != null) {
+                return ints[pos];
+            } else if (doubles != null) {
+                return JSType.toInt32(doubles[pos]);
+            }
+            return JSType.toInt32(objects[pos]);
+        }
+
+        double getDouble(int pos) {
+            if (ints != null) {
+                return ints[pos];
+            } else if (doubles != null) {
+                return doubles[pos];
+            }
+            return JSType.toNumber(objects[pos]);
+        }
+
+        void set(int pos, int value) {
+            if (ints != null) {
+                ints[pos] = value;
+            } else if (doubles != null) {
+                doubles[pos] = value;
+            } else {
+                objects[pos] = value;
+            }
+        }
+
+        void set(int pos, double value) {
+            if (ints != null) {
+                toDoubles();
+            }
+            if (doubles != null) {
+                doubles[pos] = value;
+            } else {
+                objects[pos] = value;
+            }
+        }
+
+        void set(int pos, Object value) {
+            if (value instanceof Integer) {
+                set(pos, ((Integer)value).intValue());
+            } else if (value instanceof Double) {
+                set(pos, ((Double)value).doubleValue());
+            } else {
+                toObjects();
+                objects[pos] = value;
+            }
+        }
+
+        private void toDoubles() {
+            doubles = new double[keys.length];
+            for (var i = 0; i < size; i++) {
+                doubles[i] = ints[i];
+            }
+            ints = null;
+        }
+
+        private void toObjects() {
+            if (objects == null) {
+                objects = new Object[keys.length];
+                for (var i = 0; i < size; i++) {
+                    objects[i] = get(i);
+                }
+                ints = null;
+                doubles = null;
+            }
+        }
+
+        /** Inserts {@code raw} at {@code pos}, leaving its value to be set. */
+        void open(int pos, long raw) {
+            if (size == keys.length) {
+                var capacity = Math.min(CHUNK_LENGTH, size * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                if (ints != null) {
+                    ints = Arrays.copyOf(ints, capacity);
+                } else if (doubles != null) {
+                    doubles = Arrays.copyOf(doubles, capacity);
+                } else {
+                    objects = Arrays.copyOf(objects, capacity);
+                }
+            }
+            var moved = size - pos;
+            System.arraycopy(keys, pos, keys, pos + 1, moved);
+            if (ints != null) {
+                System.arraycopy(ints, pos, ints, pos + 1, moved);
+            } else if (doubles != null) {
+                System.arraycopy(doubles, pos, doubles, pos + 1, moved);
+            } else {
+                System.arraycopy(objects, pos, objects, pos + 1, moved);
+            }
+            keys[pos] = raw;
+            size++;
+        }
+
+        /** Removes the entries from {@code from} (inclusive) to {@code to} (exclusive). */
+        void remove(int from, int to) {
+            var moved = size - to;
+            System.arraycopy(keys, to, keys, from, moved);
+            if (ints != null) {
+                System.arraycopy(ints, to, ints, from, moved);
+            } else if (doubles != null) {
+                System.arraycopy(doubles, to, doubles, from, moved);
+            } else {
+                System.arraycopy(objects, to, objects, from, moved);
+                Arrays.fill(objects, from + moved, size, null);
+            }
+            size -= to - from;
+        }
+    }
+
+}
@@ -91,7 +91,7 @@ final class UndefinedArrayFilter extends ArrayFilter {
 
     @Override
     public ArrayData ensure(long safeIndex) {
-        if (safeIndex >= SparseArrayData.MAX_DENSE_LENGTH && safeIndex >= length()) {
+        if (safeIndex >= SparseArrayData.MAX_DENSE_LENGTH && safeIndex >= length() && !OffHeapArrayData.canGrow(getUnderlying(), safeIndex)) {
             return new SparseArrayData(this, safeIndex + 1);
         }
         super.ensure(safeIndex);
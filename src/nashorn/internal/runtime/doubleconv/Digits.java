@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.internal.runtime.doubleconv;
+
+/**
+ * Helpers for writing decimal digits and laying them out in the ECMA number formats.
+ * <p>
+ * The digit generators append a plain run of digits to the destination; the layout methods then insert the decimal point, leading zeros and exponent in place, given the index where the run starts.
+ */
+final class Digits {
+
+    private Digits() {}
+
+    /** Powers of ten that fit in a {@code long}. */
+    static final long[] POW10 = new long[19];
+
+    static {
+        var p = 1L;
+        for (var i = 0; i < POW10.length; i++) {
+            POW10[i] = p;
+            p *= 10;
+        }
+    }
+
+    /**
+     * Number of decimal digits in a non-negative {@code long}.
+     */
+    static int count(long f) {
+        assert f >= 0;
+        var k = 1;
+        while (k < POW10.length && f >= POW10[k]) {
+            k++;
+        }
+        return k;
+    }
+
+    /**
+     * Append the {@code k} digits of {@code f}.
+     */
+    static void append(StringBuilder sb, long f, int k) {
+        for (var i = k - 1; i >= 0; i--) {
+            var p = POW10[i];
+            var d = f / p;
+            sb.append((char)('0' + d));
+            f -= d * p;
+        }
+    }
+
+    /**
+     * Append all digits of a non-negative {@code f}.
+     */
+    static void append(StringBuilder sb, long f) {
+        append(sb, f, count(f));
+    }
+
+    /**
+     * Append {@code n} zeros.
+     */
+    static void appendZeros(StringBuilder sb, int n) {
+        for (var i = 0; i < n; i++) {
+            sb.append('0');
+        }
+    }
+
+    /**
+     * Lay out the digits starting at {@code start} as ECMA 9.8.1 ToString does, with {@code n} the decimal point position.
+     */
+    static void shortest(StringBuilder sb, int start, int n) {
+        var k = sb.length() - start;
+        if (k <= n && n <= 21) {
+            // integer, possibly with trailing zeros
+            appendZeros(sb, n - k);
+        } else if (0 < n && n <= 21) {
+            // decimal point inside the digits
+            sb.insert(start + n, '.');
+        } else if (-6 < n && n <= 0) {
+            // leading zeros after the decimal point
+            leadingZeros(sb, start, -n);
+        } else {
+            exponential(sb, start, n - 1);
+        }
+    }
+
+    /**
+     * Lay out the digits starting at {@code start} as {@code d.ddd} followed by the exponent {@code e}.
+     */
+    static void exponential(StringBuilder sb, int start, int e) {
+        if (sb.length() - start > 1) {
+            sb.insert(start + 1, '.');
+        }
+        sb.append('e').append(e < 0 ? '-' : '+').append(Math.abs(e));
+    }
+
+    /**
+     * Lay out the digits starting at {@code start} as a number with {@code f} fraction digits.
+     */
+    static void fixed(StringBuilder sb, int start, int f) {
+        if (f > 0) {
+            var k = sb.length() - start;
+            if (k <= f) {
+                leadingZeros(sb, start, f - k);
+            } else {
+                sb.insert(sb.length() - f, '.');
+            }
+        }
+    }
+
+    // insert "0." and z zeros in front of the digits starting at start
+    private static void leadingZeros(StringBuilder sb, int start, int z) {
+        for (var i = 0; i < z; i++) {
+            sb.insert(start, '0');
+        }
+        sb.insert(start, "0.");
+    }
+
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.internal.runtime.doubleconv;
+
+/**
+ * Conversion of doubles to their JavaScript string representations.
+ * <p>
+ * Each conversion comes in two forms: one returning a String, and one appending to a caller-supplied {@link StringBuilder} so callers that are already building a string don't need a temporary one.
+ */
+public final class DoubleConversion {
+
+    private DoubleConversion() {}
+
+    /**
+     * Converts a double to its shortest round-trip string representation, as specified by ECMA 9.8.1 ToString applied to the Number type.
+     * @param value the number to convert
+     * @return the string representation
+     */
+    public static String toShortestString(double value) {
+        var sb = new StringBuilder(24);
+        toShortestString(value, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Appends the shortest round-trip string representation of a double, as specified by ECMA 9.8.1, to {@code sb}.
+     * @param value the number to convert
+     * @param sb    the destination
+     */
+    public static void toShortestString(double value, StringBuilder sb) {
+        if (Double.isNaN(value)) {
+            sb.append("NaN");
+            return;
+        }
+        if (value < 0) {
+            sb.append('-');
+            value = -value;
+        }
+        if (value == 0.0) {
+            sb.append('0');
+        } else if (value == Double.POSITIVE_INFINITY) {
+            sb.append("Infinity");
+        } else {
+            var start = sb.length();
+            Digits.shortest(sb, start, ShortestDtoa.toDigits(value, sb));
+        }
+    }
+
+    /**
+     * Converts a double to fixed-point notation, as specified by ECMA 15.7.4.5 Number.prototype.toFixed.
+     * @param value          the number to convert
+     * @param fractionDigits the number of digits after the decimal point, in [0, 20]
+     * @return the string representation
+     */
+    public static String toFixed(double value, int fractionDigits) {
+        var sb = new StringBuilder(24 + fractionDigits);
+        toFixed(value, fractionDigits, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Appends the fixed-point notation of a double, as specified by ECMA 15.7.4.5, to {@code sb}.
+     * @param value          the number to convert
+     * @param fractionDigits the number of digits after the decimal point, in [0, 20]
+     * @param sb             the destination
+     */
+    public static void toFixed(double value, int fractionDigits, StringBuilder sb) {
+        assert fractionDigits >= 0 && fractionDigits <= 20;
+        if (!Double.isFinite(value) || Math.abs(value) >= 1e21) {
+            toShortestString(value, sb);
+            return;
+        }
+        if (value < 0) {
+            sb.append('-');
+            value = -value;
+        }
+        var start = sb.length();
+        FixedDtoa.fixedDigits(value, fractionDigits, sb);
+        Digits.fixed(sb, start, fractionDigits);
+    }
+
+    /**
+     * Converts a double to exponential notation, as specified by ECMA 15.7.4.6 Number.prototype.toExponential.
+     * @param value          the number to convert
+     * @param fractionDigits the number of digits after the decimal point, in [0, 20], or -1 for as many digits as needed to represent the value uniquely
+     * @return the string representation
+     */
+    public static String toExponential(double value, int fractionDigits) {
+        var sb = new StringBuilder(32);
+        toExponential(value, fractionDigits, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Appends the exponential notation of a double, as specified by ECMA 15.7.4.6, to {@code sb}.
+     * @param value          the number to convert
+     * @param fractionDigits the number of digits after the decimal point, in [0, 20], or -1 for as many digits as needed to represent the value uniquely
+     * @param sb             the destination
+     */
+    public static void toExponential(double value, int fractionDigits, StringBuilder sb) {
+        assert fractionDigits >= -1 && fractionDigits <= 20;
+        if (!Double.isFinite(value)) {
+            toShortestString(value, sb);
+            return;
+        }
+        if (value < 0) {
+            sb.append('-');
+            value = -value;
+        }
+        var start = sb.length();
+        int e;
+        if (value == 0.0) {
+            sb.append('0');
+            Digits.appendZeros(sb, fractionDigits);
+            e = 0;
+        } else if (fractionDigits < 0) {
+            e = ShortestDtoa.toDigits(value, sb) - 1;
+        } else {
+            e = FixedDtoa.precisionDigits(value, fractionDigits + 1, sb);
+        }
+        Digits.exponential(sb, start, e);
+    }
+
+    /**
+     * Converts a double to a given number of significant digits, as specified by ECMA 15.7.4.7 Number.prototype.toPrecision.
+     * @param value     the number to convert
+     * @param precision the number of significant digits, in [1, 21]
+     * @return the string representation
+     */
+    public static String toPrecision(double value, int precision) {
+        var sb = new StringBuilder(32);
+        toPrecision(value, precision, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Appends the representation of a double with a given number of significant digits, as specified by ECMA 15.7.4.7, to {@code sb}.
+     * @param value     the number to convert
+     * @param precision the number of significant digits, in [1, 21]
+     * @param sb        the destination
+     */
+    public static void toPrecision(double value, int precision, StringBuilder sb) {
+        assert precision >= 1 && precision <= 21;
+        if (!Double.isFinite(value)) {
+            toShortestString(value, sb);
+            return;
+        }
+        if (value < 0) {
+            sb.append('-');
+            value = -value;
+        }
+        var start = sb.length();
+        if (value == 0.0) {
+            sb.append('0');
+            Digits.appendZeros(sb, precision - 1);
+            Digits.fixed(sb, start, precision - 1);
+            return;
+        }
+        var e = FixedDtoa.precisionDigits(value, precision, sb);
+        if (e < -6 || e >= precision) {
+            Digits.exponential(sb, start, e);
+        } else {
+            Digits.fixed(sb, start, precision - 1 - e);
+        }
+    }
+
+}
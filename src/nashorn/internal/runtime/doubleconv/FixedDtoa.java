@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.internal.runtime.doubleconv;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Correctly rounded conversion of a finite, non-negative double to a fixed number of fraction digits or significant digits.
+ * <p>
+ * Ties are resolved towards the larger digit sequence, as required by {@code Number.prototype.toFixed}, {@code toExponential} and {@code toPrecision}.
+ * Results of up to 18 digits are computed exactly with 128-bit {@code long} arithmetic and appended without any allocation.
+ * Wider results, and the few ranges where the binary exponent is too large for that, fall back to {@link BigDecimal}.
+ */
+final class FixedDtoa {
+
+    private FixedDtoa() {}
+
+    // as in ShortestDtoa
+    private static final int P = 53;
+    private static final int Q_MIN = -1074;
+    private static final long C_MIN = 1L << (P - 1);
+    private static final long T_MASK = C_MIN - 1;
+    private static final int BQ_MASK = 0x7ff;
+
+    // the largest number of digits computed without falling back
+    private static final int MAX_DIGITS = 18;
+
+    /**
+     * Append the digits of {@code round(v * 10^f)}, for {@code 0 <= f <= 20} and {@code v < 10^21}.
+     * The result has at least one digit.
+     */
+    static void fixedDigits(double v, int f, StringBuilder sb) {
+        assert v >= 0 && f >= 0 && f <= 20;
+        var n = scaledRound(v, f);
+        if (n >= 0) {
+            Digits.append(sb, n);
+        } else {
+            sb.append(new BigDecimal(v).setScale(f, RoundingMode.HALF_UP).unscaledValue());
+        }
+    }
+
+    /**
+     * Append exactly {@code p} significant digits of a positive {@code v}, for {@code 1 <= p <= 21}.
+     * @return the exponent e of the first digit, i.e. the value is {@code d1.d2...dp * 10^e}
+     */
+    static int precisionDigits(double v, int p, StringBuilder sb) {
+        assert v > 0 && p >= 1 && p <= 21;
+        if (p <= MAX_DIGITS) {
+            var lo = Digits.POW10[p - 1];
+            // the estimate can be off by one either way, which the loop corrects
+            var e = (int)Math.floor(Math.log10(v));
+            for (var i = 0; i < 3; i++) {
+                var n = scaledRound(v, p - 1 - e);
+                if (n < 0) {
+                    break;
+                }
+                if (n < lo) {
+                    e--;
+                } else if (n == lo) {
+                    // v may lie just below 10^e, if the estimate was one too high
+                    var m = scaledRound(v, p - e);
+                    if (m < 0) {
+                        break;
+                    }
+                    if (m < lo * 10) {
+                        Digits.append(sb, m, p);
+                        return e - 1;
+                    }
+                    Digits.append(sb, lo, p);
+                    return e;
+                } else if (n < lo * 10) {
+                    Digits.append(sb, n, p);
+                    return e;
+                } else if (n == lo * 10) {
+                    // rounded up to the next power of ten
+                    Digits.append(sb, lo, p);
+                    return e + 1;
+                } else {
+                    e++;
+                }
+            }
+        }
+
+        var bd = new BigDecimal(v).round(new MathContext(p, RoundingMode.HALF_UP));
+        var digits = bd.unscaledValue().toString();
+        var k = digits.length();
+        sb.append(digits);
+        Digits.appendZeros(sb, p - k);
+        return k - 1 - bd.scale();
+    }
+
+    /**
+     * Computes {@code round(v * 10^m)} with ties rounded up, for {@code -18 <= m <= 22}.
+     * @return the rounded value, or -1 if it does not fit in a {@code long} or is out of reach of the fast path
+     */
+    private static long scaledRound(double v, int m) {
+        var bits = Double.doubleToRawLongBits(v);
+        var t = bits & T_MASK;
+        var bq = (int)(bits >>> (P - 1)) & BQ_MASK;
+        if (bq == 0 && t == 0) {
+            return 0;
+        }
+        // v = c * 2^q
+        var c = bq == 0 ? t : C_MIN | t;
+        var q = bq == 0 ? Q_MIN : bq + Q_MIN - 1;
+
+        if (m >= 0) {
+            if (m > 22) {
+                return -1;
+            }
+            // 128-bit product c * 10^m
+            var pm = Math.min(m, MAX_DIGITS);
+            var lo = c * Digits.POW10[pm];
+            var hi = Math.multiplyHigh(c, Digits.POW10[pm]);
+            if (m > pm) {
+                var k = Digits.POW10[m - pm];
+                hi = hi * k + unsignedMultiplyHigh(lo, k);
+                lo = lo * k;
+            }
+            if (q >= 0) {
+                return (hi == 0 && Long.numberOfLeadingZeros(lo) > q) ? lo << q : -1;
+            }
+            return roundShiftRight(hi, lo, -q);
+        }
+
+        if (m < -MAX_DIGITS) {
+            return -1;
+        }
+        var d = Digits.POW10[-m];
+        if (q >= 0) {
+            // v is an integer, divide it by 10^-m
+            if (Long.numberOfLeadingZeros(c) <= q) {
+                return -1;
+            }
+            return roundDivide(c << q, d);
+        }
+        // divide c by 10^-m * 2^-q if that fits
+        if (Long.numberOfLeadingZeros(d) <= -q) {
+            return -1;
+        }
+        return roundDivide(c, d << -q);
+    }
+
+    // round(n / d) with ties rounded up, for positive n and d
+    private static long roundDivide(long n, long d) {
+        var quotient = n / d;
+        var remainder = n - quotient * d;
+        return remainder >= d - remainder ? quotient + 1 : quotient;
+    }
+
+    // round((hi * 2^64 + lo) / 2^s) with ties rounded up, or -1 if that does not fit in a long
+    private static long roundShiftRight(long hi, long lo, int s) {
+        assert s > 0;
+        if (s >= 128) {
+            return (s == 128 && hi < 0) ? 1 : 0;
+        }
+        long qhi, qlo;
+        boolean half;
+        if (s < 64) {
+            qhi = hi >>> s;
+            qlo = (lo >>> s) | (hi << (64 - s));
+            half = ((lo >>> (s - 1)) & 1) != 0;
+        } else {
+            qhi = 0;
+            qlo = hi >>> (s - 64);
+            half = ((s == 64 ? lo >>> 63 : hi >>> (s - 65)) & 1) != 0;
+        }
+        if (qhi != 0 || qlo < 0) {
+            return -1;
+        }
+        if (half) {
+            qlo++;
+        }
+        return qlo < 0 ? -1 : qlo;
+    }
+
+    // high 64 bits of the unsigned 128-bit product of a and b
+    private static long unsignedMultiplyHigh(long a, long b) {
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+
+}
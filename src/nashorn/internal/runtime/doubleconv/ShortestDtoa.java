@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.internal.runtime.doubleconv;
+
+import java.math.BigInteger;
+
+/**
+ * Shortest round-trip conversion of a finite, non-zero double to decimal digits.
+ * <p>
+ * This is an implementation of Raffaello Giulietti's Schubfach algorithm ("The Schubfach way to render doubles", 2020).
+ * The decimal {@code f * 10^e} produced for a double {@code v} is the one with the fewest digits that still rounds to {@code v}, choosing the one closest to {@code v} if there is more than one.
+ * The conversion only uses {@code long} arithmetic and appends the digits straight to the destination; no intermediate {@code BigDecimal} or {@code String} is created.
+ */
+final class ShortestDtoa {
+
+    private ShortestDtoa() {}
+
+    // precision of a double in bits, including the hidden bit
+    private static final int P = 53;
+
+    // minimum binary exponent of the least significant bit
+    private static final int Q_MIN = -1074;
+
+    // significand of the smallest normal value, and mask of the explicitly stored significand bits
+    private static final long C_MIN = 1L << (P - 1);
+    private static final long T_MASK = C_MIN - 1;
+
+    // mask of the biased exponent
+    private static final int BQ_MASK = 0x7ff;
+
+    // range of decimal exponents k that can occur
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+
+    private static final long MASK_63 = 0x7fff_ffff_ffff_ffffL;
+
+    /**
+     * Append the shortest decimal digits of the absolute value of a finite, non-zero double to {@code sb}.
+     * The digits have no trailing zeros.
+     * @return the decimal point position n, as in ECMA 9.8.1: the value is {@code 0.d1d2...dk * 10^n}
+     */
+    static int toDigits(double v, StringBuilder sb) {
+        var bits = Double.doubleToRawLongBits(v);
+        var t = bits & T_MASK;
+        var bq = (int)(bits >>> (P - 1)) & BQ_MASK;
+        assert bq < BQ_MASK : "not finite";
+
+        if (bq != 0) {
+            // normal value, mq = -q
+            var mq = -Q_MIN + 1 - bq;
+            var c = C_MIN | t;
+            // integers below 2^53 need no conversion
+            if (0 < mq && mq < P) {
+                var f = c >> mq;
+                if (f << mq == c) {
+                    return toDigits(sb, f, 0);
+                }
+            }
+            return toDecimal(-mq, c, sb);
+        } else {
+            // subnormal value; unlike Java's Double.toString, a single digit is fine for tiny significands
+            assert t != 0 : "zero";
+            return toDecimal(Q_MIN, t, sb);
+        }
+    }
+
+    private static int toDecimal(int q, long c, StringBuilder sb) {
+        var out = (int)c & 0x1;
+        var cb = c << 2;
+        var cbr = cb + 2;
+        long cbl;
+        int k;
+        // the rounding interval is asymmetric at a power of two
+        if (c != C_MIN || q == Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        var h = q + flog2pow10(-k) + 2;
+
+        var g1 = Powers.g1(k);
+        var g0 = Powers.g0(k);
+
+        var vb = rop(g1, g0, cb << h);
+        var vbl = rop(g1, g0, cbl << h);
+        var vbr = rop(g1, g0, cbr << h);
+
+        var s = vb >> 2;
+        // the paper only needs this for s >= 100, but tiny subnormals can have a shorter form too
+        if (s >= 10) {
+            // try one digit less: sp10 = 10 * floor(s / 10)
+            var sp10 = 10 * Math.multiplyHigh(s, 115_292_150_460_684_698L << 4);
+            var tp10 = sp10 + 10;
+            var upin = vbl + out <= sp10 << 2;
+            var wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return toDigits(sb, upin ? sp10 : tp10, k);
+            }
+        }
+
+        var t = s + 1;
+        var uin = vbl + out <= s << 2;
+        var win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            // exactly one of s and t is in the rounding interval
+            return toDigits(sb, uin ? s : t, k);
+        }
+        // both are, take the closer one and break ties to even
+        var cmp = vb - ((s + t) << 1);
+        return toDigits(sb, cmp < 0 || (cmp == 0 && (s & 0x1) == 0) ? s : t, k);
+    }
+
+    // append the digits of f * 10^e without trailing zeros and return the decimal point position
+    private static int toDigits(StringBuilder sb, long f, int e) {
+        assert f > 0;
+        while (f % 10 == 0) {
+            f /= 10;
+            e++;
+        }
+        var k = Digits.count(f);
+        Digits.append(sb, f, k);
+        return k + e;
+    }
+
+    // rounded-to-odd value of cp * g * 2^-127, where g = g1 * 2^63 + g0
+    private static long rop(long g1, long g0, long cp) {
+        var x1 = Math.multiplyHigh(g0, cp);
+        var y0 = g1 * cp;
+        var y1 = Math.multiplyHigh(g1, cp);
+        var z = (y0 >>> 1) + x1;
+        var vbp = y1 + (z >>> 63);
+        return vbp | ((z & MASK_63) + MASK_63) >>> 63;
+    }
+
+    // floor(e * log10(2))
+    static int flog10pow2(int e) {
+        return (int)((e * 661_971_961_083L) >> 41);
+    }
+
+    // floor(log10(3/4 * 2^e))
+    static int flog10threeQuartersPow2(int e) {
+        return (int)((e * 661_971_961_083L - 274_743_187_321L) >> 41);
+    }
+
+    // floor(e * log2(10))
+    static int flog2pow10(int e) {
+        return (int)((e * 913_124_641_741L) >> 38);
+    }
+
+    /**
+     * The 126-bit approximations g of 10^-k, split into two 63-bit halves.
+     * For each k, 10^-k = beta * 2^r with 2^125 <= beta < 2^126, and g = floor(beta) + 1.
+     * The table is computed once, when the first non-trivial conversion needs it.
+     */
+    private static final class Powers {
+
+        private static final long[] G = new long[(K_MAX - K_MIN + 1) << 1];
+
+        static {
+            var mask = BigInteger.ONE.shiftLeft(63).subtract(BigInteger.ONE);
+            for (var k = K_MIN; k <= K_MAX; k++) {
+                var r = flog2pow10(-k) - 125;
+                BigInteger g;
+                if (k <= 0) {
+                    var pow = BigInteger.TEN.pow(-k);
+                    g = r >= 0 ? pow.shiftRight(r) : pow.shiftLeft(-r);
+                } else {
+                    g = BigInteger.ONE.shiftLeft(-r).divide(BigInteger.TEN.pow(k));
+                }
+                g = g.add(BigInteger.ONE);
+                assert g.bitLength() == 126 || g.bitLength() == 127 && g.subtract(BigInteger.ONE).bitLength() == 126;
+                var i = (k - K_MIN) << 1;
+                G[i] = g.shiftRight(63).longValue();
+                G[i + 1] = g.and(mask).longValue();
+            }
+        }
+
+        static long g1(int k) {
+            return G[(k - K_MIN) << 1];
+        }
+
+        static long g0(int k) {
+            return G[((k - K_MIN) << 1) + 1];
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.internal.runtime.linker;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Collects the call sites linked with profiling enabled, by {@code --profile-callsites} or the {@code nashorn.profile.callsites} system property.
+ * <p>
+ * For each call site the report lists the script location, operation and name, followed by how often it was invoked, linked, reset as unstable (megamorphic),
+ * how often one of its guards failed, and how many distinct property maps its receivers had.
+ * The report is printed to {@code System.err} when the VM exits, and is available on demand from the {@link CallSiteProfilerMXBean}.
+ * <p>
+ * Profiled call sites are held for the lifetime of the VM so that they can be reported.
+ */
+public final class CallSiteProfiler implements CallSiteProfilerMXBean {
+
+    /** The name the MXBean is registered under. */
+    public static final String OBJECT_NAME = "nashorn:type=CallSiteProfiler";
+
+    private static final CallSiteProfiler INSTANCE = new CallSiteProfiler();
+
+    private final Queue<ProfilingLinkerCallSite> sites = new ConcurrentLinkedQueue<>();
+
+    private CallSiteProfiler() {}
+
+    // register the MXBean and the exit report with the first profiled call site
+    private static final class Installer {
+        static {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                // the report is still printed at exit
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> System.err.print(INSTANCE.getReport()), "nashorn-callsite-profile"));
+        }
+
+        static void install() {}
+    }
+
+    static void register(ProfilingLinkerCallSite site) {
+        Installer.install();
+        INSTANCE.sites.add(site);
+    }
+
+    /**
+     * Get the profiler.
+     */
+    public static CallSiteProfiler getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public int getCallSiteCount() {
+        return sites.size();
+    }
+
+    @Override
+    public String getReport() {
+        var list = new ArrayList<ProfilingLinkerCallSite>(sites);
+        var hits = new long[list.size()];
+        var order = new ArrayList<Integer>(list.size());
+        for (var i = 0; i < hits.length; i++) {
+            hits[i] = list.get(i).hits.sum();
+            order.add(i);
+        }
+        order.sort(Comparator.comparingLong((Integer i) -> hits[i]).reversed());
+
+        var sw = new StringWriter();
+        var out = new PrintWriter(sw);
+        out.printf("%-40s %-20s %-24s %12s %7s %7s %9s %5s%n", "location", "operation", "name", "hits", "links", "resets", "failures", "maps");
+        for (var i : order) {
+            var site = list.get(i);
+            var desc = site.getNashornDescriptor();
+            var name = NashornCallSiteDescriptor.getOperand(desc);
+            var maps = site.getMapCount();
+            out.printf("%-40s %-20s %-24s %12d %7d %7d %9d %5s%n",
+                site.location,
+                NashornCallSiteDescriptor.getOperationName(NashornCallSiteDescriptor.getFlags(desc)),
+                name != null ? name : "",
+                hits[i],
+                site.links,
+                site.resets,
+                site.guardFailures.sum(),
+                maps > ProfilingLinkerCallSite.MAX_MAPS ? ProfilingLinkerCallSite.MAX_MAPS + "+" : Integer.toString(maps));
+        }
+        out.flush();
+        return sw.toString();
+    }
+
+    @Override
+    public void reset() {
+        for (var site : sites) {
+            site.reset();
+        }
+    }
+
+}
@@ -30,6 +30,8 @@ import java.lang.invoke.MethodType;
 
 import jdk.dynalink.support.ChainedCallSite;
 
+import nashorn.internal.runtime.Context;
+
 /**
  * Relinkable form of call site.
  */
@@ -47,10 +49,13 @@ public class LinkerCallSite extends ChainedCallSite {
      * @param name     Name of method.
      * @param type     Method type.
      * @param flags    Call site specific flags.
-     * @return New LinkerCallSite.
+     * @return New LinkerCallSite, profiled if the context of the lookup class profiles call sites.
      */
     static LinkerCallSite newLinkerCallSite(MethodHandles.Lookup lookup, String name, MethodType type, int flags) {
         final NashornCallSiteDescriptor desc = NashornCallSiteDescriptor.get(lookup, name, type, flags);
+        if (Context.profileCallSites(lookup.lookupClass())) {
+            return new ProfilingLinkerCallSite(desc);
+        }
         return new LinkerCallSite(desc);
     }
 
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.internal.runtime.linker;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.dynalink.linker.GuardedInvocation;
+
+import nashorn.internal.runtime.ECMAErrors;
+import nashorn.internal.runtime.PropertyMap;
+import nashorn.internal.runtime.ScriptObject;
+import static nashorn.internal.lookup.Lookup.MH;
+
+/**
+ * Linker call site that counts how it is used, for the report of {@link CallSiteProfiler}.
+ * <p>
+ * Every target set on the site is wrapped to count invocations and to record the property map of the receiver,
+ * and every guard it is linked with is wrapped to count the times it fails.
+ */
+final class ProfilingLinkerCallSite extends LinkerCallSite {
+
+    /** Receiver maps beyond this many are not recorded. */
+    static final int MAX_MAPS = 64;
+
+    private static final MethodHandle PROFILE_ENTRY          = findOwnMH("profileEntry", void.class);
+    private static final MethodHandle PROFILE_RECEIVER_ENTRY = findOwnMH("profileEntry", void.class, Object.class);
+    private static final MethodHandle PROFILE_GUARD          = findOwnMH("profileGuard", boolean.class, boolean.class);
+
+    final String location;
+
+    final LongAdder hits = new LongAdder();
+    final LongAdder guardFailures = new LongAdder();
+    volatile int links;
+    volatile int resets;
+
+    private final Set<PropertyMap> maps = Collections.newSetFromMap(new WeakHashMap<>());
+    private volatile PropertyMap lastMap;
+
+    ProfilingLinkerCallSite(NashornCallSiteDescriptor descriptor) {
+        super(descriptor);
+        this.location = findLocation(descriptor);
+        CallSiteProfiler.register(this);
+    }
+
+    // the innermost script frame is the one whose invokedynamic instruction is being bootstrapped
+    private static String findLocation(NashornCallSiteDescriptor descriptor) {
+        return StackWalker.getInstance().walk(frames -> frames
+            .map(StackWalker.StackFrame::toStackTraceElement)
+            .filter(ECMAErrors::isScriptFrame)
+            .findFirst()
+            .map(frame -> frame.getFileName() + ':' + frame.getLineNumber())
+            .orElse(descriptor.getLookup().lookupClass().getName()));
+    }
+
+    @Override
+    public void setTarget(MethodHandle target) {
+        var type = target.type();
+        MethodHandle entry;
+        if (type.parameterCount() == 0) {
+            entry = PROFILE_ENTRY.bindTo(this);
+        } else {
+            entry = PROFILE_RECEIVER_ENTRY.bindTo(this).asType(type.dropParameterTypes(1, type.parameterCount()).changeReturnType(void.class));
+        }
+        super.setTarget(MethodHandles.foldArguments(target, entry));
+    }
+
+    @Override
+    public void relink(GuardedInvocation guardedInvocation, MethodHandle relinkAndInvoke) {
+        links++;
+        super.relink(profileGuard(guardedInvocation), relinkAndInvoke);
+    }
+
+    @Override
+    public void resetAndRelink(GuardedInvocation guardedInvocation, MethodHandle relinkAndInvoke) {
+        links++;
+        resets++;
+        super.resetAndRelink(profileGuard(guardedInvocation), relinkAndInvoke);
+    }
+
+    private GuardedInvocation profileGuard(GuardedInvocation guardedInvocation) {
+        var guard = guardedInvocation.getGuard();
+        if (guard == null) {
+            return guardedInvocation;
+        }
+        return guardedInvocation.replaceMethods(guardedInvocation.getInvocation(), MethodHandles.filterReturnValue(guard, PROFILE_GUARD.bindTo(this)));
+    }
+
+    /**
+     * The number of distinct property maps seen on receivers, or {@link #MAX_MAPS} + 1 if there were more.
+     */
+    int getMapCount() {
+        synchronized (maps) {
+            return maps.size();
+        }
+    }
+
+    void reset() {
+        hits.reset();
+        guardFailures.reset();
+        links = 0;
+        resets = 0;
+        synchronized (maps) {
+            maps.clear();
+        }
+        lastMap = null;
+    }
+
+    @SuppressWarnings("unused")
+    private void profileEntry() {
+        hits.increment();
+    }
+
+    @SuppressWarnings("unused")
+    private void profileEntry(Object receiver) {
+        hits.increment();
+        if (receiver instanceof ScriptObject) {
+            var map = ((ScriptObject)receiver).getMap();
+            if (map != lastMap) {
+                lastMap = map;
+                synchronized (maps) {
+                    if (maps.size() <= MAX_MAPS) {
+                        maps.add(map);
+                    }
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private boolean profileGuard(boolean passed) {
+        if (!passed) {
+            guardFailures.increment();
+        }
+        return passed;
+    }
+
+    private static MethodHandle findOwnMH(String name, Class<?> rtype, Class<?>... types) {
+        return MH.findVirtual(MethodHandles.lookup(), ProfilingLinkerCallSite.class, name, MH.type(rtype, types));
+    }
+
+}
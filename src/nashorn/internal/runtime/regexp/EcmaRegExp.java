@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.internal.runtime.regexp;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import nashorn.internal.runtime.ParserException;
+import nashorn.internal.runtime.options.Options;
+
+/**
+ * Regular expression implementation that compiles ECMAScript syntax directly to a {@link RegExpProgram}, without translating it to a {@code java.util.regex} pattern.
+ *
+ * Programs without backreferences or lookaheads are first run by the backtracking matcher with an instruction budget;
+ * if the budget runs out the search is repeated by the linear-time {@link RegExpPikeVM}, so pathological patterns cannot take exponential time.
+ * Matcher state is recycled between searches instead of being allocated for every match.
+ * Once a regexp has been searched often enough, its program is translated to a JVM class by {@link RegExpCodeGenerator} and run from there.
+ */
+public class EcmaRegExp extends RegExp {
+
+    /** Budget per input character for the backtracking matcher on linear programs, in multiples of the program length. */
+    private static final int BACKTRACK_FACTOR = 4;
+
+    /**
+     * Number of searches after which a regexp is translated to JVM bytecode, set by the {@code nashorn.regexp.jit.threshold} system property.
+     * A negative value disables translation.
+     */
+    private static final int JIT_THRESHOLD = Options.getIntProperty("nashorn.regexp.jit.threshold", 1000);
+
+    private final RegExpProgram program;
+
+    /** Generated code for this regexp once it is hot, see {@link RegExpCodeGenerator}. */
+    private volatile RegExpCode code;
+    private volatile boolean jitDone;
+    private int searchCount;
+
+    private final AtomicReference<RegExpBacktracker> spareBacktracker = new AtomicReference<>();
+    private final AtomicReference<RegExpPikeVM> sparePikeVM = new AtomicReference<>();
+
+    /**
+     * Construct a Regular expression from the given {@code source} and {@code flags} strings.
+     */
+    public EcmaRegExp(String source, String flags) throws ParserException {
+        super(source, flags);
+        this.program = EcmaRegExpCompiler.compile(source, isIgnoreCase(), isMultiline());
+    }
+
+    @Override
+    public RegExpMatcher match(String str) {
+        return new EcmaMatcher(str);
+    }
+
+    /**
+     * Runs a search, storing the capture slots of a match in {@code groups}.
+     */
+    private boolean search(String input, int start, int[] groups) {
+        var compiled = code;
+        if (compiled == null && JIT_THRESHOLD >= 0 && !jitDone && ++searchCount >= JIT_THRESHOLD) {
+            compiled = tierUp();
+        }
+        var backtracker = spareBacktracker.getAndSet(null);
+        if (backtracker == null) {
+            backtracker = new RegExpBacktracker(program);
+        }
+        try {
+            var budget = program.linear ? (long)BACKTRACK_FACTOR * program.code.length * (input.length() - start + 1) : -1;
+            if (compiled != null) {
+                // the generated code uses the backtracker's slots as scratch space
+                var result = compiled.search(input, start, backtracker.slots, budget < 0 ? Long.MAX_VALUE : budget);
+                if (result == 1) {
+                    System.arraycopy(backtracker.slots, 0, groups, 0, groups.length);
+                    return true;
+                }
+                if (result == 0) {
+                    return false;
+                }
+            } else {
+                if (backtracker.search(input, start, budget)) {
+                    System.arraycopy(backtracker.slots, 0, groups, 0, groups.length);
+                    return true;
+                }
+                if (!backtracker.isExhausted()) {
+                    return false;
+                }
+            }
+        } finally {
+            spareBacktracker.set(backtracker);
+        }
+
+        var pikeVM = sparePikeVM.getAndSet(null);
+        if (pikeVM == null) {
+            pikeVM = new RegExpPikeVM(program);
+        }
+        try {
+            if (pikeVM.search(input, start)) {
+                System.arraycopy(pikeVM.slots, 0, groups, 0, groups.length);
+                return true;
+            }
+            return false;
+        } finally {
+            sparePikeVM.set(pikeVM);
+        }
+    }
+
+    private synchronized RegExpCode tierUp() {
+        if (!jitDone) {
+            code = RegExpCodeGenerator.generate(program);
+            jitDone = true;
+        }
+        return code;
+    }
+
+    class EcmaMatcher implements RegExpMatcher {
+        final String input;
+        final int[] groups;
+        boolean matched;
+
+        EcmaMatcher(String input) {
+            this.input = input;
+            this.groups = new int[2 * (program.groupCount + 1)];
+        }
+
+        @Override
+        public boolean search(int start) {
+            matched = start >= 0 && start <= input.length() && EcmaRegExp.this.search(input, start, groups);
+            return matched;
+        }
+
+        @Override
+        public String getInput() {
+            return input;
+        }
+
+        @Override
+        public int start() {
+            return start(0);
+        }
+
+        @Override
+        public int start(int group) {
+            return slot(2 * group);
+        }
+
+        @Override
+        public int end() {
+            return end(0);
+        }
+
+        @Override
+        public int end(int group) {
+            return slot(2 * group + 1);
+        }
+
+        @Override
+        public String group() {
+            return group(0);
+        }
+
+        @Override
+        public String group(int group) {
+            var start = start(group);
+            return start < 0 ? null : input.substring(start, end(group));
+        }
+
+        @Override
+        public int groupCount() {
+            return program.groupCount;
+        }
+
+        private int slot(int slot) {
+            if (!matched) {
+                throw new IllegalStateException("No match available");
+            }
+            if (slot < 0 || slot >= groups.length) {
+                throw new IndexOutOfBoundsException("No group " + slot / 2);
+            }
+            return groups[slot];
+        }
+    }
+
+    /**
+     * Factory for {@link EcmaRegExp}, installed with {@code -Dnashorn.regexp.impl=ecma}.
+     */
+    public static class Factory extends RegExpFactory {
+
+        @Override
+        public RegExp compile(String pattern, String flags) throws ParserException {
+            try {
+                return new EcmaRegExp(pattern, flags);
+            } catch (EcmaRegExpCompiler.TooComplexException e) {
+                // very large counted repetitions are left to java.util.regex
+                return new JdkRegExp(pattern, flags);
+            }
+        }
+
+    }
+
+}
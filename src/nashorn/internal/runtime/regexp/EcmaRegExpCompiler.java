@@ -0,0 +1,740 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.internal.runtime.regexp;
+
+import static nashorn.internal.runtime.regexp.RegExpProgram.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import nashorn.internal.runtime.ECMAErrors;
+import nashorn.internal.runtime.ParserException;
+
+/**
+ * Compiles ECMAScript regular expression syntax, including the web compatibility extensions of Annex B, to a {@link RegExpProgram}.
+ *
+ * The pattern is first parsed into a small tree, which is then flattened into instructions.
+ * Counted quantifiers are unrolled; patterns that would produce an oversized program are rejected with a {@link TooComplexException}.
+ */
+final class EcmaRegExpCompiler {
+
+    /** Upper bound on the size of the generated code. */
+    private static final int MAX_CODE_LENGTH = 1 << 16;
+
+    private static final int INFINITY = Integer.MAX_VALUE;
+
+    /**
+     * Thrown when a valid pattern cannot be compiled into a program of reasonable size.
+     */
+    static final class TooComplexException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        TooComplexException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private final String source;
+    private final boolean ignoreCase;
+    private final boolean multiline;
+    private final int totalGroups;
+
+    private int pos;
+    private int nextGroup = 1;
+    private int loopSlots;
+    private boolean linear = true;
+
+    private int[] code = new int[32];
+    private int length;
+    private final List<RegExpCharSet> sets = new ArrayList<>();
+
+    private EcmaRegExpCompiler(String source, boolean ignoreCase, boolean multiline) {
+        this.source = source;
+        this.ignoreCase = ignoreCase;
+        this.multiline = multiline;
+        this.totalGroups = countGroups(source);
+    }
+
+    /**
+     * Compiles {@code source} with the given flags.
+     */
+    static RegExpProgram compile(String source, boolean ignoreCase, boolean multiline) throws ParserException {
+        var compiler = new EcmaRegExpCompiler(source, ignoreCase, multiline);
+        var tree = compiler.disjunction();
+        if (compiler.pos < source.length()) {
+            throw syntaxError("Unmatched ')' near index " + compiler.pos);
+        }
+        compiler.emit(SAVE, 0);
+        compiler.emit(tree);
+        compiler.emit(SAVE, 1);
+        compiler.emit(MATCH);
+        var groupSlots = 2 * (compiler.totalGroups + 1);
+        // loop slots were numbered from zero, move them above the capture slots
+        var code = Arrays.copyOf(compiler.code, compiler.length);
+        for (var pc = 0; pc < code.length; pc += length(code[pc])) {
+            if (code[pc] == MARK || code[pc] == CHECK) {
+                code[pc + 1] += groupSlots;
+            }
+        }
+        return new RegExpProgram(code, compiler.sets.toArray(new RegExpCharSet[0]), compiler.totalGroups, groupSlots + compiler.loopSlots, ignoreCase, compiler.linear);
+    }
+
+    /**
+     * Returns a {@link SimplePattern} if {@code source} is a plain literal or a single character class, optionally repeated with a greedy {@code +}, otherwise {@code null}.
+     * The pattern is assumed to be matched case-sensitively.
+     */
+    static SimplePattern classify(String source) {
+        Node tree;
+        try {
+            var compiler = new EcmaRegExpCompiler(source, false, false);
+            tree = compiler.disjunction();
+            if (compiler.pos < source.length()) {
+                return null;
+            }
+        } catch (ParserException | TooComplexException e) {
+            return null;
+        }
+        if (tree instanceof Repeat) {
+            var r = (Repeat) tree;
+            if (r.min != 1 || r.max != INFINITY || !r.greedy) {
+                return null;
+            }
+            if (r.body instanceof CharClass) {
+                return new SimplePattern.CharClass(((CharClass) r.body).set, true);
+            }
+            if (r.body instanceof Char) {
+                return new SimplePattern.CharClass(new RegExpCharSet.Builder().add(((Char) r.body).c).build(false), true);
+            }
+            return null;
+        }
+        if (tree instanceof CharClass) {
+            return new SimplePattern.CharClass(((CharClass) tree).set, false);
+        }
+        if (tree instanceof Char) {
+            return new SimplePattern.Literal(String.valueOf(((Char) tree).c));
+        }
+        if (tree instanceof Sequence && !((Sequence) tree).terms.isEmpty()) {
+            var terms = ((Sequence) tree).terms;
+            var literal = new StringBuilder(terms.size());
+            for (var term : terms) {
+                if (!(term instanceof Char)) {
+                    return null;
+                }
+                literal.append(((Char) term).c);
+            }
+            return new SimplePattern.Literal(literal.toString());
+        }
+        return null;
+    }
+
+    // -- tree
+
+    private static abstract class Node {
+        /** Returns the minimum number of characters this node consumes. */
+        abstract int minLength();
+    }
+
+    private static final class Char extends Node {
+        final char c;
+        Char(char c) { this.c = c; }
+        @Override int minLength() { return 1; }
+    }
+
+    private static final class Any extends Node {
+        @Override int minLength() { return 1; }
+    }
+
+    private static final class CharClass extends Node {
+        final RegExpCharSet set;
+        CharClass(RegExpCharSet set) { this.set = set; }
+        @Override int minLength() { return 1; }
+    }
+
+    private static final class Assertion extends Node {
+        final int op;
+        Assertion(int op) { this.op = op; }
+        @Override int minLength() { return 0; }
+    }
+
+    private static final class Sequence extends Node {
+        final List<Node> terms;
+        Sequence(List<Node> terms) { this.terms = terms; }
+        @Override int minLength() {
+            var n = 0;
+            for (var term : terms) {
+                n += term.minLength();
+            }
+            return n;
+        }
+    }
+
+    private static final class Alternation extends Node {
+        final List<Node> alternatives;
+        Alternation(List<Node> alternatives) { this.alternatives = alternatives; }
+        @Override int minLength() {
+            var n = INFINITY;
+            for (var alternative : alternatives) {
+                n = Math.min(n, alternative.minLength());
+            }
+            return n;
+        }
+    }
+
+    private static final class Group extends Node {
+        final int index;
+        final Node body;
+        Group(int index, Node body) { this.index = index; this.body = body; }
+        @Override int minLength() { return body.minLength(); }
+    }
+
+    private static final class Lookahead extends Node {
+        final boolean negative;
+        final Node body;
+        Lookahead(boolean negative, Node body) { this.negative = negative; this.body = body; }
+        @Override int minLength() { return 0; }
+    }
+
+    private static final class BackReference extends Node {
+        final int group;
+        BackReference(int group) { this.group = group; }
+        @Override int minLength() { return 0; }
+    }
+
+    private static final class Repeat extends Node {
+        final Node body;
+        final int min;
+        final int max;
+        final boolean greedy;
+        final int firstGroup;
+        final int lastGroup;
+        Repeat(Node body, int min, int max, boolean greedy, int firstGroup, int lastGroup) {
+            this.body = body;
+            this.min = min;
+            this.max = max;
+            this.greedy = greedy;
+            this.firstGroup = firstGroup;
+            this.lastGroup = lastGroup;
+        }
+        @Override int minLength() {
+            return min == 0 ? 0 : (int)Math.min(INFINITY, (long)min * body.minLength());
+        }
+    }
+
+    // -- parser
+
+    private Node disjunction() {
+        var first = alternative();
+        if (!lookingAt('|')) {
+            return first;
+        }
+        var alternatives = new ArrayList<Node>();
+        alternatives.add(first);
+        while (lookingAt('|')) {
+            pos++;
+            alternatives.add(alternative());
+        }
+        return new Alternation(alternatives);
+    }
+
+    private Node alternative() {
+        var terms = new ArrayList<Node>();
+        while (pos < source.length() && !lookingAt('|') && !lookingAt(')')) {
+            terms.add(term());
+        }
+        return terms.size() == 1 ? terms.get(0) : new Sequence(terms);
+    }
+
+    private Node term() {
+        var firstGroup = nextGroup;
+        Node atom;
+        var c = source.charAt(pos);
+        switch (c) {
+            case '^' -> {
+                pos++;
+                return new Assertion(multiline ? MBOL : BOL);
+            }
+            case '$' -> {
+                pos++;
+                return new Assertion(multiline ? MEOL : EOL);
+            }
+            case '\\' -> {
+                if (pos + 1 < source.length() && (source.charAt(pos + 1) == 'b' || source.charAt(pos + 1) == 'B')) {
+                    pos += 2;
+                    return new Assertion(source.charAt(pos - 1) == 'b' ? WORDB : NWORDB);
+                }
+                atom = atomEscape();
+            }
+            case '(' -> atom = group();
+            case '.' -> {
+                pos++;
+                atom = new Any();
+            }
+            case '[' -> atom = characterClass();
+            case '*', '+', '?' -> throw syntaxError("Dangling meta character '" + c + "' near index " + pos);
+            case '{' -> {
+                if (quantifierAt(pos)) {
+                    throw syntaxError("Nothing to repeat near index " + pos);
+                }
+                pos++;
+                atom = new Char(c);
+            }
+            default -> {
+                pos++;
+                atom = new Char(c);
+            }
+        }
+        return quantifier(atom, firstGroup);
+    }
+
+    private Node quantifier(Node atom, int firstGroup) {
+        if (pos >= source.length()) {
+            return atom;
+        }
+        int min, max;
+        switch (source.charAt(pos)) {
+            case '*' -> {
+                pos++;
+                min = 0;
+                max = INFINITY;
+            }
+            case '+' -> {
+                pos++;
+                min = 1;
+                max = INFINITY;
+            }
+            case '?' -> {
+                pos++;
+                min = 0;
+                max = 1;
+            }
+            case '{' -> {
+                if (!quantifierAt(pos)) {
+                    return atom;
+                }
+                pos++;
+                min = decimal();
+                max = min;
+                if (lookingAt(',')) {
+                    pos++;
+                    max = lookingAt('}') ? INFINITY : decimal();
+                }
+                pos++; // '}'
+                if (max < min) {
+                    throw syntaxError("Illegal repetition range near index " + pos);
+                }
+            }
+            default -> {
+                return atom;
+            }
+        }
+        var greedy = true;
+        if (lookingAt('?')) {
+            pos++;
+            greedy = false;
+        }
+        return new Repeat(atom, min, max, greedy, firstGroup, nextGroup);
+    }
+
+    private Node group() {
+        var start = pos++;
+        Node body;
+        if (lookingAt('?')) {
+            var kind = pos + 1 < source.length() ? source.charAt(pos + 1) : 0;
+            pos += 2;
+            switch (kind) {
+                case ':' -> body = disjunction();
+                case '=', '!' -> {
+                    linear = false;
+                    body = new Lookahead(kind == '!', disjunction());
+                }
+                default -> throw syntaxError("Unknown group type near index " + start);
+            }
+        } else {
+            var index = nextGroup++;
+            body = new Group(index, disjunction());
+        }
+        if (!lookingAt(')')) {
+            throw syntaxError("Unclosed group near index " + start);
+        }
+        pos++;
+        return body;
+    }
+
+    private Node atomEscape() {
+        pos++; // '\\'
+        if (pos >= source.length()) {
+            throw syntaxError("Unexpected internal error near index " + pos);
+        }
+        var c = source.charAt(pos);
+        if (c >= '1' && c <= '9') {
+            var start = pos;
+            var n = decimal();
+            if (n <= totalGroups) {
+                linear = false;
+                return new BackReference(n);
+            }
+            pos = start;
+        }
+        switch (c) {
+            case 'd' -> {
+                pos++;
+                return classOf(RegExpCharSet.DIGITS, false);
+            }
+            case 'D' -> {
+                pos++;
+                return classOf(RegExpCharSet.DIGITS, true);
+            }
+            case 'w' -> {
+                pos++;
+                return classOf(RegExpCharSet.WORD, false);
+            }
+            case 'W' -> {
+                pos++;
+                return classOf(RegExpCharSet.WORD, true);
+            }
+            case 's' -> {
+                pos++;
+                return classOf(RegExpCharSet.SPACE, false);
+            }
+            case 'S' -> {
+                pos++;
+                return classOf(RegExpCharSet.SPACE, true);
+            }
+            default -> {
+                return new Char((char)characterEscape(false));
+            }
+        }
+    }
+
+    /**
+     * Parses the escape following a backslash and returns the character it denotes.
+     * An invalid control escape yields the backslash itself and leaves the position at the {@code c}.
+     */
+    private int characterEscape(boolean inClass) {
+        var c = source.charAt(pos++);
+        switch (c) {
+            case 'f': return '\f';
+            case 'n': return '\n';
+            case 'r': return '\r';
+            case 't': return '\t';
+            case 'v': return 0x0b;
+            case 'c': {
+                if (pos < source.length()) {
+                    var l = source.charAt(pos);
+                    if (l >= 'a' && l <= 'z' || l >= 'A' && l <= 'Z' || inClass && (l >= '0' && l <= '9' || l == '_')) {
+                        pos++;
+                        return l % 32;
+                    }
+                }
+                pos--;
+                return '\\';
+            }
+            case 'x': {
+                var v = hex(2);
+                return v < 0 ? 'x' : v;
+            }
+            case 'u': {
+                var v = hex(4);
+                return v < 0 ? 'u' : v;
+            }
+            case '0', '1', '2', '3', '4', '5', '6', '7': {
+                // legacy octal escape of up to three digits with a value below 0400
+                var v = c - '0';
+                var maxDigits = c <= '3' ? 3 : 2;
+                for (var i = 1; i < maxDigits && pos < source.length() && source.charAt(pos) >= '0' && source.charAt(pos) <= '7'; i++) {
+                    v = v * 8 + source.charAt(pos++) - '0';
+                }
+                return v;
+            }
+            default:
+                return c;
+        }
+    }
+
+    private Node characterClass() {
+        var start = pos++;
+        var negated = lookingAt('^');
+        if (negated) {
+            pos++;
+        }
+        var builder = new RegExpCharSet.Builder();
+        for (;;) {
+            if (pos >= source.length()) {
+                throw syntaxError("Unclosed character class near index " + start);
+            }
+            if (lookingAt(']')) {
+                pos++;
+                break;
+            }
+            var from = classAtom(builder);
+            if (lookingAt('-') && pos + 1 < source.length() && source.charAt(pos + 1) != ']') {
+                pos++;
+                var to = classAtom(builder);
+                if (from < 0 || to < 0) {
+                    // a class escape at either end: Annex B treats the dash literally
+                    builder.add('-');
+                    if (to >= 0) {
+                        builder.add(to);
+                    }
+                } else if (to < from) {
+                    throw syntaxError("Illegal character range near index " + pos);
+                } else {
+                    builder.add(from, to);
+                    continue;
+                }
+            }
+            if (from >= 0) {
+                builder.add(from);
+            }
+        }
+        return new CharClass(builder.build(negated));
+    }
+
+    /**
+     * Parses a class atom, returning its character or {@code -1} for a class escape that has been added to {@code builder}.
+     * A single character is returned without being added so that it can form a range.
+     */
+    private int classAtom(RegExpCharSet.Builder builder) {
+        var c = source.charAt(pos++);
+        if (c != '\\') {
+            return c;
+        }
+        if (pos >= source.length()) {
+            throw syntaxError("Unclosed character class near index " + pos);
+        }
+        switch (source.charAt(pos)) {
+            case 'd' -> builder.addAll(RegExpCharSet.DIGITS, false);
+            case 'D' -> builder.addAll(RegExpCharSet.DIGITS, true);
+            case 'w' -> builder.addAll(RegExpCharSet.WORD, false);
+            case 'W' -> builder.addAll(RegExpCharSet.WORD, true);
+            case 's' -> builder.addAll(RegExpCharSet.SPACE, false);
+            case 'S' -> builder.addAll(RegExpCharSet.SPACE, true);
+            case 'b' -> {
+                pos++;
+                return '\b';
+            }
+            default -> {
+                return characterEscape(true);
+            }
+        }
+        pos++;
+        return -1;
+    }
+
+    private Node classOf(int[] ranges, boolean complement) {
+        return new CharClass(new RegExpCharSet.Builder().addAll(ranges, complement).build(false));
+    }
+
+    private boolean quantifierAt(int index) {
+        // '{' digits [ ',' [ digits ] ] '}'
+        var i = index + 1;
+        var digits = i;
+        while (i < source.length() && Character.isDigit(source.charAt(i))) {
+            i++;
+        }
+        if (i == digits) {
+            return false;
+        }
+        if (i < source.length() && source.charAt(i) == ',') {
+            i++;
+            while (i < source.length() && Character.isDigit(source.charAt(i))) {
+                i++;
+            }
+        }
+        return i < source.length() && source.charAt(i) == '}';
+    }
+
+    private int decimal() {
+        var value = 0L;
+        while (pos < source.length() && source.charAt(pos) >= '0' && source.charAt(pos) <= '9') {
+            value = Math.min(INFINITY, value * 10 + source.charAt(pos++) - '0');
+        }
+        return (int)value;
+    }
+
+    private int hex(int digits) {
+        if (pos + digits > source.length()) {
+            return -1;
+        }
+        var v = 0;
+        for (var i = 0; i < digits; i++) {
+            var d = Character.digit(source.charAt(pos + i), 16);
+            if (d < 0) {
+                return -1;
+            }
+            v = v * 16 + d;
+        }
+        pos += digits;
+        return v;
+    }
+
+    private boolean lookingAt(char c) {
+        return pos < source.length() && source.charAt(pos) == c;
+    }
+
+    private static int countGroups(String source) {
+        var count = 0;
+        var inClass = false;
+        for (var i = 0; i < source.length(); i++) {
+            switch (source.charAt(i)) {
+                case '\\' -> i++;
+                case '[' -> inClass = true;
+                case ']' -> inClass = false;
+                case '(' -> {
+                    if (!inClass && (i + 1 >= source.length() || source.charAt(i + 1) != '?')) {
+                        count++;
+                    }
+                }
+                default -> { }
+            }
+        }
+        return count;
+    }
+
+    private static ParserException syntaxError(String message) {
+        return new ParserException(ECMAErrors.getMessage("parser.error.regex.syntax", message));
+    }
+
+    // -- code generation
+
+    private void emit(Node node) {
+        if (node instanceof Char) {
+            var ch = (Char) node;
+            if (ignoreCase) {
+                emit(CHARI, canonicalize(ch.c));
+            } else {
+                emit(CHAR, ch.c);
+            }
+        } else if (node instanceof Any) {
+            emit(ANY);
+        } else if (node instanceof CharClass) {
+            sets.add(((CharClass) node).set);
+            emit(CLASS, sets.size() - 1);
+        } else if (node instanceof Assertion) {
+            emit(((Assertion) node).op);
+        } else if (node instanceof Sequence) {
+            for (var term : ((Sequence) node).terms) {
+                emit(term);
+            }
+        } else if (node instanceof Alternation) {
+            var a = (Alternation) node;
+            var exits = new int[a.alternatives.size() - 1];
+            for (var i = 0; i < exits.length; i++) {
+                var split = emit(SPLIT, length + 3, 0);
+                emit(a.alternatives.get(i));
+                exits[i] = emit(JMP, 0);
+                code[split + 2] = length;
+            }
+            emit(a.alternatives.get(exits.length));
+            for (var exit : exits) {
+                code[exit + 1] = length;
+            }
+        } else if (node instanceof Group) {
+            var g = (Group) node;
+            emit(SAVE, 2 * g.index);
+            emit(g.body);
+            emit(SAVE, 2 * g.index + 1);
+        } else if (node instanceof Lookahead) {
+            var l = (Lookahead) node;
+            var look = emit(l.negative ? NLOOK : LOOK, 0);
+            emit(l.body);
+            emit(LOOKEND);
+            code[look + 1] = length;
+        } else if (node instanceof BackReference) {
+            emit(BACKREF, ((BackReference) node).group);
+        } else if (node instanceof Repeat) {
+            emitRepeat((Repeat) node);
+        }
+    }
+
+    private void emitRepeat(Repeat r) {
+        if (r.max == 0) {
+            return;
+        }
+        var clears = r.firstGroup < r.lastGroup;
+        for (var i = 0; i < r.min; i++) {
+            if (clears && i > 0) {
+                emit(CLEAR, 2 * r.firstGroup, 2 * r.lastGroup);
+            }
+            emit(r.body);
+        }
+        if (r.max == r.min) {
+            return;
+        }
+        // optional iterations must not match the empty string (ECMA 15.10.2.5 RepeatMatcher step 2.b)
+        var mark = r.body.minLength() == 0 ? loopSlots++ : -1;
+        if (r.max == INFINITY) {
+            var loop = length;
+            var split = emit(SPLIT, 0, 0);
+            emitIteration(r, clears, mark);
+            emit(JMP, loop);
+            patchSplit(split, r.greedy);
+        } else {
+            var splits = new int[r.max - r.min];
+            for (var i = 0; i < splits.length; i++) {
+                splits[i] = emit(SPLIT, 0, 0);
+                emitIteration(r, clears, mark);
+            }
+            for (var split : splits) {
+                patchSplit(split, r.greedy);
+            }
+        }
+    }
+
+    private void emitIteration(Repeat r, boolean clears, int mark) {
+        if (mark >= 0) {
+            emit(MARK, mark);
+        }
+        if (clears) {
+            emit(CLEAR, 2 * r.firstGroup, 2 * r.lastGroup);
+        }
+        emit(r.body);
+        if (mark >= 0) {
+            emit(CHECK, mark);
+        }
+    }
+
+    private void patchSplit(int split, boolean greedy) {
+        var body = split + 3;
+        code[split + 1] = greedy ? body : length;
+        code[split + 2] = greedy ? length : body;
+    }
+
+    private int emit(int... instruction) {
+        var pc = length;
+        if (length + instruction.length > code.length) {
+            if (length + instruction.length > MAX_CODE_LENGTH) {
+                throw new TooComplexException();
+            }
+            code = Arrays.copyOf(code, Math.max(code.length * 2, length + instruction.length));
+        }
+        System.arraycopy(instruction, 0, code, length, instruction.length);
+        length += instruction.length;
+        return pc;
+    }
+
+}
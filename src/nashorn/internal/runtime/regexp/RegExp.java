@@ -53,6 +53,9 @@ public abstract class RegExp {
     /** BitVector that keeps track of groups in negative lookahead */
     protected BitVector groupsInNegativeLookahead;
 
+    /** Scanner for literal and single character class patterns, set by {@link RegExpFactory} */
+    private SimplePattern simplePattern;
+
     /**
      * Constructor.
      */
@@ -126,6 +129,17 @@ public abstract class RegExp {
         return groupsInNegativeLookahead;
     }
 
+    /**
+     * Get the scanner for this regular expression if it is a literal or a single character class, or {@code null}.
+     */
+    public SimplePattern getSimplePattern() {
+        return simplePattern;
+    }
+
+    void setSimplePattern(SimplePattern simplePattern) {
+        this.simplePattern = simplePattern;
+    }
+
     /**
      * Match this regular expression against {@code str}, starting at index {@code start} and return a {@link MatchResult} with the result.
      */
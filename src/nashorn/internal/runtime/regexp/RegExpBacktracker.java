@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.internal.runtime.regexp;
+
+import static nashorn.internal.runtime.regexp.RegExpProgram.*;
+
+import java.util.Arrays;
+
+/**
+ * Backtracking interpreter for a {@link RegExpProgram}, implementing the ECMAScript matcher semantics.
+ *
+ * The backtrack stack holds pairs of ints: a choice point is {@code (pc, pos)}, an undo record for a slot is {@code (-slot-1, oldValue)}.
+ * Instances are not thread-safe but are reused across searches, see {@link EcmaRegExp}.
+ */
+final class RegExpBacktracker {
+
+    private final RegExpProgram program;
+    private final int[] code;
+
+    /** Capture and loop slots of the current match. */
+    final int[] slots;
+
+    private int[] stack = new int[64];
+    private int sp;
+
+    private String input;
+    private long budget;
+    private boolean exhausted;
+
+    RegExpBacktracker(RegExpProgram program) {
+        this.program = program;
+        this.code = program.code;
+        this.slots = new int[program.slotCount];
+    }
+
+    /**
+     * Searches {@code input} from {@code start}, leaving the captures in {@link #slots}.
+     * A non-negative {@code budget} limits the number of executed instructions; if it runs out {@link #isExhausted()} is set and the search fails.
+     */
+    boolean search(String input, int start, long budget) {
+        this.input = input;
+        this.budget = budget < 0 ? Long.MAX_VALUE : budget;
+        this.exhausted = false;
+        var firstChar = program.firstChar;
+        try {
+            // failed attempts undo all their slot changes, so the slots need to be cleared only once
+            Arrays.fill(slots, -1);
+            for (var from = start; from <= input.length(); from++) {
+                if (firstChar >= 0) {
+                    from = input.indexOf(firstChar, from);
+                    if (from < 0) {
+                        return false;
+                    }
+                }
+                sp = 0;
+                if (run(0, from) || exhausted || program.anchored) {
+                    return !exhausted && slots[1] >= 0;
+                }
+            }
+            return false;
+        } finally {
+            this.input = null;
+        }
+    }
+
+    boolean isExhausted() {
+        return exhausted;
+    }
+
+    /**
+     * Runs the program from {@code pc} at {@code pos} until it reaches {@code MATCH} or {@code LOOKEND}, or all choice points above the current stack pointer are exhausted.
+     */
+    private boolean run(int pc, int pos) {
+        var base = sp;
+        var s = input;
+        var limit = s.length();
+        for (;;) {
+            if (--budget < 0) {
+                exhausted = true;
+                sp = base;
+                return false;
+            }
+            switch (code[pc]) {
+                case CHAR -> {
+                    if (pos < limit && s.charAt(pos) == code[pc + 1]) {
+                        pos++;
+                        pc += 2;
+                        continue;
+                    }
+                }
+                case CHARI, ANY, CLASS -> {
+                    if (pos < limit && program.matches(pc, s.charAt(pos))) {
+                        pos++;
+                        pc += length(code[pc]);
+                        continue;
+                    }
+                }
+                case BOL, EOL, MBOL, MEOL, WORDB, NWORDB -> {
+                    if (asserts(code[pc], s, pos)) {
+                        pc++;
+                        continue;
+                    }
+                }
+                case SPLIT -> {
+                    push(code[pc + 2], pos);
+                    pc = code[pc + 1];
+                    continue;
+                }
+                case JMP -> {
+                    pc = code[pc + 1];
+                    continue;
+                }
+                case SAVE, MARK -> {
+                    set(code[pc + 1], pos);
+                    pc += 2;
+                    continue;
+                }
+                case CLEAR -> {
+                    for (int i = code[pc + 1], to = code[pc + 2]; i < to; i++) {
+                        set(i, -1);
+                    }
+                    pc += 3;
+                    continue;
+                }
+                case CHECK -> {
+                    if (slots[code[pc + 1]] != pos) {
+                        pc += 2;
+                        continue;
+                    }
+                }
+                case BACKREF -> {
+                    var end = backReference(s, slots, code[pc + 1], pos, program.ignoreCase);
+                    if (end >= 0) {
+                        pos = end;
+                        pc += 2;
+                        continue;
+                    }
+                }
+                case LOOK, NLOOK -> {
+                    var negative = code[pc] == NLOOK;
+                    var saved = slots.clone();
+                    var top = sp;
+                    var matched = run(pc + 2, pos);
+                    if (exhausted) {
+                        sp = base;
+                        return false;
+                    }
+                    // lookaheads are atomic: drop their choice points, but keep undo records for captures of a positive lookahead
+                    sp = top;
+                    if (matched && !negative) {
+                        for (var i = 0; i < saved.length; i++) {
+                            if (slots[i] != saved[i]) {
+                                push(-i - 1, saved[i]);
+                            }
+                        }
+                        pc = code[pc + 1];
+                        continue;
+                    }
+                    System.arraycopy(saved, 0, slots, 0, saved.length);
+                    if (!matched && negative) {
+                        pc = code[pc + 1];
+                        continue;
+                    }
+                }
+                case LOOKEND, MATCH -> {
+                    return true;
+                }
+                default -> throw new IllegalStateException("invalid opcode " + code[pc]);
+            }
+            // backtrack to the most recent choice point, undoing slot changes on the way
+            for (;;) {
+                if (sp == base) {
+                    return false;
+                }
+                var value = stack[--sp];
+                var target = stack[--sp];
+                if (target < 0) {
+                    slots[-target - 1] = value;
+                } else {
+                    pc = target;
+                    pos = value;
+                    break;
+                }
+            }
+        }
+    }
+
+    private void set(int slot, int value) {
+        if (slots[slot] != value) {
+            push(-slot - 1, slots[slot]);
+            slots[slot] = value;
+        }
+    }
+
+    private void push(int a, int b) {
+        if (sp + 2 > stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+        }
+        stack[sp++] = a;
+        stack[sp++] = b;
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.internal.runtime.regexp;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of compiled regular expressions, keyed by pattern and flags.
+ * <p>
+ * The cache is split into segments, each an access ordered {@link LinkedHashMap} evicting its least recently used entry and guarded by its own lock,
+ * so threads compiling different patterns rarely contend.
+ * Compilation happens outside the lock; if two threads miss on the same pattern at once, both compile it and the last one is kept.
+ */
+final class RegExpCache {
+
+    private static final int SEGMENTS = 16;
+
+    private static final class Key {
+        final String pattern;
+        final String flags;
+        final int hash;
+
+        Key(String pattern, String flags) {
+            this.pattern = pattern;
+            this.flags = flags;
+            this.hash = pattern.hashCode() * 31 + flags.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof Key) {
+                var other = (Key)obj;
+                return hash == other.hash && pattern.equals(other.pattern) && flags.equals(other.flags);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Segment extends LinkedHashMap<Key, RegExp> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, RegExp> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Create a cache holding up to about {@code size} regular expressions; a size of 0 disables caching.
+     */
+    RegExpCache(int size) {
+        if (size <= 0) {
+            segments = null;
+        } else {
+            var count = Math.min(SEGMENTS, size);
+            segments = new Segment[count];
+            for (var i = 0; i < count; i++) {
+                segments[i] = new Segment((size + count - 1) / count);
+            }
+        }
+    }
+
+    /**
+     * Get the cached regular expression, or null.
+     */
+    RegExp get(String pattern, String flags) {
+        if (segments == null) {
+            misses.increment();
+            return null;
+        }
+        var key = new Key(pattern, flags);
+        var segment = segmentFor(key);
+        RegExp regexp;
+        synchronized (segment) {
+            regexp = segment.get(key);
+        }
+        if (regexp != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return regexp;
+    }
+
+    void put(String pattern, String flags, RegExp regexp) {
+        if (segments == null) {
+            return;
+        }
+        var key = new Key(pattern, flags);
+        var segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, regexp);
+        }
+    }
+
+    long getHitCount() {
+        return hits.sum();
+    }
+
+    long getMissCount() {
+        return misses.sum();
+    }
+
+    private Segment segmentFor(Key key) {
+        var h = key.hash;
+        return segments[((h ^ (h >>> 16)) & 0x7fffffff) % segments.length];
+    }
+
+}
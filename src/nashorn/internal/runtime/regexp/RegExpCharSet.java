@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.internal.runtime.regexp;
+
+import java.util.Arrays;
+
+/**
+ * An immutable set of UTF-16 code units used for character classes in a {@link RegExpProgram}.
+ *
+ * The set is kept as sorted, merged ranges with an additional bitmap for the ASCII range.
+ */
+final class RegExpCharSet {
+
+    /** Ranges for {@code \d}. */
+    static final int[] DIGITS = { '0', '9' };
+
+    /** Ranges for {@code \w}. */
+    static final int[] WORD = { '0', '9', 'A', 'Z', '_', '_', 'a', 'z' };
+
+    /** Ranges for {@code \s}, i.e. WhiteSpace and LineTerminator. */
+    static final int[] SPACE = {
+        '\t', '\r', ' ', ' ', 0x00a0, 0x00a0, 0x1680, 0x1680, 0x2000, 0x200a, 0x2028, 0x2029, 0x202f, 0x202f, 0x205f, 0x205f, 0x3000, 0x3000, 0xfeff, 0xfeff
+    };
+
+    private final int[] ranges;
+    private final long ascii0;
+    private final long ascii1;
+    private final boolean negated;
+
+    private RegExpCharSet(int[] ranges, boolean negated) {
+        this.ranges = ranges;
+        this.negated = negated;
+        long a0 = 0, a1 = 0;
+        for (var i = 0; i < ranges.length && ranges[i] < 128; i += 2) {
+            for (int c = ranges[i], hi = Math.min(ranges[i + 1], 127); c <= hi; c++) {
+                if (c < 64) {
+                    a0 |= 1L << c;
+                } else {
+                    a1 |= 1L << (c - 64);
+                }
+            }
+        }
+        this.ascii0 = a0;
+        this.ascii1 = a1;
+    }
+
+    /**
+     * Returns the sorted, merged {@code [lo, hi]} ranges of this set, ignoring negation.
+     */
+    int[] ranges() {
+        return ranges.clone();
+    }
+
+    boolean isNegated() {
+        return negated;
+    }
+
+    /**
+     * Tests whether {@code c} is a member of this set.
+     */
+    boolean matches(char c) {
+        return contains(c) != negated;
+    }
+
+    /**
+     * Tests whether {@code c} is a member of this set, or if {@code ignoreCase} is set, whether a member has the same canonical form as {@code c}.
+     */
+    boolean matches(char c, boolean ignoreCase) {
+        if (!ignoreCase) {
+            return contains(c) != negated;
+        }
+        var found = contains(c);
+        if (!found) {
+            if (c < 128) {
+                // an ASCII letter only shares its canonical form with its other case
+                var lower = (char)(c | 0x20);
+                found = lower >= 'a' && lower <= 'z' && contains((char)(c ^ 0x20));
+            } else {
+                var equivalents = RegExpProgram.caseEquivalents(RegExpProgram.canonicalize(c));
+                if (equivalents != null) {
+                    for (var e : equivalents) {
+                        if (contains(e)) {
+                            found = true;
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        return found != negated;
+    }
+
+    private boolean contains(char c) {
+        if (c < 64) {
+            return (ascii0 & (1L << c)) != 0;
+        }
+        if (c < 128) {
+            return (ascii1 & (1L << (c - 64))) != 0;
+        }
+        var lo = 0;
+        var hi = ranges.length / 2 - 1;
+        while (lo <= hi) {
+            var mid = (lo + hi) >>> 1;
+            if (c < ranges[mid * 2]) {
+                hi = mid - 1;
+            } else if (c > ranges[mid * 2 + 1]) {
+                lo = mid + 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Collects ranges and builds a normalized {@link RegExpCharSet}.
+     */
+    static final class Builder {
+        private int[] ranges = new int[16];
+        private int length;
+
+        Builder add(int c) {
+            return add(c, c);
+        }
+
+        Builder add(int lo, int hi) {
+            if (length == ranges.length) {
+                ranges = Arrays.copyOf(ranges, length * 2);
+            }
+            ranges[length++] = lo;
+            ranges[length++] = hi;
+            return this;
+        }
+
+        Builder addAll(int[] set, boolean complement) {
+            if (!complement) {
+                for (var i = 0; i < set.length; i += 2) {
+                    add(set[i], set[i + 1]);
+                }
+            } else {
+                var next = 0;
+                for (var i = 0; i < set.length; i += 2) {
+                    if (set[i] > next) {
+                        add(next, set[i] - 1);
+                    }
+                    next = set[i + 1] + 1;
+                }
+                if (next <= Character.MAX_VALUE) {
+                    add(next, Character.MAX_VALUE);
+                }
+            }
+            return this;
+        }
+
+        RegExpCharSet build(boolean negated) {
+            // sort ranges by their lower bound and merge overlapping or adjacent ones
+            var count = length / 2;
+            var packed = new long[count];
+            for (var i = 0; i < count; i++) {
+                packed[i] = ((long)ranges[i * 2] << 32) | ranges[i * 2 + 1];
+            }
+            Arrays.sort(packed);
+            var merged = new int[length];
+            var n = 0;
+            for (var p : packed) {
+                var lo = (int)(p >>> 32);
+                var hi = (int)p;
+                if (n > 0 && lo <= merged[n - 1] + 1) {
+                    merged[n - 1] = Math.max(merged[n - 1], hi);
+                } else {
+                    merged[n++] = lo;
+                    merged[n++] = hi;
+                }
+            }
+            return new RegExpCharSet(Arrays.copyOf(merged, n), negated);
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.internal.runtime.regexp;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Base class of the JVM classes generated by {@link RegExpCodeGenerator} for hot regexp programs.
+ *
+ * It is public because generated classes are defined in their own class loader, so that they can be unloaded along with their regexp.
+ */
+public abstract class RegExpCode {
+
+    /** Result of {@link #search} if the backtrack budget ran out. */
+    public static final int EXHAUSTED = -1;
+
+    /** Character classes that are not inlined into the generated code. */
+    protected final IntPredicate[] sets;
+
+    protected RegExpCode(IntPredicate[] sets) {
+        this.sets = sets;
+    }
+
+    /**
+     * Searches {@code input} from {@code start}, leaving the captures in {@code slots}.
+     * Returns {@code 1} on a match, {@code 0} if there is none, or {@link #EXHAUSTED} if more than {@code budget} choice points were taken.
+     */
+    public abstract int search(String input, int start, int[] slots, long budget);
+
+    protected static int[] ensureCapacity(int[] stack, int sp) {
+        return sp + 2 > stack.length ? Arrays.copyOf(stack, stack.length * 2) : stack;
+    }
+
+    protected static boolean isWordBoundary(String input, int pos) {
+        return RegExpProgram.isWordAt(input, pos - 1) != RegExpProgram.isWordAt(input, pos);
+    }
+
+    protected static int backReference(String input, int[] slots, int group, int pos, boolean ignoreCase) {
+        return RegExpProgram.backReference(input, slots, group, pos, ignoreCase);
+    }
+
+}
@@ -0,0 +1,527 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.internal.runtime.regexp;
+
+import static nashorn.internal.runtime.regexp.RegExpProgram.*;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+
+import java.security.AccessController;
+import java.security.CodeSigner;
+import java.security.CodeSource;
+import java.security.Permissions;
+import java.security.PrivilegedAction;
+import java.security.ProtectionDomain;
+import java.security.SecureClassLoader;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.commons.InstructionAdapter;
+
+/**
+ * Translates a {@link RegExpProgram} into a JVM class extending {@link RegExpCode}.
+ *
+ * Every instruction becomes straight-line bytecode with jumps between instruction labels, so the JIT compiles the pattern itself rather than an interpreter loop.
+ * Backtracking uses an explicit int stack like {@link RegExpBacktracker}; a choice point is resumed through a {@code tableswitch} on its index.
+ * Programs with lookaheads, or too large to fit a method, are not translated.
+ */
+final class RegExpCodeGenerator {
+
+    /** Largest program that is translated, in ints. */
+    private static final int MAX_CODE_LENGTH = 1024;
+
+    /** Largest number of ranges of a character class that is inlined as comparisons. */
+    private static final int MAX_INLINE_RANGES = 4;
+
+    private static final String SUPER_CLASS = Type.getInternalName(RegExpCode.class);
+    private static final String STRING = "java/lang/String";
+    private static final String SEARCH_DESC = Type.getMethodDescriptor(Type.INT_TYPE, Type.getType(String.class), Type.INT_TYPE, Type.getType(int[].class), Type.LONG_TYPE);
+    private static final String INIT_DESC = Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(IntPredicate[].class));
+
+    private static final int[] LINE_TERMINATORS = { '\n', '\r', '\u2028', '\u2029' };
+
+    private static final AtomicInteger CLASS_COUNT = new AtomicInteger();
+
+    // local variables of the search method
+    private static final int INPUT = 1;
+    private static final int START = 2;
+    private static final int SLOTS = 3;
+    private static final int BUDGET = 4;  // long
+    private static final int POS = 6;
+    private static final int LENGTH = 7;
+    private static final int STACK = 8;
+    private static final int SP = 9;
+    private static final int FROM = 10;
+    private static final int CH = 11;
+    private static final int TEMP = 12;
+
+    private final RegExpProgram program;
+    private final int[] code;
+    private final Label[] labels;
+    private final int[] choices;
+    private int choiceCount;
+
+    private InstructionAdapter mv;
+    private final Label fail = new Label();
+
+    private RegExpCodeGenerator(RegExpProgram program) {
+        this.program = program;
+        this.code = program.code;
+        this.labels = new Label[code.length];
+        this.choices = new int[code.length];
+    }
+
+    /**
+     * Returns {@code true} if {@code program} can be translated.
+     */
+    static boolean canGenerate(RegExpProgram program) {
+        var code = program.code;
+        if (code.length > MAX_CODE_LENGTH) {
+            return false;
+        }
+        for (var pc = 0; pc < code.length; pc += length(code[pc])) {
+            if (code[pc] == LOOK || code[pc] == NLOOK) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Translates {@code program} and returns an instance of the generated class, or {@code null} if it cannot be translated.
+     */
+    static RegExpCode generate(RegExpProgram program) {
+        if (!canGenerate(program)) {
+            return null;
+        }
+        try {
+            var className = "nashorn/internal/runtime/regexp/CompiledRegExp" + CLASS_COUNT.incrementAndGet();
+            var bytes = new RegExpCodeGenerator(program).generateClass(className);
+            var sets = new IntPredicate[program.sets.length];
+            for (var i = 0; i < sets.length; i++) {
+                var set = program.sets[i];
+                var ignoreCase = program.ignoreCase;
+                sets[i] = c -> set.matches((char)c, ignoreCase);
+            }
+            return (RegExpCode)defineClass(className.replace('/', '.'), bytes).getConstructor(IntPredicate[].class).newInstance((Object)sets);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // e.g. a method too large for the class file format
+            return null;
+        }
+    }
+
+    private static Class<?> defineClass(String className, byte[] bytes) throws ClassNotFoundException {
+        var loader = AccessController.doPrivileged((PrivilegedAction<ClassLoader>) () ->
+            new SecureClassLoader(RegExpCode.class.getClassLoader()) {
+                @Override
+                protected Class<?> findClass(String name) throws ClassNotFoundException {
+                    if (name.equals(className)) {
+                        return defineClass(name, bytes, 0, bytes.length, new ProtectionDomain(new CodeSource(null, (CodeSigner[])null), new Permissions()));
+                    }
+                    throw new ClassNotFoundException(name);
+                }
+            });
+        return Class.forName(className, true, loader);
+    }
+
+    private byte[] generateClass(String className) {
+        var cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+        cw.visit(Opcodes.V1_8, ACC_PUBLIC | ACC_SUPER | ACC_FINAL, className, null, SUPER_CLASS, null);
+
+        var init = new InstructionAdapter(cw.visitMethod(ACC_PUBLIC, "<init>", INIT_DESC, null, null));
+        init.visitCode();
+        init.load(0, Type.getType(Object.class));
+        init.load(1, Type.getType(Object.class));
+        init.invokespecial(SUPER_CLASS, "<init>", INIT_DESC, false);
+        init.areturn(Type.VOID_TYPE);
+        init.visitMaxs(0, 0);
+        init.visitEnd();
+
+        mv = new InstructionAdapter(cw.visitMethod(ACC_PUBLIC | ACC_FINAL, "search", SEARCH_DESC, null, null));
+        mv.visitCode();
+        generateSearch();
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private void generateSearch() {
+        for (var pc = 0; pc < code.length; pc += length(code[pc])) {
+            labels[pc] = new Label();
+            if (code[pc] == SPLIT) {
+                choices[pc] = choiceCount++;
+            }
+        }
+
+        var start = new Label();
+        var next = new Label();
+
+        // len = input.length(); from = start; stack = new int[32];
+        mv.load(INPUT, Type.getType(String.class));
+        mv.invokevirtual(STRING, "length", "()I", false);
+        mv.store(LENGTH, Type.INT_TYPE);
+        mv.load(START, Type.INT_TYPE);
+        mv.store(FROM, Type.INT_TYPE);
+        mv.iconst(32);
+        mv.newarray(Type.INT_TYPE);
+        mv.store(STACK, Type.getType(int[].class));
+
+        // failed attempts undo all their slot changes, so the slots need to be cleared only once
+        mv.load(SLOTS, Type.getType(int[].class));
+        mv.iconst(-1);
+        mv.invokestatic("java/util/Arrays", "fill", "([II)V", false);
+
+        // try a match at each position from 'from'
+        mv.mark(start);
+        mv.load(FROM, Type.INT_TYPE);
+        mv.load(LENGTH, Type.INT_TYPE);
+        var inRange = new Label();
+        mv.ificmple(inRange);
+        returnInt(0);
+        mv.mark(inRange);
+        if (program.firstChar >= 0) {
+            mv.load(INPUT, Type.getType(String.class));
+            mv.iconst(program.firstChar);
+            mv.load(FROM, Type.INT_TYPE);
+            mv.invokevirtual(STRING, "indexOf", "(II)I", false);
+            mv.dup();
+            mv.store(FROM, Type.INT_TYPE);
+            var found = new Label();
+            mv.ifge(found);
+            returnInt(0);
+            mv.mark(found);
+        }
+        mv.iconst(0);
+        mv.store(SP, Type.INT_TYPE);
+        mv.load(FROM, Type.INT_TYPE);
+        mv.store(POS, Type.INT_TYPE);
+
+        for (var pc = 0; pc < code.length; pc += length(code[pc])) {
+            mv.mark(labels[pc]);
+            generateInstruction(pc);
+        }
+
+        // backtrack: pop undo records until a choice point is found
+        mv.mark(fail);
+        mv.load(SP, Type.INT_TYPE);
+        mv.ifeq(next);
+        mv.iinc(SP, -1);
+        mv.load(STACK, Type.getType(int[].class));
+        mv.load(SP, Type.INT_TYPE);
+        mv.aload(Type.INT_TYPE);
+        mv.store(TEMP, Type.INT_TYPE);
+        mv.iinc(SP, -1);
+        mv.load(STACK, Type.getType(int[].class));
+        mv.load(SP, Type.INT_TYPE);
+        mv.aload(Type.INT_TYPE);
+        mv.store(CH, Type.INT_TYPE);
+        mv.load(CH, Type.INT_TYPE);
+        var choice = new Label();
+        mv.ifge(choice);
+        // slots[-target - 1] = value
+        mv.load(SLOTS, Type.getType(int[].class));
+        mv.load(CH, Type.INT_TYPE);
+        mv.neg(Type.INT_TYPE);
+        mv.iconst(1);
+        mv.sub(Type.INT_TYPE);
+        mv.load(TEMP, Type.INT_TYPE);
+        mv.astore(Type.INT_TYPE);
+        mv.goTo(fail);
+        mv.mark(choice);
+        if (choiceCount == 0) {
+            mv.goTo(next);
+        } else {
+            mv.load(TEMP, Type.INT_TYPE);
+            mv.store(POS, Type.INT_TYPE);
+            var targets = new Label[choiceCount];
+            for (var pc = 0; pc < code.length; pc += length(code[pc])) {
+                if (code[pc] == SPLIT) {
+                    targets[choices[pc]] = labels[code[pc + 2]];
+                }
+            }
+            mv.load(CH, Type.INT_TYPE);
+            mv.tableswitch(0, choiceCount - 1, next, targets);
+        }
+
+        mv.mark(next);
+        if (program.anchored) {
+            returnInt(0);
+        } else {
+            mv.iinc(FROM, 1);
+            mv.goTo(start);
+        }
+    }
+
+    private void generateInstruction(int pc) {
+        switch (code[pc]) {
+            case CHAR -> {
+                loadChar();
+                mv.load(CH, Type.INT_TYPE);
+                mv.iconst(code[pc + 1]);
+                mv.ificmpne(fail);
+                mv.iinc(POS, 1);
+            }
+            case CHARI -> {
+                loadChar();
+                var ok = new Label();
+                var target = (char)code[pc + 1];
+                var equivalents = caseEquivalents(target);
+                for (var c : equivalents != null ? equivalents : new char[] { target }) {
+                    mv.load(CH, Type.INT_TYPE);
+                    mv.iconst(c);
+                    mv.ificmpeq(ok);
+                }
+                mv.goTo(fail);
+                mv.mark(ok);
+                mv.iinc(POS, 1);
+            }
+            case ANY -> {
+                loadChar();
+                failIfLineTerminator();
+                mv.iinc(POS, 1);
+            }
+            case CLASS -> {
+                loadChar();
+                var set = program.sets[code[pc + 1]];
+                var ranges = set.ranges();
+                if (!program.ignoreCase && ranges.length <= 2 * MAX_INLINE_RANGES) {
+                    var in = new Label();
+                    var out = new Label();
+                    for (var i = 0; i < ranges.length; i += 2) {
+                        var lo = ranges[i];
+                        var hi = ranges[i + 1];
+                        mv.load(CH, Type.INT_TYPE);
+                        mv.iconst(lo);
+                        if (lo == hi) {
+                            mv.ificmpeq(in);
+                        } else {
+                            var above = new Label();
+                            mv.ificmplt(above);
+                            mv.load(CH, Type.INT_TYPE);
+                            mv.iconst(hi);
+                            mv.ificmple(in);
+                            mv.mark(above);
+                        }
+                    }
+                    mv.goTo(out);
+                    var ok = new Label();
+                    mv.mark(set.isNegated() ? out : in);
+                    mv.goTo(ok);
+                    mv.mark(set.isNegated() ? in : out);
+                    mv.goTo(fail);
+                    mv.mark(ok);
+                } else {
+                    mv.load(0, Type.getType(Object.class));
+                    mv.getfield(SUPER_CLASS, "sets", Type.getDescriptor(IntPredicate[].class));
+                    mv.iconst(code[pc + 1]);
+                    mv.aload(Type.getType(IntPredicate.class));
+                    mv.load(CH, Type.INT_TYPE);
+                    mv.invokeinterface(Type.getInternalName(IntPredicate.class), "test", "(I)Z");
+                    mv.ifeq(fail);
+                }
+                mv.iinc(POS, 1);
+            }
+            case BOL -> {
+                mv.load(POS, Type.INT_TYPE);
+                mv.ifne(fail);
+            }
+            case EOL -> {
+                mv.load(POS, Type.INT_TYPE);
+                mv.load(LENGTH, Type.INT_TYPE);
+                mv.ificmpne(fail);
+            }
+            case MBOL -> {
+                var ok = new Label();
+                mv.load(POS, Type.INT_TYPE);
+                mv.ifeq(ok);
+                mv.load(INPUT, Type.getType(String.class));
+                mv.load(POS, Type.INT_TYPE);
+                mv.iconst(1);
+                mv.sub(Type.INT_TYPE);
+                mv.invokevirtual(STRING, "charAt", "(I)C", false);
+                mv.store(CH, Type.INT_TYPE);
+                failUnlessLineTerminator();
+                mv.mark(ok);
+            }
+            case MEOL -> {
+                var ok = new Label();
+                mv.load(POS, Type.INT_TYPE);
+                mv.load(LENGTH, Type.INT_TYPE);
+                mv.ificmpeq(ok);
+                mv.load(INPUT, Type.getType(String.class));
+                mv.load(POS, Type.INT_TYPE);
+                mv.invokevirtual(STRING, "charAt", "(I)C", false);
+                mv.store(CH, Type.INT_TYPE);
+                failUnlessLineTerminator();
+                mv.mark(ok);
+            }
+            case WORDB, NWORDB -> {
+                mv.load(INPUT, Type.getType(String.class));
+                mv.load(POS, Type.INT_TYPE);
+                mv.invokestatic(SUPER_CLASS, "isWordBoundary", "(Ljava/lang/String;I)Z", false);
+                if (code[pc] == WORDB) {
+                    mv.ifeq(fail);
+                } else {
+                    mv.ifne(fail);
+                }
+            }
+            case SPLIT -> {
+                if (program.linear) {
+                    // if (--budget < 0) return EXHAUSTED;
+                    var ok = new Label();
+                    mv.load(BUDGET, Type.LONG_TYPE);
+                    mv.lconst(1);
+                    mv.sub(Type.LONG_TYPE);
+                    mv.dup2();
+                    mv.store(BUDGET, Type.LONG_TYPE);
+                    mv.lconst(0);
+                    mv.lcmp();
+                    mv.ifge(ok);
+                    returnInt(RegExpCode.EXHAUSTED);
+                    mv.mark(ok);
+                }
+                ensureCapacity();
+                push(() -> mv.iconst(choices[pc]));
+                push(() -> mv.load(POS, Type.INT_TYPE));
+                mv.goTo(labels[code[pc + 1]]);
+            }
+            case JMP -> mv.goTo(labels[code[pc + 1]]);
+            case SAVE, MARK -> {
+                if (pc == 0) {
+                    // the match start is set anew for every attempt and needs no undo record
+                    mv.load(SLOTS, Type.getType(int[].class));
+                    mv.iconst(0);
+                    mv.load(POS, Type.INT_TYPE);
+                    mv.astore(Type.INT_TYPE);
+                } else {
+                    setSlot(code[pc + 1], () -> mv.load(POS, Type.INT_TYPE));
+                }
+            }
+            case CLEAR -> {
+                for (var slot = code[pc + 1]; slot < code[pc + 2]; slot++) {
+                    setSlot(slot, () -> mv.iconst(-1));
+                }
+            }
+            case CHECK -> {
+                mv.load(SLOTS, Type.getType(int[].class));
+                mv.iconst(code[pc + 1]);
+                mv.aload(Type.INT_TYPE);
+                mv.load(POS, Type.INT_TYPE);
+                mv.ificmpeq(fail);
+            }
+            case BACKREF -> {
+                mv.load(INPUT, Type.getType(String.class));
+                mv.load(SLOTS, Type.getType(int[].class));
+                mv.iconst(code[pc + 1]);
+                mv.load(POS, Type.INT_TYPE);
+                mv.iconst(program.ignoreCase ? 1 : 0);
+                mv.invokestatic(SUPER_CLASS, "backReference", "(Ljava/lang/String;[IIIZ)I", false);
+                mv.dup();
+                mv.store(TEMP, Type.INT_TYPE);
+                mv.iflt(fail);
+                mv.load(TEMP, Type.INT_TYPE);
+                mv.store(POS, Type.INT_TYPE);
+            }
+            case MATCH -> returnInt(1);
+            default -> throw new IllegalStateException("invalid opcode " + code[pc]);
+        }
+    }
+
+    /**
+     * Fails if at the end of input, otherwise stores the character at the current position.
+     */
+    private void loadChar() {
+        mv.load(POS, Type.INT_TYPE);
+        mv.load(LENGTH, Type.INT_TYPE);
+        mv.ificmpge(fail);
+        mv.load(INPUT, Type.getType(String.class));
+        mv.load(POS, Type.INT_TYPE);
+        mv.invokevirtual(STRING, "charAt", "(I)C", false);
+        mv.store(CH, Type.INT_TYPE);
+    }
+
+    private void failIfLineTerminator() {
+        for (var c : LINE_TERMINATORS) {
+            mv.load(CH, Type.INT_TYPE);
+            mv.iconst(c);
+            mv.ificmpeq(fail);
+        }
+    }
+
+    private void failUnlessLineTerminator() {
+        var ok = new Label();
+        for (var c : LINE_TERMINATORS) {
+            mv.load(CH, Type.INT_TYPE);
+            mv.iconst(c);
+            mv.ificmpeq(ok);
+        }
+        mv.goTo(fail);
+        mv.mark(ok);
+    }
+
+    private void setSlot(int slot, Runnable value) {
+        // push an undo record, then slots[slot] = value
+        ensureCapacity();
+        push(() -> mv.iconst(-slot - 1));
+        push(() -> {
+            mv.load(SLOTS, Type.getType(int[].class));
+            mv.iconst(slot);
+            mv.aload(Type.INT_TYPE);
+        });
+        mv.load(SLOTS, Type.getType(int[].class));
+        mv.iconst(slot);
+        value.run();
+        mv.astore(Type.INT_TYPE);
+    }
+
+    private void ensureCapacity() {
+        mv.load(STACK, Type.getType(int[].class));
+        mv.load(SP, Type.INT_TYPE);
+        mv.invokestatic(SUPER_CLASS, "ensureCapacity", "([II)[I", false);
+        mv.store(STACK, Type.getType(int[].class));
+    }
+
+    private void push(Runnable value) {
+        mv.load(STACK, Type.getType(int[].class));
+        mv.load(SP, Type.INT_TYPE);
+        value.run();
+        mv.astore(Type.INT_TYPE);
+        mv.iinc(SP, 1);
+    }
+
+    private void returnInt(int value) {
+        mv.iconst(value);
+        mv.areturn(Type.INT_TYPE);
+    }
+
+}
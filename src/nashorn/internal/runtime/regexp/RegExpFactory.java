@@ -25,27 +25,32 @@
 
 package nashorn.internal.runtime.regexp;
 
-import java.util.Collections;
-import java.util.Map;
-import java.util.WeakHashMap;
-
 import nashorn.internal.runtime.ParserException;
+import nashorn.internal.runtime.options.Options;
 
 /**
  * Factory class for regular expressions.
  *
  * This class creates instances of {@link JdkRegExp}.
- * An alternative factory can be installed using the {@code nashorn.regexp.impl} system property.
+ * An alternative factory can be installed using the {@code nashorn.regexp.impl} system property:
+ * {@code jdk} (the default) or {@code ecma} for {@link EcmaRegExp}.
  */
 public class RegExpFactory {
 
-    private final static RegExpFactory instance = new RegExpFactory();
+    private final static String JDK = "jdk";
+    private final static String ECMA = "ecma";
+
+    private final static RegExpFactory instance = switch (Options.getStringProperty("nashorn.regexp.impl", JDK)) {
+        case ECMA -> new EcmaRegExp.Factory();
+        default -> new RegExpFactory();
+    };
 
     /**
-     * Weak cache of already validated regexps - when reparsing, we don't, for example need to recompile (reverify) all regexps that have previously been parsed by this RegExpFactory in a previous compilation.
-     * This saves significant time in e.g. avatar startup
+     * Cache of already validated regexps - when reparsing, we don't, for example need to recompile (reverify) all regexps that have previously been parsed by this RegExpFactory in a previous compilation.
+     * This saves significant time in e.g. avatar startup, and in scripts that construct the same regexps dynamically.
+     * Its size is set by the {@code nashorn.regexp.cache.size} system property.
      */
-    private static final Map<String, RegExp> REGEXP_CACHE = Collections.synchronizedMap(new WeakHashMap<String, RegExp>());
+    private static final RegExpCache REGEXP_CACHE = new RegExpCache(Options.getIntProperty("nashorn.regexp.cache.size", 512));
 
     /**
      * Creates a Regular expression from the given {@code pattern} and {@code flags} strings.
@@ -58,15 +63,31 @@ public class RegExpFactory {
      * Compile a regexp with the given {@code source} and {@code flags}.
      */
     public static RegExp create(String pattern, String flags) {
-        var key = pattern + "/" + flags;
-        var regexp = REGEXP_CACHE.get(key);
+        var regexp = REGEXP_CACHE.get(pattern, flags);
         if (regexp == null) {
             regexp = instance.compile(pattern,  flags);
-            REGEXP_CACHE.put(key, regexp);
+            if (!regexp.isIgnoreCase()) {
+                regexp.setSimplePattern(EcmaRegExpCompiler.classify(pattern));
+            }
+            REGEXP_CACHE.put(pattern, flags, regexp);
         }
         return regexp;
     }
 
+    /**
+     * Returns the number of regexps that were found in the cache.
+     */
+    public static long getCacheHitCount() {
+        return REGEXP_CACHE.getHitCount();
+    }
+
+    /**
+     * Returns the number of regexps that had to be compiled.
+     */
+    public static long getCacheMissCount() {
+        return REGEXP_CACHE.getMissCount();
+    }
+
     /**
      * Validate a regexp with the given {@code source} and {@code flags}.
      */
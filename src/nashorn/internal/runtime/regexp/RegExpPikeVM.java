@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.internal.runtime.regexp;
+
+import static nashorn.internal.runtime.regexp.RegExpProgram.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Linear-time interpreter for a {@link RegExpProgram} without backreferences or lookaheads.
+ *
+ * All alternatives are advanced in lock step over the input, keeping threads in priority order so that the leftmost match and its captures are the ones a backtracking matcher would find.
+ * Instances are not thread-safe but are reused across searches, see {@link EcmaRegExp}.
+ */
+final class RegExpPikeVM {
+
+    /**
+     * An ordered set of threads, indexed by pc, each with its own slots.
+     */
+    private static final class Threads {
+        final int[] sparse;
+        final int[] dense;
+        final int[][] slots;
+        final long[] marks;
+        Set<Long> revisits;
+        int size;
+
+        Threads(int codeLength) {
+            sparse = new int[codeLength];
+            dense = new int[codeLength];
+            slots = new int[codeLength][];
+            marks = new long[codeLength];
+        }
+
+        void clear() {
+            size = 0;
+            if (revisits != null) {
+                revisits.clear();
+            }
+        }
+
+        boolean contains(int pc) {
+            var i = sparse[pc];
+            return i < size && dense[i] == pc;
+        }
+
+        int add(int pc) {
+            sparse[pc] = size;
+            dense[size] = pc;
+            return size++;
+        }
+
+        /**
+         * Records a visit of the non-consuming instruction at {@code pc} and returns {@code false} if it has already been visited in the same state.
+         * The state of a thread at a non-consuming instruction is given by the loop slots that equal the current position, as only those can fail a later {@code CHECK}.
+         */
+        boolean visit(int pc, long mark) {
+            if (!contains(pc)) {
+                marks[add(pc)] = mark;
+                return true;
+            }
+            if (marks[sparse[pc]] == mark) {
+                return false;
+            }
+            if (revisits == null) {
+                revisits = new HashSet<>();
+            }
+            return revisits.add((long)pc << 32 | (mark & 0xffffffffL));
+        }
+    }
+
+    private final RegExpProgram program;
+    private final int[] code;
+    private final int slotCount;
+    private final int loopSlot;
+
+    /** Capture slots of the last match. */
+    final int[] slots;
+
+    private Threads current;
+    private Threads next;
+
+    /** Working slots and undo stack of {@link #addThread}. */
+    private final int[] work;
+    private int[] stack = new int[64];
+
+    RegExpPikeVM(RegExpProgram program) {
+        this.program = program;
+        this.code = program.code;
+        this.slotCount = program.slotCount;
+        this.loopSlot = 2 * (program.groupCount + 1);
+        this.slots = new int[slotCount];
+        this.work = new int[slotCount];
+        this.current = new Threads(code.length);
+        this.next = new Threads(code.length);
+    }
+
+    /**
+     * Searches {@code input} from {@code start}, leaving the captures in {@link #slots}.
+     */
+    boolean search(String input, int start) {
+        var matched = false;
+        var firstChar = program.firstChar;
+        var end = input.length();
+        current.clear();
+        for (var pos = start; pos <= end; pos++) {
+            if (!matched) {
+                if (current.size == 0) {
+                    if (firstChar >= 0) {
+                        pos = input.indexOf(firstChar, pos);
+                        if (pos < 0) {
+                            break;
+                        }
+                    } else if (program.anchored && pos > 0) {
+                        break;
+                    }
+                }
+                // a new thread for a match starting here has the lowest priority
+                Arrays.fill(work, -1);
+                addThread(current, 0, input, pos);
+            }
+            if (current.size == 0) {
+                break;
+            }
+            next.clear();
+            for (var i = 0; i < current.size; i++) {
+                var pc = current.dense[i];
+                var op = code[pc];
+                if (op == MATCH) {
+                    System.arraycopy(current.slots[i], 0, slots, 0, slotCount);
+                    matched = true;
+                    // threads after this one have lower priority
+                    break;
+                }
+                if (op <= CLASS && pos < end && program.matches(pc, input.charAt(pos))) {
+                    System.arraycopy(current.slots[i], 0, work, 0, slotCount);
+                    addThread(next, pc + length(op), input, pos + 1);
+                }
+            }
+            var t = current;
+            current = next;
+            next = t;
+        }
+        return matched;
+    }
+
+    /**
+     * Adds the thread at {@code pc} with the slots in {@link #work}, following all instructions that do not consume input.
+     */
+    private void addThread(Threads threads, int pc0, String input, int pos) {
+        var sp = 0;
+        stack[sp++] = pc0;
+        while (sp > 0) {
+            var pc = stack[--sp];
+            if (pc < 0) {
+                // undo record pushed by SAVE, MARK or CLEAR
+                work[-pc - 1] = stack[--sp];
+                continue;
+            }
+            var op = code[pc];
+            if (op <= CLASS || op == MATCH) {
+                // once a thread consumes input, its loop slots lie behind it and only the pc matters
+                if (!threads.contains(pc)) {
+                    var index = threads.add(pc);
+                    var s = threads.slots[index];
+                    if (s == null) {
+                        s = threads.slots[index] = new int[slotCount];
+                    }
+                    System.arraycopy(work, 0, s, 0, slotCount);
+                }
+                continue;
+            }
+            if (!threads.visit(pc, marks(pos))) {
+                continue;
+            }
+            if (sp + 2 * slotCount + 4 > stack.length) {
+                stack = Arrays.copyOf(stack, Math.max(stack.length * 2, sp + 2 * slotCount + 4));
+            }
+            switch (op) {
+                case BOL, EOL, MBOL, MEOL, WORDB, NWORDB -> {
+                    if (asserts(op, input, pos)) {
+                        stack[sp++] = pc + 1;
+                    }
+                }
+                case SPLIT -> {
+                    stack[sp++] = code[pc + 2];
+                    stack[sp++] = code[pc + 1];
+                }
+                case JMP -> stack[sp++] = code[pc + 1];
+                case SAVE, MARK -> {
+                    var slot = code[pc + 1];
+                    stack[sp++] = work[slot];
+                    stack[sp++] = -slot - 1;
+                    work[slot] = pos;
+                    stack[sp++] = pc + 2;
+                }
+                case CLEAR -> {
+                    for (int slot = code[pc + 1], to = code[pc + 2]; slot < to; slot++) {
+                        stack[sp++] = work[slot];
+                        stack[sp++] = -slot - 1;
+                        work[slot] = -1;
+                    }
+                    stack[sp++] = pc + 3;
+                }
+                case CHECK -> {
+                    if (work[code[pc + 1]] != pos) {
+                        stack[sp++] = pc + 2;
+                    }
+                }
+                default -> throw new IllegalStateException("invalid opcode " + op);
+            }
+        }
+    }
+
+    private long marks(int pos) {
+        var mark = 0L;
+        for (var slot = loopSlot; slot < slotCount; slot++) {
+            if (work[slot] == pos) {
+                mark |= 1L << (slot - loopSlot);
+            }
+        }
+        return mark;
+    }
+
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.internal.runtime.regexp;
+
+import java.util.Arrays;
+
+/**
+ * The compiled form of an ECMAScript regular expression, as produced by {@link EcmaRegExpCompiler}.
+ *
+ * The program is a flat array of instructions, each an opcode followed by its operands.
+ * It is executed by {@link RegExpBacktracker}, or by {@link RegExpPikeVM} if it is {@link #isLinear() linear}.
+ * Slots {@code 2n} and {@code 2n+1} hold the start and end of capture group {@code n};
+ * slots above the captures hold the positions at which optional loop iterations were entered.
+ */
+final class RegExpProgram {
+
+    // matchers consuming one character
+    static final int CHAR = 0;      // CHAR c
+    static final int CHARI = 1;     // CHARI canonicalized-c
+    static final int ANY = 2;       // ANY
+    static final int CLASS = 3;     // CLASS set-index
+
+    // assertions
+    static final int BOL = 4;
+    static final int EOL = 5;
+    static final int MBOL = 6;
+    static final int MEOL = 7;
+    static final int WORDB = 8;
+    static final int NWORDB = 9;
+
+    // control flow
+    static final int SPLIT = 10;    // SPLIT preferred-pc other-pc
+    static final int JMP = 11;      // JMP pc
+    static final int SAVE = 12;     // SAVE slot
+    static final int CLEAR = 13;    // CLEAR from-slot to-slot
+    static final int MARK = 14;     // MARK slot
+    static final int CHECK = 15;    // CHECK slot, fails on an empty iteration
+    static final int BACKREF = 16;  // BACKREF group
+    static final int LOOK = 17;     // LOOK end-pc
+    static final int NLOOK = 18;    // NLOOK end-pc
+    static final int LOOKEND = 19;
+    static final int MATCH = 20;
+
+    private static final int[] LENGTH = { 2, 2, 1, 2, 1, 1, 1, 1, 1, 1, 3, 2, 2, 3, 2, 2, 2, 2, 2, 1, 1 };
+
+    final int[] code;
+    final RegExpCharSet[] sets;
+    final int groupCount;
+    final int slotCount;
+    final boolean ignoreCase;
+    final boolean linear;
+    final boolean anchored;
+    final int firstChar;
+
+    RegExpProgram(int[] code, RegExpCharSet[] sets, int groupCount, int slotCount, boolean ignoreCase, boolean linear) {
+        this.code = code;
+        this.sets = sets;
+        this.groupCount = groupCount;
+        this.slotCount = slotCount;
+        this.ignoreCase = ignoreCase;
+        this.linear = linear;
+        // code[0] is always SAVE 0
+        this.anchored = code[2] == BOL;
+        this.firstChar = code[2] == CHAR ? code[3] : -1;
+    }
+
+    /**
+     * Returns {@code true} if this program has no backreferences or lookaheads and can be run in linear time.
+     */
+    boolean isLinear() {
+        return linear;
+    }
+
+    /**
+     * Returns the length of the instruction with opcode {@code op}.
+     */
+    static int length(int op) {
+        return LENGTH[op];
+    }
+
+    /**
+     * Returns {@code true} if the character-consuming instruction at {@code pc} matches {@code c}.
+     */
+    boolean matches(int pc, char c) {
+        return switch (code[pc]) {
+            case CHAR -> c == code[pc + 1];
+            case CHARI -> canonicalize(c) == code[pc + 1];
+            case ANY -> !isLineTerminator(c);
+            case CLASS -> sets[code[pc + 1]].matches(c, ignoreCase);
+            default -> false;
+        };
+    }
+
+    /**
+     * Returns {@code true} if the assertion {@code op} holds at {@code pos} in {@code input}.
+     */
+    static boolean asserts(int op, String input, int pos) {
+        return switch (op) {
+            case BOL -> pos == 0;
+            case EOL -> pos == input.length();
+            case MBOL -> pos == 0 || isLineTerminator(input.charAt(pos - 1));
+            case MEOL -> pos == input.length() || isLineTerminator(input.charAt(pos));
+            case WORDB -> isWordAt(input, pos - 1) != isWordAt(input, pos);
+            case NWORDB -> isWordAt(input, pos - 1) == isWordAt(input, pos);
+            default -> false;
+        };
+    }
+
+    /**
+     * Matches the text of capture {@code group} at {@code pos}, returning the position after it or {@code -1}.
+     * A group that did not participate in the match matches the empty string.
+     */
+    static int backReference(String input, int[] slots, int group, int pos, boolean ignoreCase) {
+        var start = slots[2 * group];
+        var end = slots[2 * group + 1];
+        if (start < 0 || end < 0) {
+            return pos;
+        }
+        var n = end - start;
+        if (pos + n > input.length()) {
+            return -1;
+        }
+        if (ignoreCase) {
+            for (var i = 0; i < n; i++) {
+                if (canonicalize(input.charAt(start + i)) != canonicalize(input.charAt(pos + i))) {
+                    return -1;
+                }
+            }
+        } else if (!input.regionMatches(start, input, pos, n)) {
+            return -1;
+        }
+        return pos + n;
+    }
+
+    /**
+     * ECMA 15.10.2.8 Canonicalize for case-insensitive matching.
+     */
+    static char canonicalize(char c) {
+        if (c < 128) {
+            return c >= 'a' && c <= 'z' ? (char)(c - 32) : c;
+        }
+        var u = Character.toUpperCase(c);
+        return u < 128 ? c : u;
+    }
+
+    /**
+     * Returns the characters whose canonical form is {@code canonical}, or {@code null} if that is just {@code canonical} itself.
+     */
+    static char[] caseEquivalents(char canonical) {
+        var i = Arrays.binarySearch(CaseEquivalents.CANONICALS, canonical);
+        return i >= 0 ? CaseEquivalents.CLASSES[i] : null;
+    }
+
+    /**
+     * The characters sharing a canonical form with other characters, grouped by that form and built once from {@link #canonicalize}.
+     */
+    private static final class CaseEquivalents {
+        static final char[] CANONICALS;
+        static final char[][] CLASSES;
+
+        static {
+            var canonicals = new char[Character.MAX_VALUE + 1];
+            var counts = new int[Character.MAX_VALUE + 1];
+            var shared = 0;
+            for (var c = 0; c <= Character.MAX_VALUE; c++) {
+                var u = canonicals[c] = canonicalize((char)c);
+                if (u != c && counts[u]++ == 0) {
+                    shared++;
+                }
+            }
+            CANONICALS = new char[shared];
+            CLASSES = new char[shared][];
+            // reuse counts as the index of each shared canonical form plus one
+            for (int u = 0, i = 0; u <= Character.MAX_VALUE; u++) {
+                if (counts[u] > 0) {
+                    CANONICALS[i] = (char)u;
+                    // the characters mapped to u, plus u itself if it is canonical
+                    CLASSES[i] = new char[counts[u] + (canonicals[u] == u ? 1 : 0)];
+                    counts[u] = ++i;
+                }
+            }
+            var filled = new int[shared];
+            for (var c = 0; c <= Character.MAX_VALUE; c++) {
+                var i = counts[canonicals[c]] - 1;
+                if (i >= 0) {
+                    CLASSES[i][filled[i]++] = (char)c;
+                }
+            }
+        }
+    }
+
+    static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u2028' || c == '\u2029';
+    }
+
+    static boolean isWordAt(String input, int pos) {
+        if (pos < 0 || pos >= input.length()) {
+            return false;
+        }
+        var c = input.charAt(pos);
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_';
+    }
+
+}
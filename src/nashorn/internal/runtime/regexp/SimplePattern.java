@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package nashorn.internal.runtime.regexp;
+
+/**
+ * A regexp that is a plain literal, or a single character class optionally repeated with {@code +}.
+ *
+ * Simple patterns are recognized by {@link RegExpFactory} so that {@code split}, {@code replace} and {@code match} can scan for them without a {@link RegExpMatcher}.
+ * Their matches are never empty and have no capture groups.
+ */
+public abstract class SimplePattern {
+
+    SimplePattern() {}
+
+    /**
+     * Returns the start of the first match at or after {@code from}, or {@code -1} if there is none.
+     */
+    public abstract int indexOf(String input, int from);
+
+    /**
+     * Returns the end of the match starting at {@code start}.
+     */
+    public abstract int end(String input, int start);
+
+    static final class Literal extends SimplePattern {
+        private final String literal;
+
+        Literal(String literal) {
+            this.literal = literal;
+        }
+
+        @Override
+        public int indexOf(String input, int from) {
+            return literal.length() == 1 ? input.indexOf(literal.charAt(0), from) : input.indexOf(literal, from);
+        }
+
+        @Override
+        public int end(String input, int start) {
+            return start + literal.length();
+        }
+    }
+
+    static final class CharClass extends SimplePattern {
+        private final RegExpCharSet set;
+        private final boolean repeated;
+
+        CharClass(RegExpCharSet set, boolean repeated) {
+            this.set = set;
+            this.repeated = repeated;
+        }
+
+        @Override
+        public int indexOf(String input, int from) {
+            for (int i = Math.max(from, 0), length = input.length(); i < length; i++) {
+                if (set.matches(input.charAt(i))) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public int end(String input, int start) {
+            var end = start + 1;
+            if (repeated) {
+                var length = input.length();
+                while (end < length && set.matches(input.charAt(end))) {
+                    end++;
+                }
+            }
+            return end;
+        }
+    }
+
+}
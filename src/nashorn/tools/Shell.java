@@ -47,6 +47,9 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.ResourceBundle;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import nashorn.api.scripting.NashornException;
 import nashorn.internal.codegen.Compiler;
@@ -144,10 +147,19 @@ public class Shell implements PartialParser {
             return COMMANDLINE_ERROR;
         }
 
-        var global = context.createGlobal();
         var env = context.getEnv();
-
         var files = env.getFiles();
+
+        if (env._compile_archive != null) {
+            if (files.isEmpty()) {
+                env.getErr().println(bundle.getString("shell.usage"));
+                env.getErr().flush();
+                return COMMANDLINE_ERROR;
+            }
+            return compileArchive(context, files);
+        }
+
+        var global = context.createGlobal();
         if (files.isEmpty()) {
             return readEvalPrint(context, global);
         }
@@ -346,6 +358,67 @@ public class Shell implements PartialParser {
         return SUCCESS;
     }
 
+    /**
+     * Compiles the given script files, and the .js files in the given directories, into a code cache archive.
+     * The archive is rebuilt from scratch, and only replaced if all scripts compile.
+     * This is called only when using the --compile-archive option
+     */
+    private static int compileArchive(Context context, List<String> files) throws IOException {
+        var env = context.getEnv();
+        var fileNames = new ArrayList<String>();
+        for (var fileName : files) {
+            var path = Paths.get(fileName);
+            if (Files.isDirectory(path)) {
+                try (var paths = Files.walk(path)) {
+                    paths.filter(p -> Files.isRegularFile(p) && p.toString().endsWith(".js")).map(Path::toString).sorted().forEach(fileNames::add);
+                }
+            } else {
+                fileNames.add(fileName);
+            }
+        }
+
+        var threads = env._compile_threads > 0 ? env._compile_threads : Runtime.getRuntime().availableProcessors();
+        var executor = Executors.newFixedThreadPool(Math.max(Math.min(threads, fileNames.size()), 1));
+        // each worker thread compiles with its own global
+        var globals = ThreadLocal.withInitial(context::createGlobal);
+        try {
+            var results = new ArrayList<Future<Boolean>>();
+            for (var fileName : fileNames) {
+                results.add(executor.submit(() -> {
+                    Context.setGlobal(globals.get());
+                    return context.compileToCodeStore(sourceFor(fileName, new File(fileName)), new ErrorManager(env.getErr()));
+                }));
+            }
+            var status = SUCCESS;
+            for (var result : results) {
+                try {
+                    if (!result.get()) {
+                        status = COMPILATION_ERROR;
+                    }
+                } catch (ExecutionException e) {
+                    env.getErr().println(e.getCause());
+                    status = COMPILATION_ERROR;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return COMPILATION_ERROR;
+                }
+            }
+            if (status == SUCCESS) {
+                try {
+                    context.saveArchive();
+                } catch (IOException e) {
+                    env.getErr().println(e);
+                    status = IO_ERROR;
+                }
+            }
+            return status;
+        } finally {
+            executor.shutdownNow();
+            env.getOut().flush();
+            env.getErr().flush();
+        }
+    }
+
     /**
      * Runs the given JavaScript files in the command line
      */